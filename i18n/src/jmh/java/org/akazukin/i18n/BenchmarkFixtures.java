@@ -0,0 +1,154 @@
+package org.akazukin.i18n;
+
+import org.akazukin.i18n.manager.EntryManager;
+import org.akazukin.i18n.manager.I18nFormatter;
+import org.akazukin.i18n.manager.data.I18nLang;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.akazukin.resource.resource.IResource;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared fixtures for the benchmarks.
+ * <p>
+ * Language files are generated in memory and served through proxied resource identifiers,
+ * so the benchmarks measure parsing and formatting without any disk or classpath I/O.
+ */
+public final class BenchmarkFixtures {
+    public static final II18nLang EN = new I18nLang("en_us", "English");
+    public static final II18nLang JA = new I18nLang("ja_jp", "Japanese");
+    public static final II18nLang[] LANGS = {EN, JA};
+    public static final II18nLang[] CHAIN = {JA, II18nLang.FALLBACK};
+
+    public static final String PLAIN_ID = "bench.plain";
+    public static final String ARGS_ID = "bench.args";
+    public static final String REF_ID = "bench.ref";
+    public static final String NESTED_REF_ID = "bench.nested";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates a resource identifier that serves generated language files.
+     * Every language file contains the benchmark messages and {@code keys} filler messages.
+     * The Japanese file only translates every other filler message, so the fallback path is exercised as well.
+     *
+     * @param name the name of the bundle
+     * @param keys the number of filler messages
+     * @return the resource identifier of the bundle
+     */
+    public static @NotNull IResourceIdentifier bundle(@NotNull final String name, final int keys) {
+        final Map<String, byte[]> files = new HashMap<>();
+        files.put(EN.getId() + ".lang", generate("Hello", keys, 1));
+        files.put(JA.getId() + ".lang", generate("Konnichiwa", keys, 2));
+        return identifier(name, files);
+    }
+
+    /**
+     * Creates an entry manager with the bundle and all benchmark languages loaded.
+     *
+     * @param keys the number of filler messages
+     * @return the loaded entry manager
+     */
+    public static @NotNull EntryManager entryManager(final int keys) {
+        final EntryManager entryMgr = new EntryManager();
+        entryMgr.load(bundle("bench", keys));
+        entryMgr.load(LANGS);
+        return entryMgr;
+    }
+
+    /**
+     * Creates a formatter over a loaded entry manager, using English as the fallback language.
+     *
+     * @param keys the number of filler messages
+     * @return the formatter
+     */
+    public static @NotNull I18nFormatter formatter(final int keys) {
+        final I18nFormatter formatter = new I18nFormatter(entryManager(keys));
+        formatter.setFallbackLang(EN);
+        return formatter;
+    }
+
+    /**
+     * Generates the content of an English language file.
+     *
+     * @param keys the number of filler messages
+     * @return the UTF-8 bytes of the language file
+     */
+    public static @NotNull byte[] languageFile(final int keys) {
+        return generate("Hello", keys, 1);
+    }
+
+    private static byte[] generate(@NotNull final String greeting, final int keys, final int step) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(PLAIN_ID).append('=').append(greeting).append(", world!\n");
+        sb.append(ARGS_ID).append('=').append(greeting).append(", <args[0]>! You have <args[1]> new messages.\n");
+        sb.append(REF_ID).append("=<$").append(PLAIN_ID).append("> <$").append(ARGS_ID).append(">\n");
+        sb.append(NESTED_REF_ID).append("=[<$").append(REF_ID).append(">] <args[0]>\n");
+        for (int i = 0; i < keys; i += step) {
+            sb.append("bench.filler.key").append(i).append('=').append(greeting).append(" filler ").append(i).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static @NotNull IResourceIdentifier identifier(
+            @NotNull final String path, @NotNull final Map<String, byte[]> files) {
+        return (IResourceIdentifier) Proxy.newProxyInstance(
+                BenchmarkFixtures.class.getClassLoader(),
+                new Class<?>[]{IResourceIdentifier.class},
+                new IdentifierHandler(path, files));
+    }
+
+    private static final class IdentifierHandler implements InvocationHandler {
+        private final String path;
+        private final Map<String, byte[]> files;
+
+        private IdentifierHandler(@NotNull final String path, @NotNull final Map<String, byte[]> files) {
+            this.path = path;
+            this.files = files;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            switch (method.getName()) {
+                case "toRelativeIdentifier":
+                    return identifier(this.path + "/" + args[0], this.files);
+                case "getResource": {
+                    final String name = this.path.substring(this.path.lastIndexOf('/') + 1);
+                    final byte[] content = this.files.get(name);
+                    return Proxy.newProxyInstance(
+                            BenchmarkFixtures.class.getClassLoader(),
+                            new Class<?>[]{IResource.class},
+                            (p, m, a) -> {
+                                if (!"getInputStream".equals(m.getName())) {
+                                    return null;
+                                }
+                                if (content == null) {
+                                    throw new FileNotFoundException(name);
+                                }
+                                return new ByteArrayInputStream(content);
+                            });
+                }
+                case "equals":
+                    return args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                            && Proxy.getInvocationHandler(args[0]) instanceof IdentifierHandler
+                            && ((IdentifierHandler) Proxy.getInvocationHandler(args[0])).path.equals(this.path);
+                case "hashCode":
+                    return this.path.hashCode();
+                case "toString":
+                    return "BenchmarkIdentifier(" + this.path + ")";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+    }
+}
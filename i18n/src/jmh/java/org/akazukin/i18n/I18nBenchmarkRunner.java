@@ -0,0 +1,53 @@
+package org.akazukin.i18n;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * Runs every benchmark of this module with an increasing number of threads.
+ * <p>
+ * The thread count doubles from one up to the maximum, and the maximum itself is always included.
+ * Each thread count writes its own CSV result file.
+ * <p>
+ * The arguments are the maximum thread count, the result directory, and then any JMH command line options,
+ * which the {@code jmhScaling} task derives from the jmh extension of the build,
+ * so every run uses the same forks, iterations, JVM arguments, time unit and profilers as {@code jmh}.
+ */
+public final class I18nBenchmarkRunner {
+    private I18nBenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        final int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final File resultDir = new File(args.length > 1 ? args[1] : "build/results/jmh");
+        if (!resultDir.exists() && !resultDir.mkdirs()) {
+            throw new IllegalStateException("Failed to create the result directory. | " + resultDir);
+        }
+        final Options base = new CommandLineOptions(args.length > 2
+                ? Arrays.copyOfRange(args, 2, args.length)
+                : new String[0]);
+
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            final Options opts = new OptionsBuilder()
+                    .parent(base)
+                    .include(I18nBenchmarkRunner.class.getPackage().getName() + ".*Benchmark")
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.CSV)
+                    .result(new File(resultDir, "threads-" + threads + ".csv").getPath())
+                    .build();
+            new Runner(opts).run();
+
+            if (threads >= maxThreads) {
+                break;
+            }
+        }
+    }
+}
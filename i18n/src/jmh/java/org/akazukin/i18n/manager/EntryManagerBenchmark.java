@@ -0,0 +1,59 @@
+package org.akazukin.i18n.manager;
+
+import org.akazukin.i18n.BenchmarkFixtures;
+import org.akazukin.i18n.manager.data.II18nEntry;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntryManagerBenchmark {
+    @Param({"100", "10000"})
+    int keys;
+
+    IResourceIdentifier bundle;
+    EntryManager entryMgr;
+
+    @Setup
+    public void setup() {
+        this.bundle = BenchmarkFixtures.bundle("bench", this.keys);
+        this.entryMgr = new EntryManager();
+        this.entryMgr.load(this.bundle);
+        this.entryMgr.load(BenchmarkFixtures.LANGS);
+    }
+
+    @Benchmark
+    public II18nEntry[] getEntries() {
+        return this.entryMgr.getEntries(BenchmarkFixtures.JA);
+    }
+
+    /**
+     * Loads every language into an empty manager.
+     */
+    @Benchmark
+    public EntryManager loadCold() {
+        final EntryManager entryMgr = new EntryManager();
+        entryMgr.load(this.bundle);
+        entryMgr.load(BenchmarkFixtures.LANGS);
+        return entryMgr;
+    }
+
+    /**
+     * Loads every language again into a manager that already holds them.
+     */
+    @Benchmark
+    public EntryManager loadWarm() {
+        this.entryMgr.load(BenchmarkFixtures.LANGS);
+        return this.entryMgr;
+    }
+}
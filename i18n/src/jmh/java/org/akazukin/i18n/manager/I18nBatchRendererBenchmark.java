@@ -0,0 +1,73 @@
+package org.akazukin.i18n.manager;
+
+import org.akazukin.i18n.BenchmarkFixtures;
+import org.akazukin.i18n.manager.data.I18nKey;
+import org.akazukin.i18n.manager.data.LangChain;
+import org.akazukin.i18n.object.I18n;
+import org.akazukin.i18n.object.II18nObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class I18nBatchRendererBenchmark {
+    @Param({"100", "10000"})
+    int requests;
+
+    I18nFormatter formatter;
+    I18nBatchRenderer sequential;
+    I18nBatchRenderer parallel;
+    List<II18nObject> objects;
+    List<LangChain> chains;
+
+    @Setup
+    public void setup() {
+        this.formatter = BenchmarkFixtures.formatter(100);
+        this.sequential = new I18nBatchRenderer(this.formatter);
+        this.parallel = new I18nBatchRenderer(this.formatter, ForkJoinPool.commonPool(), 1);
+
+        final LangChain[] distinct = {
+                LangChain.of(BenchmarkFixtures.CHAIN),
+                LangChain.of(BenchmarkFixtures.EN),
+                LangChain.of(BenchmarkFixtures.JA, BenchmarkFixtures.EN)};
+        final I18nKey key = I18nKey.of(BenchmarkFixtures.ARGS_ID);
+        this.objects = new ArrayList<>(this.requests);
+        this.chains = new ArrayList<>(this.requests);
+        for (int i = 0; i < this.requests; i++) {
+            // A few distinct messages, as in a tick that notifies many recipients of the same events
+            this.objects.add(I18n.of(key, "Player" + (i % 16), i % 4));
+            this.chains.add(distinct[i % distinct.length]);
+        }
+    }
+
+    @Benchmark
+    public String[] formatEach() {
+        final String[] results = new String[this.requests];
+        for (int i = 0; i < this.requests; i++) {
+            results[i] = this.objects.get(i).build(this.formatter, this.chains.get(i));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public String[] renderBatch() {
+        return this.sequential.render(this.objects, this.chains);
+    }
+
+    @Benchmark
+    public String[] renderBatchParallel() {
+        return this.parallel.render(this.objects, this.chains);
+    }
+}
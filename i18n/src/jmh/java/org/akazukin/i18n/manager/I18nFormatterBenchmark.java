@@ -0,0 +1,107 @@
+package org.akazukin.i18n.manager;
+
+import org.akazukin.i18n.BenchmarkFixtures;
+import org.akazukin.i18n.manager.data.I18nKey;
+import org.akazukin.i18n.manager.data.LangChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class I18nFormatterBenchmark {
+    @Param({"100", "10000"})
+    int keys;
+
+    I18nFormatter formatter;
+    I18nKey argsKey;
+    I18nKey fallbackKey;
+    LangChain chain;
+    ByteBuffer buffer;
+
+    @Setup
+    public void setup() {
+        this.formatter = BenchmarkFixtures.formatter(this.keys);
+        this.argsKey = I18nKey.of(BenchmarkFixtures.ARGS_ID);
+        this.fallbackKey = I18nKey.of("bench.filler.key1");
+        this.chain = LangChain.of(BenchmarkFixtures.CHAIN);
+        this.buffer = ByteBuffer.allocateDirect(1024);
+    }
+
+    @Benchmark
+    public String formatPlain() {
+        return this.formatter.formatMessage(BenchmarkFixtures.PLAIN_ID, BenchmarkFixtures.CHAIN);
+    }
+
+    @Benchmark
+    public String formatArgs() {
+        return this.formatter.formatMessage(BenchmarkFixtures.ARGS_ID, BenchmarkFixtures.CHAIN, "Alice", 42);
+    }
+
+    @Benchmark
+    public String formatRef() {
+        return this.formatter.formatMessage(BenchmarkFixtures.REF_ID, BenchmarkFixtures.CHAIN, "Alice", 42);
+    }
+
+    @Benchmark
+    public String formatNestedRef() {
+        return this.formatter.formatMessage(BenchmarkFixtures.NESTED_REF_ID, BenchmarkFixtures.CHAIN, "Alice", 42);
+    }
+
+    @Benchmark
+    public String formatArgsByKey() {
+        return this.formatter.formatMessage(this.argsKey, BenchmarkFixtures.CHAIN, "Alice", 42);
+    }
+
+    @Benchmark
+    public String formatArgsByKeyChain() {
+        return this.formatter.formatMessage(this.argsKey, this.chain, "Alice", 42);
+    }
+
+    @Benchmark
+    public String formatFallback() {
+        return this.formatter.formatMessage("bench.filler.key1", BenchmarkFixtures.CHAIN);
+    }
+
+    @Benchmark
+    public String formatFallbackByKey() {
+        return this.formatter.formatMessage(this.fallbackKey, BenchmarkFixtures.CHAIN);
+    }
+
+    @Benchmark
+    public String formatFallbackByKeyChain() {
+        return this.formatter.formatMessage(this.fallbackKey, this.chain);
+    }
+
+    @Benchmark
+    public String formatMissing() {
+        return this.formatter.formatMessage("bench.missing", BenchmarkFixtures.CHAIN);
+    }
+
+    @Benchmark
+    public String formatThrownArgs() {
+        return this.formatter.formatMessageThrown(BenchmarkFixtures.ARGS_ID, BenchmarkFixtures.CHAIN, "Alice", 42);
+    }
+
+    @Benchmark
+    public byte[] formatArgsEncoded() {
+        return this.formatter.formatMessage(this.argsKey, this.chain, "Alice", 42).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int formatArgsUtf8() {
+        this.buffer.clear();
+        this.formatter.formatTo(I18nUtf8Output.of(this.buffer), this.argsKey, this.chain, "Alice", 42);
+        return this.buffer.position();
+    }
+}
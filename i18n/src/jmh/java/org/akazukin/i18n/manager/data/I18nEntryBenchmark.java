@@ -0,0 +1,94 @@
+package org.akazukin.i18n.manager.data;
+
+import org.akazukin.i18n.BenchmarkFixtures;
+import org.akazukin.i18n.utils.I18nTemplateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups in the map-backed {@link I18nEntry} with the open-addressing {@link FrozenI18nEntry}
+ * and the {@link OffHeapI18nEntry}, including the decoding of the looked-up text for the latter two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class I18nEntryBenchmark {
+    @Param({"100", "10000"})
+    int keys;
+
+    I18nEntry mapEntry;
+    FrozenI18nEntry frozenEntry;
+    OffHeapI18nEntry offHeapEntry;
+    String hitId;
+    String missId;
+
+    @Setup
+    public void setup() {
+        final Map<String, String> entries = new HashMap<>();
+        final Map<String, II18nTemplate> templates = new HashMap<>();
+        for (int i = 0; i < this.keys; i++) {
+            final String id = "bench.filler.key" + i;
+            entries.put(id, "filler " + i);
+            templates.put(id, I18nTemplateUtils.compile("filler " + i));
+        }
+
+        this.mapEntry = new I18nEntry(BenchmarkFixtures.EN, BenchmarkFixtures.bundle("map", 0));
+        this.mapEntry.setEntries(entries);
+        this.frozenEntry = new FrozenI18nEntry(BenchmarkFixtures.EN, BenchmarkFixtures.bundle("frozen", 0), templates);
+        this.offHeapEntry = new OffHeapI18nEntry(
+                BenchmarkFixtures.EN, BenchmarkFixtures.bundle("offheap", 0), templates);
+        // Use copies, so the lookups cannot short-circuit on identity
+        this.hitId = new String("bench.filler.key" + (this.keys / 2));
+        this.missId = new String("bench.missing");
+    }
+
+    @Benchmark
+    public II18nTemplate mapHit() {
+        return this.mapEntry.getTemplate(this.hitId);
+    }
+
+    @Benchmark
+    public II18nTemplate frozenHit() {
+        return this.frozenEntry.getTemplate(this.hitId);
+    }
+
+    @Benchmark
+    public II18nTemplate offHeapHit() {
+        return this.offHeapEntry.getTemplate(this.hitId);
+    }
+
+    @Benchmark
+    public String frozenHitConstant() {
+        return this.frozenEntry.getTemplate(this.hitId).getConstant();
+    }
+
+    @Benchmark
+    public String offHeapHitConstant() {
+        return this.offHeapEntry.getTemplate(this.hitId).getConstant();
+    }
+
+    @Benchmark
+    public II18nTemplate mapMiss() {
+        return this.mapEntry.getTemplate(this.missId);
+    }
+
+    @Benchmark
+    public II18nTemplate frozenMiss() {
+        return this.frozenEntry.getTemplate(this.missId);
+    }
+
+    @Benchmark
+    public II18nTemplate offHeapMiss() {
+        return this.offHeapEntry.getTemplate(this.missId);
+    }
+}
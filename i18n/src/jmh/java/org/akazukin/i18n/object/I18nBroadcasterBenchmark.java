@@ -0,0 +1,63 @@
+package org.akazukin.i18n.object;
+
+import org.akazukin.i18n.BenchmarkFixtures;
+import org.akazukin.i18n.manager.data.I18nLang;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.LangChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class I18nBroadcasterBenchmark {
+    @Param({"5000"})
+    int recipients;
+
+    I18nFormatterHolder holder;
+    I18nBroadcaster broadcaster;
+    I18n args;
+    List<LangChain> chains;
+
+    @Setup
+    public void setup() {
+        this.holder = new I18nFormatterHolder(BenchmarkFixtures.formatter(100));
+        this.broadcaster = new I18nBroadcaster(this.holder);
+        this.args = I18n.of(BenchmarkFixtures.ARGS_ID, "Alice", 42);
+
+        // About ten distinct chains, as on a server with players from a handful of locales
+        final LangChain[] distinct = new LangChain[10];
+        for (int i = 0; i < distinct.length; i++) {
+            distinct[i] = i % 2 == 0
+                    ? LangChain.of(BenchmarkFixtures.JA, new I18nLang("xx_" + i), II18nLang.FALLBACK)
+                    : LangChain.of(new I18nLang("xx_" + i), BenchmarkFixtures.EN);
+        }
+        this.chains = new ArrayList<>(this.recipients);
+        for (int i = 0; i < this.recipients; i++) {
+            this.chains.add(distinct[i % distinct.length]);
+        }
+    }
+
+    @Benchmark
+    public void buildEach(final Blackhole bh) {
+        for (final LangChain chain : this.chains) {
+            bh.consume(this.holder.build(this.args, chain));
+        }
+    }
+
+    @Benchmark
+    public int broadcast(final Blackhole bh) {
+        return this.broadcaster.broadcast(this.args, this.chains, chain -> chain, (chain, result) -> bh.consume(result));
+    }
+}
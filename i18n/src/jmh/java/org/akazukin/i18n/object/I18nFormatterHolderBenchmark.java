@@ -0,0 +1,49 @@
+package org.akazukin.i18n.object;
+
+import org.akazukin.i18n.BenchmarkFixtures;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class I18nFormatterHolderBenchmark {
+    I18nFormatterHolder holder;
+    I18n plain;
+    I18n args;
+
+    @Setup
+    public void setup() {
+        this.holder = new I18nFormatterHolder(BenchmarkFixtures.formatter(100), BenchmarkFixtures.formatter(100));
+        this.plain = I18n.of(BenchmarkFixtures.PLAIN_ID);
+        this.args = I18n.of(BenchmarkFixtures.ARGS_ID, "Alice", 42);
+    }
+
+    @Benchmark
+    public String buildPlain() {
+        return this.holder.build(this.plain, BenchmarkFixtures.CHAIN);
+    }
+
+    @Benchmark
+    public String buildArgs() {
+        return this.holder.build(this.args, BenchmarkFixtures.CHAIN);
+    }
+
+    @Benchmark
+    public String buildWithFallback() {
+        return this.holder.buildWithFallback(this.args, new II18nLang[]{BenchmarkFixtures.JA});
+    }
+
+    @Benchmark
+    public String buildMissing() {
+        return this.holder.build(I18n.of("bench.missing"), BenchmarkFixtures.CHAIN);
+    }
+}
@@ -0,0 +1,72 @@
+package org.akazukin.i18n.object;
+
+import org.akazukin.i18n.BenchmarkFixtures;
+import org.akazukin.i18n.manager.I18nFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class I18nHolderBenchmark {
+    @Param({"10", "1000"})
+    int children;
+
+    I18nFormatter formatter;
+    I18nHolder holder;
+    I18nHolder parallelHolder;
+    ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        this.formatter = BenchmarkFixtures.formatter(100);
+
+        final II18nObject[] i18ns = new II18nObject[this.children];
+        for (int i = 0; i < i18ns.length; i++) {
+            i18ns[i] = I18n.of(BenchmarkFixtures.ARGS_ID, "Player" + i, i);
+        }
+        this.holder = I18nHolder.of(i18ns)
+                .setFirst(I18n.of(BenchmarkFixtures.PLAIN_ID))
+                .setBefore("- ")
+                .setAfter(I18n.of("bench.filler.key1"))
+                .setConcat("\n");
+
+        this.pool = new ForkJoinPool();
+        this.parallelHolder = I18nHolder.of(i18ns)
+                .setFirst(I18n.of(BenchmarkFixtures.PLAIN_ID))
+                .setBefore("- ")
+                .setAfter(I18n.of("bench.filler.key1"))
+                .setConcat("\n")
+                .setParallel(this.pool, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public String build() {
+        return this.holder.build(this.formatter, BenchmarkFixtures.CHAIN);
+    }
+
+    @Benchmark
+    public String buildRequired() {
+        return this.holder.buildRequired(this.formatter, BenchmarkFixtures.CHAIN);
+    }
+
+    @Benchmark
+    public String buildParallel() {
+        return this.parallelHolder.build(this.formatter, BenchmarkFixtures.CHAIN);
+    }
+}
@@ -0,0 +1,71 @@
+package org.akazukin.i18n.utils;
+
+import org.akazukin.i18n.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a language file through {@link Properties} and validating its keys afterward,
+ * as language files were loaded before, with the single pass of {@link I18nLangParser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class I18nLangParserBenchmark {
+    @Param({"100", "10000"})
+    int keys;
+
+    byte[] file;
+
+    @Setup
+    public void setup() {
+        this.file = BenchmarkFixtures.languageFile(this.keys);
+    }
+
+    @Benchmark
+    public Map<String, String> properties() throws IOException {
+        final Properties props = new Properties();
+        props.load(new InputStreamReader(new ByteArrayInputStream(this.file), StandardCharsets.UTF_8));
+
+        final Map<String, String> entries = new HashMap<>();
+        for (final Map.Entry<Object, Object> e : props.entrySet()) {
+            entries.put(String.valueOf(e.getKey()), String.valueOf(e.getValue()));
+        }
+        if (!I18nValidatorUtils.isValidIds(entries.keySet())) {
+            throw new IllegalStateException();
+        }
+        return entries;
+    }
+
+    @Benchmark
+    public Map<String, String> parseBytes() throws IOException {
+        return this.validated(I18nLangParser.parse(this.file));
+    }
+
+    @Benchmark
+    public Map<String, String> parseStream() throws IOException {
+        return this.validated(I18nLangParser.parse(new ByteArrayInputStream(this.file)));
+    }
+
+    private Map<String, String> validated(final I18nLangParser parser) {
+        if (!parser.getInvalidKeys().isEmpty()) {
+            throw new IllegalStateException();
+        }
+        return parser.getEntries();
+    }
+}
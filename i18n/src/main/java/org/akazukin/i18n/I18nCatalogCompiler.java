@@ -0,0 +1,102 @@
+package org.akazukin.i18n;
+
+import org.akazukin.i18n.exception.I18nLangSyntaxException;
+import org.akazukin.i18n.utils.I18nCatalogUtils;
+import org.akazukin.i18n.utils.I18nLangParser;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Validates language files and compiles them into binary catalogs.
+ * <p>
+ * Usage: {@code I18nCatalogCompiler <output dir> <input dir>...}
+ * <p>
+ * Every {@code <lang>.lang} file under the input directories is compiled into {@code <lang>.langc}
+ * at the same relative path under the output directory.
+ * Each catalog records the checksum of its language file, so it is ignored once the language file is edited.
+ * Every file is validated before anything is written,
+ * and the compiler exits with status {@code 1} if any file is malformed or contains invalid keys,
+ * reporting the line of every error.
+ *
+ * @see I18nCatalogUtils
+ */
+public final class I18nCatalogCompiler {
+    private static final String LANG_EXTENSION = ".lang";
+
+    private I18nCatalogCompiler() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: I18nCatalogCompiler <output dir> <input dir>...");
+            System.exit(2);
+        }
+
+        final Path outputDir = Paths.get(args[0]);
+        final List<Path> inputDirs = new ArrayList<>();
+        final List<Path> files = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            final Path inputDir = Paths.get(args[i]);
+            if (!Files.isDirectory(inputDir)) {
+                continue;
+            }
+            try (final Stream<Path> paths = Files.walk(inputDir)) {
+                for (final Path file : paths
+                        .filter(p -> p.getFileName().toString().endsWith(LANG_EXTENSION) && Files.isRegularFile(p))
+                        .collect(Collectors.toList())) {
+                    inputDirs.add(inputDir);
+                    files.add(file);
+                }
+            }
+        }
+
+        final List<Map<String, String>> parsed = new ArrayList<>();
+        final List<Long> checksums = new ArrayList<>();
+        boolean valid = true;
+        for (final Path file : files) {
+            final byte[] bytes = Files.readAllBytes(file);
+            final I18nLangParser parser;
+            try {
+                parser = I18nLangParser.parse(bytes);
+            } catch (final I18nLangSyntaxException e) {
+                System.err.println(e.getMessage() + "  | " + file);
+                valid = false;
+                continue;
+            }
+
+            if (!parser.getInvalidKeys().isEmpty()) {
+                for (final Map.Entry<String, Integer> e : parser.getInvalidKeys().entrySet()) {
+                    System.err.println("The i18n key is invalid. | " + file + ":" + e.getValue() + " | " + e.getKey());
+                }
+                valid = false;
+            }
+            parsed.add(parser.getEntries());
+            checksums.add(I18nCatalogUtils.checksum(bytes));
+        }
+        if (!valid) {
+            System.exit(1);
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            final Path relative = inputDirs.get(i).relativize(files.get(i));
+            final String name = relative.getFileName().toString();
+            final Path output = outputDir.resolve(relative).resolveSibling(
+                    name.substring(0, name.length() - LANG_EXTENSION.length()) + I18nCatalogUtils.EXTENSION);
+            Files.createDirectories(output.getParent());
+            try (final OutputStream os = new BufferedOutputStream(Files.newOutputStream(output))) {
+                I18nCatalogUtils.write(parsed.get(i), checksums.get(i), os);
+            }
+        }
+        System.out.println("Compiled " + files.size() + " localization files. | " + outputDir);
+    }
+}
@@ -5,9 +5,12 @@
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.metrics.II18nMetrics;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -17,7 +20,9 @@
  * <p>
  * The configuration encompasses essential parameters including ClassLoader for resource loading,
  * domain and application identifiers for resource organization, data folder for custom resources,
- * supported languages, and fallback language settings.
+ * supported languages, fallback language settings, an optional executor for parallel loading,
+ * whether languages are loaded lazily with the languages and the executor to prefetch, the metrics to report to,
+ * and whether the entries are stored off-heap.
  */
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Builder(setterPrefix = "set")
@@ -35,4 +40,16 @@ public final class I18nManagerConfig implements II18nManagerConfig {
     II18nLang fallbackLang;
     @NotNull
     II18nLang[] langs;
+    @Nullable
+    Executor loadExecutor;
+    boolean lazyLoad;
+    @NotNull
+    @Builder.Default
+    II18nLang[] prefetchLangs = {};
+    @Nullable
+    Executor prefetchExecutor;
+    @NotNull
+    @Builder.Default
+    II18nMetrics metrics = II18nMetrics.NOOP;
+    boolean offHeap;
 }
@@ -1,9 +1,12 @@
 package org.akazukin.i18n.config;
 
 import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.metrics.II18nMetrics;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.Executor;
+
 /**
  * Configuration interface for i18n manager components that extends the base resource configuration.
  * This interface defines the essential configuration properties required for managing
@@ -23,4 +26,62 @@ public interface II18nManagerConfig {
      * @return the fallback language. Can be {@code null} if no fallback is set.
      */
     @Nullable II18nLang getFallbackLang();
+
+    /**
+     * Returns the executor used to fetch and parse language resources concurrently.
+     *
+     * @return the executor to load resources on, or {@code null} to load them on the calling thread
+     */
+    default @Nullable Executor getLoadExecutor() {
+        return null;
+    }
+
+    /**
+     * Returns whether languages are loaded on demand instead of at startup.
+     * In lazy mode, a language is loaded the first time its entries are requested.
+     *
+     * @return {@code true} to load languages on demand, {@code false} to load them all at startup
+     */
+    default boolean isLazyLoad() {
+        return false;
+    }
+
+    /**
+     * Returns the languages to load in the background right after startup in lazy mode.
+     *
+     * @return an array of languages to prefetch. Must not be {@code null}, but may be empty.
+     */
+    default @NotNull II18nLang[] getPrefetchLangs() {
+        return new II18nLang[0];
+    }
+
+    /**
+     * Returns the executor the languages to prefetch are loaded on in lazy mode.
+     * It must not be the {@link #getLoadExecutor() load executor},
+     * since every prefetch waits for the resource reads it submits there.
+     *
+     * @return the executor to prefetch on, or {@code null} to use the common fork-join pool
+     */
+    default @Nullable Executor getPrefetchExecutor() {
+        return null;
+    }
+
+    /**
+     * Returns the metrics that lookups, renders and loads are reported to.
+     *
+     * @return the metrics to report to, or {@link II18nMetrics#NOOP} to measure nothing
+     */
+    default @NotNull II18nMetrics getMetrics() {
+        return II18nMetrics.NOOP;
+    }
+
+    /**
+     * Returns whether the loaded entries are stored as UTF-8 in direct buffers instead of on the heap.
+     * This shrinks the heap held by large catalogs, at the cost of decoding every text while rendering.
+     *
+     * @return {@code true} to store the entries off-heap, {@code false} to store them on the heap
+     */
+    default boolean isOffHeap() {
+        return false;
+    }
 }
@@ -0,0 +1,32 @@
+package org.akazukin.i18n.exception;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when a language file cannot be parsed.
+ * <p>
+ * This exception is an {@link IOException}, so it is handled wherever a language file that cannot be read is.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+public class I18nLangSyntaxException extends IOException {
+    private static final long serialVersionUID = 7311824650216940372L;
+    int line;
+
+    /**
+     * Constructs a new I18nLangSyntaxException with the specified line and reason.
+     *
+     * @param line   the line of the language file where the error was found, starting from 1
+     * @param reason the description of the error
+     * @throws NullPointerException if reason is null
+     */
+    public I18nLangSyntaxException(final int line, @NonNull final String reason) {
+        super("The language file is malformed.  | Line: " + line + "  | " + reason);
+        this.line = line;
+    }
+}
@@ -0,0 +1,52 @@
+package org.akazukin.i18n.exception;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+import org.akazukin.i18n.manager.data.II18nLang;
+
+import java.util.Arrays;
+
+/**
+ * Exception thrown when i18n messages reference each other in a cycle.
+ * <p>
+ * A cycle within one language is rejected when the catalog is built.
+ * A cycle that only forms across the languages of a chain is detected while rendering,
+ * when the references nest deeper than any chain of references can.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+public class I18nReferenceCycleException extends IllegalStateException {
+    private static final long serialVersionUID = 3620487213406452807L;
+    II18nLang[] langs;
+    String[] keys;
+
+    /**
+     * Constructs a new I18nReferenceCycleException with the specified language and cycle.
+     *
+     * @param lang  the language whose messages form the cycle
+     * @param cycle the keys of the cycle in reference order, starting and ending with the same key
+     * @throws NullPointerException if lang or cycle is null
+     */
+    public I18nReferenceCycleException(
+            @NonNull final II18nLang lang, @NonNull final String[] cycle) {
+        super("The i18n references form a cycle.  | Lang: " + lang + "  | Keys: " + String.join(" -> ", cycle));
+        this.langs = new II18nLang[]{lang};
+        this.keys = cycle;
+    }
+
+    /**
+     * Constructs a new I18nReferenceCycleException with the specified languages and key.
+     *
+     * @param langs the array of languages the message was rendered for
+     * @param key   the key whose reference exceeded the maximum depth
+     * @throws NullPointerException if langs or key is null
+     */
+    public I18nReferenceCycleException(
+            @NonNull final II18nLang[] langs, @NonNull final String key) {
+        super("The i18n references are nested too deeply.  | Lang: " + Arrays.toString(langs) + "  | Key: " + key);
+        this.langs = langs;
+        this.keys = new String[]{key};
+    }
+}
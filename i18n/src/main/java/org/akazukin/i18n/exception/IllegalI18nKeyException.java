@@ -5,8 +5,10 @@
 import lombok.NonNull;
 import lombok.experimental.FieldDefaults;
 import org.akazukin.i18n.manager.data.II18nLang;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
+import java.util.Map;
 
 
 /**
@@ -21,6 +23,11 @@ public class IllegalI18nKeyException extends IllegalStateException {
     private static final long serialVersionUID = -4960131954566653551L;
     II18nLang lang;
     String[] keys;
+    /**
+     * The line of every key in its language file, or {@code null} if the keys were not read from a file.
+     */
+    @Nullable
+    int[] lines;
 
     /**
      * Constructs a new IllegalI18nKeyException with the specified language and key.
@@ -45,6 +52,33 @@ public IllegalI18nKeyException(
             @NonNull final II18nLang lang, @NonNull final String[] keys) {
         super("The i18n key is invalid.  | Langs: " + lang + "  | Key: " + Arrays.toString(keys));
         this.keys = keys;
+        this.lines = null;
         this.lang = lang;
     }
+
+    /**
+     * Constructs a new IllegalI18nKeyException with the specified language and keys read from a language file.
+     *
+     * @param lang  the language context where the invalid keys were encountered
+     * @param lines the lines of the invalid keys by key, in the order of the file
+     * @throws NullPointerException if lang or lines is null
+     */
+    public IllegalI18nKeyException(
+            @NonNull final II18nLang lang, @NonNull final Map<String, Integer> lines) {
+        super("The i18n key is invalid.  | Langs: " + lang + "  | Key: " + format(lines));
+        this.keys = lines.keySet().toArray(new String[0]);
+        this.lines = lines.values().stream().mapToInt(Integer::intValue).toArray();
+        this.lang = lang;
+    }
+
+    private static String format(final Map<String, Integer> lines) {
+        final StringBuilder sb = new StringBuilder("[");
+        for (final Map.Entry<String, Integer> e : lines.entrySet()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(e.getKey()).append(" (line ").append(e.getValue()).append(')');
+        }
+        return sb.append(']').toString();
+    }
 }
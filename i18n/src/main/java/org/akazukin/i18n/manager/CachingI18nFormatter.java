@@ -0,0 +1,325 @@
+package org.akazukin.i18n.manager;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.akazukin.i18n.exception.I18nLocaleNotFoundException;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link II18nFormatter} decorator that caches rendered messages.
+ * <p>
+ * Messages are cached by their id, the resolved language chain and the arguments,
+ * as long as every argument is an immutable value such as a string, a boxed primitive, an enum or {@code null}.
+ * Calls with any other argument, including nested {@code II18nObject}s, are passed through to the delegate.
+ * <p>
+ * The cache is split into segments that are evicted in least-recently-used order,
+ * and the maximum size is divided between them, so it never holds more than the configured number of messages.
+ * It is cleared automatically whenever the version of the entry manager changes,
+ * which happens on every load, reload or removal of entries, and whenever the fallback language changes.
+ * If the entry manager does not track its version, see {@link IEntryManager#UNVERSIONED},
+ * every render is passed through to the delegate.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public final class CachingI18nFormatter implements II18nFormatter {
+    private static final int SEGMENTS = 16;
+    private static final String MISSING = new String("missing");
+
+    II18nFormatter delegate;
+    IEntryManager entryMgr;
+    Segment[] segments;
+    LongAdder hits = new LongAdder();
+    LongAdder misses = new LongAdder();
+    LongAdder evictions = new LongAdder();
+    /**
+     * The version of the entries and the fallback language the cached messages were rendered with.
+     * Replaced only while holding the monitor of this formatter, before the segments are cleared.
+     * A rendered message is cached only if the generation it was rendered with is still current.
+     */
+    AtomicReference<Generation> generation = new AtomicReference<>(new Generation(IEntryManager.UNVERSIONED, null));
+
+    /**
+     * Constructs a new caching formatter.
+     *
+     * @param delegate    the formatter that renders the messages. Must not be {@code null}.
+     * @param entryMgr    the entry manager the delegate reads from, used to detect changes of the entries.
+     *                    Must not be {@code null}.
+     * @param maximumSize the maximum number of messages to keep. Must be positive.
+     */
+    public CachingI18nFormatter(@NotNull final II18nFormatter delegate, @NotNull final IEntryManager entryMgr,
+                                final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive. | Size: " + maximumSize);
+        }
+
+        this.delegate = delegate;
+        this.entryMgr = entryMgr;
+        // A power of two no greater than the maximum size, so every segment holds at least one message
+        final int count = Integer.highestOneBit(Math.min(SEGMENTS, maximumSize));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // The remainder is spread over the first segments, so the sizes add up to the maximum size
+            final int segmentSize = maximumSize / count + (i < maximumSize % count ? 1 : 0);
+            this.segments[i] = new Segment(segmentSize, this.evictions);
+        }
+    }
+
+    private static boolean isCacheable(@Nullable final Object arg) {
+        return arg == null
+                || arg instanceof String
+                || arg instanceof Integer || arg instanceof Long
+                || arg instanceof Short || arg instanceof Byte
+                || arg instanceof Double || arg instanceof Float
+                || arg instanceof Boolean || arg instanceof Character
+                || arg instanceof Enum
+                || arg instanceof UUID;
+    }
+
+    @Override
+    public @Nullable II18nLang getFallbackLang() {
+        return this.delegate.getFallbackLang();
+    }
+
+    @Override
+    public void setFallbackLang(@Nullable final II18nLang lang) {
+        this.delegate.setFallbackLang(lang);
+    }
+
+    @Override
+    public @Nullable String formatMessage(
+            @NotNull final String id, @NotNull final II18nLang[] langs, final Object... args) {
+        final String result = this.get(id, langs, args, false);
+        return result == MISSING ? null : result;
+    }
+
+    @Override
+    public @NotNull String formatMessageThrown(
+            @NotNull final String id, @NotNull final II18nLang[] langs, final Object... args)
+            throws I18nLocaleNotFoundException {
+        final String result = this.get(id, langs, args, true);
+        if (result == MISSING) {
+            throw new I18nLocaleNotFoundException(langs, id);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of renders served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of cacheable renders that had to be passed to the delegate.
+     * Renders that cannot be cached, such as those with arguments other than immutable values, are not counted.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the number of messages evicted to keep the cache within its maximum size.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Returns the number of messages currently cached.
+     *
+     * @return the number of cached messages
+     */
+    public int getSize() {
+        int size = 0;
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes every cached message.
+     */
+    public void invalidateAll() {
+        for (final Segment segment : this.segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private @Nullable String get(@NotNull final String id, @NotNull final II18nLang[] langs,
+                                 @Nullable final Object[] args, final boolean required)
+            throws I18nLocaleNotFoundException {
+        final long version = this.entryMgr.getVersion();
+        if (version == IEntryManager.UNVERSIONED) {
+            return this.render(id, langs, args, required);
+        }
+        if (args != null) {
+            for (final Object arg : args) {
+                if (!isCacheable(arg)) {
+                    return this.render(id, langs, args, required);
+                }
+            }
+        }
+
+        final II18nLang fallbackLang = this.delegate.getFallbackLang();
+        final Generation generation = this.validate(version, fallbackLang);
+
+        final Key key = new Key(id, this.resolveLangIds(langs, fallbackLang), args, required);
+        final Segment segment = this.segments[(key.hash ^ key.hash >>> 16) & (this.segments.length - 1)];
+        synchronized (segment) {
+            final String cached = segment.get(key);
+            if (cached != null) {
+                this.hits.increment();
+                return cached;
+            }
+        }
+        this.misses.increment();
+
+        final String result = this.render(id, langs, args, required);
+        // Skip caching if the entries changed during the render, as it may have read the newer catalog
+        if (!generation.matches(this.entryMgr.getVersion(), this.delegate.getFallbackLang())) {
+            return result;
+        }
+        synchronized (segment) {
+            // A newer generation is published before the segments are cleared,
+            // so a stale result is either refused here or cleared afterwards
+            if (this.generation.get() == generation) {
+                segment.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    private @NotNull String render(@NotNull final String id, @NotNull final II18nLang[] langs,
+                                   @Nullable final Object[] args, final boolean required)
+            throws I18nLocaleNotFoundException {
+        if (required) {
+            return this.delegate.formatMessageThrown(id, langs, args);
+        }
+        final String result = this.delegate.formatMessage(id, langs, args);
+        return result != null ? result : MISSING;
+    }
+
+    private @NotNull Generation validate(final long version, @Nullable final II18nLang fallbackLang) {
+        final Generation current = this.generation.get();
+        if (current.matches(version, fallbackLang)) {
+            return current;
+        }
+        synchronized (this) {
+            final Generation latest = this.generation.get();
+            if (latest.matches(version, fallbackLang)) {
+                return latest;
+            }
+            final Generation next = new Generation(version, fallbackLang);
+            this.generation.set(next);
+            this.invalidateAll();
+            return next;
+        }
+    }
+
+    private @NotNull String[] resolveLangIds(@NotNull final II18nLang[] langs, @Nullable final II18nLang fallbackLang) {
+        final String[] langIds = new String[langs.length];
+        for (int i = 0; i < langs.length; i++) {
+            final II18nLang lang = langs[i];
+            langIds[i] = lang.equalsId(II18nLang.FALLBACK) && fallbackLang != null
+                    ? fallbackLang.getId()
+                    : lang.getId();
+        }
+        return langIds;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static final class Generation {
+        long version;
+        II18nLang fallbackLang;
+
+        private Generation(final long version, @Nullable final II18nLang fallbackLang) {
+            this.version = version;
+            this.fallbackLang = fallbackLang;
+        }
+
+        private boolean matches(final long version, @Nullable final II18nLang fallbackLang) {
+            return this.version == version && this.fallbackLang == fallbackLang;
+        }
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static final class Key {
+        String id;
+        String[] langIds;
+        Object[] args;
+        boolean required;
+        int hash;
+
+        private Key(@NotNull final String id, @NotNull final String[] langIds,
+                    @Nullable final Object[] args, final boolean required) {
+            this.id = id;
+            this.langIds = langIds;
+            this.args = args != null && args.length > 0 ? args.clone() : null;
+            this.required = required;
+            this.hash = ((id.hashCode() * 31 + Arrays.hashCode(langIds)) * 31
+                    + Arrays.hashCode(this.args)) * 31 + Boolean.hashCode(required);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return this.hash == other.hash
+                    && this.required == other.required
+                    && this.id.equals(other.id)
+                    && Arrays.equals(this.langIds, other.langIds)
+                    && Arrays.equals(this.args, other.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<Key, String> {
+        private static final long serialVersionUID = 7823570189413466920L;
+        private final int maximumSize;
+        private final transient LongAdder evictions;
+
+        private Segment(final int maximumSize, @NotNull final LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, String> eldest) {
+            if (this.size() > this.maximumSize) {
+                this.evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
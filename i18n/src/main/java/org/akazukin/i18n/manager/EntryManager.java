@@ -1,14 +1,23 @@
 package org.akazukin.i18n.manager;
 
 import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
-import org.akazukin.i18n.Constants;
+import org.akazukin.i18n.exception.I18nLangSyntaxException;
+import org.akazukin.i18n.exception.I18nReferenceCycleException;
 import org.akazukin.i18n.exception.IllegalI18nKeyException;
-import org.akazukin.i18n.manager.data.I18nEntry;
+import org.akazukin.i18n.manager.data.FrozenI18nEntry;
+import org.akazukin.i18n.manager.data.I18nCatalog;
+import org.akazukin.i18n.manager.data.II18nCatalog;
 import org.akazukin.i18n.manager.data.II18nEntry;
 import org.akazukin.i18n.manager.data.II18nLang;
-import org.akazukin.i18n.utils.I18nValidatorUtils;
+import org.akazukin.i18n.manager.data.II18nTemplate;
+import org.akazukin.i18n.manager.data.OffHeapI18nEntry;
+import org.akazukin.i18n.metrics.II18nMetrics;
+import org.akazukin.i18n.utils.I18nCatalogUtils;
+import org.akazukin.i18n.utils.I18nLangParser;
 import org.akazukin.resource.exception.ResourceFetchException;
 import org.akazukin.resource.exception.ResourceNotFoundException;
 import org.akazukin.resource.identifier.IResourceIdentifier;
@@ -16,159 +25,424 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Properties;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
 
+/**
+ * Default implementation of {@link IEntryManager}.
+ * <p>
+ * The entries are published as immutable {@link I18nCatalog} snapshots through an atomic reference.
+ * Readers never take a lock and always see one complete snapshot.
+ * Writers are serialized with each other, read and parse the resources before touching any state,
+ * and then swap the next snapshot in, so a load or reload never stalls a render.
+ * The asynchronous loads and reloads of {@link IEntryManager} take the writer lock on their executor,
+ * so the calling thread never blocks on them, though a write it makes meanwhile waits for the load in progress.
+ * <p>
+ * Entries are grouped by language id and kept in the order they were first loaded,
+ * which follows the registration order of the resource identifiers.
+ * When two entries of a language define the same id, the entry loaded first takes precedence.
+ * <p>
+ * If a load executor is given, the resources of a load or reload are fetched and parsed concurrently on it,
+ * and all results are published together once every resource has been read.
+ * A load waits for those reads, so the asynchronous loads and reloads must be given another executor
+ * if the load executor is bounded.
+ * Resources with invalid keys, malformed resources and languages whose messages reference each other in a cycle
+ * are reported and keep their previous entries, while the valid ones are still published.
+ * <p>
+ * A compiled catalog {@code <lang>.langc} next to a language file is loaded in place of it,
+ * which skips parsing and template compilation, as long as it was compiled from the current language file.
+ * Both files are read whole into memory, since the checksum of the language file is compared with the catalog,
+ * and the templates of the catalog are decoded onto the heap, see {@link I18nCatalogUtils}.
+ * An out-of-date catalog is ignored with a warning. See {@link org.akazukin.i18n.I18nCatalogCompiler}.
+ * <p>
+ * The ids and values of every loaded resource are deduplicated through an {@link I18nStringPool}
+ * shared by all languages and bundles of this manager,
+ * and stored in a {@link FrozenI18nEntry}, which is read without locks or per-message nodes,
+ * or, if the manager stores its entries off-heap, encoded into an {@link OffHeapI18nEntry}.
+ * <p>
+ * A reload re-reads every resource but parses and publishes only the ones whose size or checksum changed
+ * since they were published, see {@link #reloadChanged()}.
+ * An entry put, removed or loaded from a catalog file by hand is always read again by the next reload.
+ * <p>
+ * If metrics are given, the read time of every resource and the size of every published catalog are reported.
+ */
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
 public final class EntryManager implements IEntryManager {
-    Collection<II18nEntry> entries = new HashSet<>();
-    Collection<II18nLang> entriesLangs = new HashSet<>();
-    Collection<IResourceIdentifier> entriesIdentifiers = new HashSet<>();
+    AtomicReference<I18nCatalog> catalog = new AtomicReference<>(I18nCatalog.EMPTY);
+    Collection<II18nLang> entriesLangs = new CopyOnWriteArraySet<>();
+    Collection<IResourceIdentifier> entriesIdentifiers = new CopyOnWriteArraySet<>();
+    I18nStringPool pool = new I18nStringPool();
+    /**
+     * The stamps of the published resources by the identifier of their language file.
+     */
+    Map<IResourceIdentifier, Stamp> stamps = new ConcurrentHashMap<>();
+    @Nullable
+    Executor loadExecutor;
+    II18nMetrics metrics;
+    boolean offHeap;
+    /**
+     * Incremented after every published snapshot. Written only while holding the monitor of this manager.
+     */
+    @NonFinal
+    volatile long version;
+
+    /**
+     * Constructs a new entry manager that reads resources one after another on the calling thread.
+     */
+    public EntryManager() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new entry manager that reads resources concurrently on the specified executor.
+     *
+     * @param loadExecutor the executor to read resources on, such as a {@link java.util.concurrent.ForkJoinPool},
+     *                     or {@code null} to read them on the calling thread
+     */
+    public EntryManager(@Nullable final Executor loadExecutor) {
+        this(loadExecutor, II18nMetrics.NOOP);
+    }
+
+    /**
+     * Constructs a new entry manager that reports load times and catalog sizes to the metrics.
+     *
+     * @param loadExecutor the executor to read resources on, or {@code null} to read them on the calling thread
+     * @param metrics      the metrics to report to, or {@link II18nMetrics#NOOP} to measure nothing
+     */
+    public EntryManager(@Nullable final Executor loadExecutor, @NotNull final II18nMetrics metrics) {
+        this(loadExecutor, metrics, false);
+    }
+
+    /**
+     * Constructs a new entry manager that optionally stores the loaded entries outside the heap.
+     *
+     * @param loadExecutor the executor to read resources on, or {@code null} to read them on the calling thread
+     * @param metrics      the metrics to report to, or {@link II18nMetrics#NOOP} to measure nothing
+     * @param offHeap      whether the loaded entries are stored as UTF-8 in direct buffers,
+     *                     see {@link OffHeapI18nEntry}
+     */
+    public EntryManager(@Nullable final Executor loadExecutor, @NotNull final II18nMetrics metrics,
+                        final boolean offHeap) {
+        this.loadExecutor = loadExecutor;
+        this.metrics = metrics;
+        this.offHeap = offHeap;
+    }
 
     public synchronized void load(@NotNull final II18nLang lang, @NotNull final IResourceIdentifier identifier)
             throws IllegalI18nKeyException {
-        if (this.hasEntry(identifier, lang)) {
-            this.removeEntry(identifier, lang);
+        this.loadAll(Collections.singletonList(lang), Collections.singletonList(identifier), false);
+    }
+
+    /**
+     * Loads a compiled catalog file through a memory mapping, without parsing or compiling any message.
+     * The templates are decoded onto the heap, and the mapping is not kept.
+     * An entry of the same identifier and language is replaced.
+     *
+     * @param lang       the language of the catalog. Must not be {@code null}.
+     * @param identifier the identifier to register the entry with. Must not be {@code null}.
+     * @param file       the compiled catalog file. Must not be {@code null}.
+     * @throws IOException if the file cannot be read or does not hold a valid catalog
+     * @see I18nCatalogUtils
+     */
+    public synchronized void loadCatalog(@NotNull final II18nLang lang, @NotNull final IResourceIdentifier identifier,
+                                         @NotNull final Path file) throws IOException {
+        final long start = System.nanoTime();
+        final II18nEntry entry = this.freeze(lang, identifier, this.pool.intern(I18nCatalogUtils.read(file)));
+        if (this.metrics != II18nMetrics.NOOP) {
+            this.metrics.recordLoad(identifier, lang, System.nanoTime() - start, false);
         }
-        this.forceLoad(identifier.toRelativeIdentifier(lang.getId() + ".lang"), lang);
+        this.update(b -> b.put(entry));
+        this.stamps.remove(identifier);
     }
 
-    private synchronized void forceLoad(final IResourceIdentifier identifier, @NotNull final II18nLang lang)
+    /**
+     * Reads the language file of the specified language under the base identifier.
+     * A compiled catalog next to the language file is preferred if it was compiled from the current content
+     * of the language file or there is no language file, and the language file is parsed otherwise.
+     * <p>
+     * On a reload, a resource whose content has the same stamp as when it was last published is not parsed again.
+     *
+     * @param base   the base identifier of the resources
+     * @param lang   the language to read
+     * @param reload whether the resource is read by a reload, which skips an unchanged resource
+     * @return the resource read, holding the entry registered with the identifier of the language file,
+     * or no entry if the resource is unchanged
+     * @throws IllegalI18nKeyException if the language file contains invalid keys
+     * @throws UncheckedIOException    if the language file is malformed,
+     *                                 with the {@link I18nLangSyntaxException} as its cause
+     */
+    private @NotNull Loaded read(@NotNull final IResourceIdentifier base, @NotNull final II18nLang lang,
+                                 final boolean reload)
             throws IllegalI18nKeyException {
-        log.debug("Loading localization resource. | Lang: " + lang.getId() + ", " + identifier);
+        final long start = this.metrics != II18nMetrics.NOOP ? System.nanoTime() : 0L;
+        final IResourceIdentifier identifier = base.toRelativeIdentifier(lang.getId() + ".lang");
+        final Stamp previous = reload ? this.stamps.get(identifier) : null;
+
+        final IResourceIdentifier catalogIdentifier =
+                base.toRelativeIdentifier(lang.getId() + I18nCatalogUtils.EXTENSION);
+        final byte[] compiledBytes = this.readCompiled(catalogIdentifier);
 
-        final Map<String, String> newProps;
-        {
-            // load resource as props
-            final Properties props = new Properties();
-            try (final IResource res = identifier.getResource();
-                 final InputStreamReader isr
-                         = new InputStreamReader(res.getInputStream(), StandardCharsets.UTF_8)) {
-                props.load(isr);
-            } catch (final ResourceNotFoundException e) {
+        byte[] bytes = null;
+        try {
+            bytes = readBytes(identifier);
+        } catch (final ResourceNotFoundException | FileNotFoundException e) {
+            if (compiledBytes == null) {
                 log.warn("The localization resource is not found. | " + identifier);
-            } catch (final IOException | ResourceFetchException e) {
-                log.warn("Failed to load localization resource. | " + identifier, e);
             }
+        } catch (final IOException | ResourceFetchException e) {
+            log.warn("Failed to load localization resource. | " + identifier, e);
+        }
+
+        if (compiledBytes != null && this.isCurrent(catalogIdentifier, compiledBytes, bytes)) {
+            final Stamp stamp = new Stamp(compiledBytes, true);
+            if (stamp.equals(previous)) {
+                return new Loaded(identifier, null, stamp);
+            }
+
+            final II18nEntry compiled = this.parseCompiled(catalogIdentifier, identifier, lang, compiledBytes);
+            if (compiled != null) {
+                return this.loaded(identifier, compiled, stamp, start, reload);
+            }
+        }
+
+        final Stamp stamp = new Stamp(bytes, false);
+        if (stamp.equals(previous)) {
+            return new Loaded(identifier, null, stamp);
+        }
+
+        log.debug("Loading localization resource. | Lang: " + lang.getId() + ", " + identifier);
+
+        Map<String, String> newProps = Collections.emptyMap();
+        if (bytes != null) {
+            try {
+                // The keys are validated while parsing
+                final I18nLangParser parser = I18nLangParser.parse(bytes);
+                if (!parser.getInvalidKeys().isEmpty()) {
+                    throw new IllegalI18nKeyException(lang, parser.getInvalidKeys());
+                }
+                newProps = parser.getEntries();
+            } catch (final I18nLangSyntaxException e) {
+                // Thrown rather than published empty, so the previous entry is kept and the file is read again
+                throw new UncheckedIOException("Failed to load localization resource. | " + identifier, e);
+            }
+        }
 
-            // Convert props to map
-            newProps = props.entrySet()
-                    .stream()
-                    .collect(Collectors.toMap(
-                            e -> String.valueOf(e.getKey()),
-                            e -> String.valueOf(e.getValue())));
+        return this.loaded(identifier, this.freeze(lang, identifier, this.pool.compile(newProps)),
+                stamp, start, reload);
+    }
+
+    private @NotNull Loaded loaded(@NotNull final IResourceIdentifier identifier, @NotNull final II18nEntry entry,
+                                   @NotNull final Stamp stamp, final long start, final boolean reload) {
+        if (this.metrics != II18nMetrics.NOOP) {
+            this.metrics.recordLoad(identifier, entry.getLang(), System.nanoTime() - start, reload);
         }
+        return new Loaded(identifier, entry, stamp);
+    }
 
-        {
-            // Validate keys
-            final Set<String> invalids = newProps.keySet()
-                    .stream()
-                    .filter(key -> !I18nValidatorUtils.isValidId(key))
-                    .collect(Collectors.toSet());
-            if (!invalids.isEmpty()) {
-                throw new IllegalI18nKeyException(lang, invalids.toArray(Constants.EMPTY_STR_ARR));
+    private @Nullable byte[] readCompiled(@NotNull final IResourceIdentifier catalogIdentifier) {
+        try {
+            return readBytes(catalogIdentifier);
+        } catch (final ResourceNotFoundException | FileNotFoundException e) {
+            return null;
+        } catch (final IOException | ResourceFetchException e) {
+            log.warn("Failed to load compiled localization resource. | " + catalogIdentifier, e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether a compiled catalog can be loaded in place of its language file.
+     *
+     * @param catalogIdentifier the identifier of the compiled catalog
+     * @param compiledBytes     the content of the compiled catalog
+     * @param bytes             the content of the language file, or {@code null} if there is none
+     * @return {@code true} if there is no language file or the catalog was compiled from its current content
+     */
+    private boolean isCurrent(@NotNull final IResourceIdentifier catalogIdentifier,
+                              @NotNull final byte[] compiledBytes, @Nullable final byte[] bytes) {
+        if (bytes == null) {
+            return true;
+        }
+        try {
+            if (I18nCatalogUtils.isCompiledFrom(ByteBuffer.wrap(compiledBytes), bytes)) {
+                return true;
             }
+            log.warn("The compiled localization resource is out of date, so its source is loaded instead. | "
+                    + catalogIdentifier);
+        } catch (final IOException e) {
+            log.warn("Failed to load compiled localization resource. | " + catalogIdentifier, e);
         }
+        return false;
+    }
+
+    private @Nullable II18nEntry parseCompiled(@NotNull final IResourceIdentifier catalogIdentifier,
+                                               @NotNull final IResourceIdentifier identifier,
+                                               @NotNull final II18nLang lang, @NotNull final byte[] bytes) {
+        log.debug("Loading compiled localization resource. | Lang: " + lang.getId() + ", " + catalogIdentifier);
+        try {
+            return this.freeze(lang, identifier, this.pool.intern(I18nCatalogUtils.read(ByteBuffer.wrap(bytes))));
+        } catch (final IOException e) {
+            log.warn("Failed to load compiled localization resource. | " + catalogIdentifier, e);
+            return null;
+        }
+    }
 
-        final II18nEntry entry = new I18nEntry(lang, identifier);
-        entry.setEntries(newProps);
-        this.putEntry(entry);
+    private @NotNull II18nEntry freeze(@NotNull final II18nLang lang, @NotNull final IResourceIdentifier identifier,
+                                       @NotNull final Map<String, II18nTemplate> templates) {
+        return this.offHeap
+                ? new OffHeapI18nEntry(lang, identifier, templates)
+                : new FrozenI18nEntry(lang, identifier, templates);
+    }
+
+    private static @NotNull byte[] readBytes(@NotNull final IResourceIdentifier identifier)
+            throws IOException, ResourceFetchException {
+        try (final IResource res = identifier.getResource();
+             final InputStream is = res.getInputStream()) {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            final byte[] buf = new byte[8192];
+            int len;
+            while ((len = is.read(buf)) != -1) {
+                baos.write(buf, 0, len);
+            }
+            return baos.toByteArray();
+        }
     }
 
     @Override
     public synchronized void load(@NotNull final II18nLang lang)
             throws IllegalI18nKeyException {
-        if (!this.hasEntry(lang)) {
-            this.entriesLangs.add(lang);
-        }
-        this.forceLoad(lang);
+        this.entriesLangs.add(lang);
+        this.loadAll(Collections.singletonList(lang), this.entriesIdentifiers, false);
     }
 
     @Override
     public synchronized void load(@NotNull final IResourceIdentifier identifier)
             throws IllegalI18nKeyException {
-        if (!this.hasEntry(identifier)) {
-            this.entriesIdentifiers.add(identifier);
-        }
-        for (final II18nLang lang : this.entriesLangs) {
-            this.forceLoad(identifier.toRelativeIdentifier(lang.getId() + ".lang"), lang);
-        }
+        this.entriesIdentifiers.add(identifier);
+        this.loadAll(this.entriesLangs, Collections.singletonList(identifier), false);
     }
 
     @Override
     public synchronized void removeEntry(@NotNull final IResourceIdentifier identifier, @NotNull final II18nLang lang) {
-        this.entries.removeIf(e -> e.getIdentifier().equals(identifier) && e.getLang().equalsId(lang));
+        this.update(b -> b.remove(identifier, lang));
+        this.stamps.remove(identifier);
     }
 
     @Override
-    public synchronized @Nullable II18nEntry[] getEntries(@NotNull final II18nLang lang) {
-        return this.entries.stream()
-                .filter(e -> e.getLang().equalsId(lang))
-                .toArray(II18nEntry[]::new);
+    public @NotNull II18nEntry[] getEntries(@NotNull final II18nLang lang) {
+        return this.catalog.get().getEntries(lang);
     }
 
     @Override
-    public synchronized void removeEntry(@NotNull final II18nLang lang) {
-        this.entries.removeIf(e -> e.getLang().equalsId(lang));
+    public @Nullable II18nTemplate getTemplate(@NotNull final II18nLang lang, @NotNull final String id) {
+        return this.catalog.get().getTemplate(lang, id);
     }
 
     @Override
-    public synchronized @NotNull II18nLang[] getLangs() {
-        return this.entries.stream()
-                .map(II18nEntry::getLang)
-                .toArray(II18nLang[]::new);
+    public @NotNull II18nCatalog getCatalog() {
+        return this.catalog.get();
     }
 
     @Override
-    public void load(@NotNull final II18nLang... langs) {
-        for (final II18nLang lang : langs) {
-            this.load(lang);
+    public long getVersion() {
+        return this.version;
+    }
+
+    @Override
+    public synchronized void removeEntry(@NotNull final II18nLang lang) {
+        for (final II18nEntry entry : this.getEntries(lang)) {
+            this.stamps.remove(entry.getIdentifier());
         }
+        this.update(b -> b.remove(lang));
+    }
+
+    @Override
+    public @NotNull II18nLang[] getLangs() {
+        return this.catalog.get().getLangs();
+    }
+
+    @Override
+    public synchronized void load(@NotNull final II18nLang... langs) {
+        this.entriesLangs.addAll(Arrays.asList(langs));
+        this.loadAll(Arrays.asList(langs), this.entriesIdentifiers, false);
     }
 
     @Override
     public synchronized void putEntry(@NotNull final II18nEntry entry) {
-        if (this.hasEntry(entry.getIdentifier(), entry.getLang())) {
-            this.removeEntry(entry.getIdentifier(), entry.getLang());
-        }
-        this.entries.removeIf(e -> e.getIdentifier().equals(entry.getIdentifier()) && e.getLang().equalsId(entry.getLang()));
-        this.entries.add(entry);
+        this.update(b -> b.put(entry));
+        this.stamps.remove(entry.getIdentifier());
     }
 
     @Override
-    public synchronized @NotNull II18nEntry[] getEntries() {
-        return this.entries.toArray(II18nEntry.EMPTY_ARR);
+    public @NotNull II18nEntry[] getEntries() {
+        return this.catalog.get().getEntries();
     }
 
     @Override
-    public void reload(@NotNull final II18nLang lang) {
-        this.forceLoad(lang);
+    public synchronized void reload(@NotNull final II18nLang lang) {
+        this.reloadChanged(lang);
     }
 
     @Override
     public synchronized void reload() {
-        for (final II18nEntry e : this.entries) {
-            this.forceLoad(e.getLang());
-        }
+        this.reloadChanged();
+    }
+
+    /**
+     * Reloads the specified language, parsing only the resources whose content changed since they were loaded.
+     *
+     * @param lang the language to reload. Must not be {@code null}.
+     * @return the identifiers of the resources that changed, in load order. Never {@code null}, but may be empty.
+     * @throws IllegalI18nKeyException if any changed resource contains invalid keys
+     * @throws UncheckedIOException    if any changed resource is malformed
+     */
+    public synchronized @NotNull List<IResourceIdentifier> reloadChanged(@NotNull final II18nLang lang)
+            throws IllegalI18nKeyException {
+        return this.loadAll(Collections.singletonList(lang), this.entriesIdentifiers, true);
+    }
+
+    /**
+     * Reloads every loaded language, parsing only the resources whose content changed since they were loaded.
+     * Every resource is read once, however many entries its language has.
+     *
+     * @return the identifiers of the resources that changed, in load order. Never {@code null}, but may be empty.
+     * @throws IllegalI18nKeyException if any changed resource contains invalid keys
+     * @throws UncheckedIOException    if any changed resource is malformed
+     */
+    public synchronized @NotNull List<IResourceIdentifier> reloadChanged() throws IllegalI18nKeyException {
+        return this.loadAll(Arrays.asList(this.getLangs()), this.entriesIdentifiers, true);
     }
 
     @Override
-    public synchronized boolean hasEntry(@NotNull final IResourceIdentifier identifier, @NotNull final II18nLang lang) {
+    public boolean hasEntry(@NotNull final IResourceIdentifier identifier, @NotNull final II18nLang lang) {
         return this.hasEntry(identifier) && this.hasEntry(lang);
     }
 
     @Override
-    public synchronized boolean hasEntry(@NotNull final II18nLang lang) {
-        return this.entries.stream()
-                .anyMatch(e -> e.getLang().equalsId(lang));
+    public boolean hasEntry(@NotNull final II18nLang lang) {
+        return this.catalog.get().hasEntry(lang);
     }
 
     @Override
@@ -176,10 +450,214 @@ public boolean hasEntry(final @NotNull IResourceIdentifier identifier) {
         return this.entriesIdentifiers.contains(identifier);
     }
 
-    private void forceLoad(@NotNull final II18nLang lang)
+    /**
+     * Reads the resources of every pair of the specified languages and identifiers and publishes them at once.
+     * The resources are read concurrently if a load executor is set.
+     * <p>
+     * If some resources contain invalid keys or are malformed,
+     * or the messages of some languages reference each other in a cycle,
+     * the other resources and languages are still published, the entries previously published for the failed ones
+     * are kept,
+     * and then the exception of the first failed resource is thrown
+     * with the exceptions of the other failed resources and languages added as suppressed.
+     * Any other failure is thrown as is, once every concurrent read has finished, and nothing is published.
+     *
+     * @param langs       the languages to read
+     * @param identifiers the base identifiers to read the languages from
+     * @param reload      whether the resources are read by a reload, which skips the unchanged ones
+     * @return the identifiers of the resources that were published
+     * @throws IllegalI18nKeyException     if any resource contains invalid keys
+     * @throws UncheckedIOException        if any resource is malformed
+     * @throws I18nReferenceCycleException if no resource contains invalid keys or is malformed,
+     *                                     but the messages of a language reference each other in a cycle
+     */
+    private @NotNull List<IResourceIdentifier> loadAll(@NotNull final Collection<II18nLang> langs,
+                                                       @NotNull final Collection<IResourceIdentifier> identifiers,
+                                                       final boolean reload)
             throws IllegalI18nKeyException {
-        for (final IResourceIdentifier identifier : this.entriesIdentifiers) {
-            this.forceLoad(identifier.toRelativeIdentifier(lang.getId() + ".lang"), lang);
+        final List<Loaded> loaded = new ArrayList<>();
+        RuntimeException failure = null;
+
+        if (this.loadExecutor == null) {
+            for (final II18nLang lang : langs) {
+                for (final IResourceIdentifier identifier : identifiers) {
+                    try {
+                        loaded.add(this.read(identifier, lang, reload));
+                    } catch (final IllegalI18nKeyException | UncheckedIOException e) {
+                        failure = addFailure(failure, e);
+                    }
+                }
+            }
+        } else {
+            final List<CompletableFuture<Loaded>> futures = new ArrayList<>();
+            for (final II18nLang lang : langs) {
+                for (final IResourceIdentifier identifier : identifiers) {
+                    futures.add(CompletableFuture.supplyAsync(
+                            () -> this.read(identifier, lang, reload),
+                            this.loadExecutor));
+                }
+            }
+            // Every read is waited for, so no read is still running once this load returns or throws
+            Throwable error = null;
+            for (final CompletableFuture<Loaded> future : futures) {
+                try {
+                    loaded.add(future.join());
+                } catch (final CompletionException e) {
+                    final Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof IllegalI18nKeyException || cause instanceof UncheckedIOException) {
+                        failure = addFailure(failure, (RuntimeException) cause);
+                    } else if (error == null) {
+                        error = cause;
+                    } else {
+                        error.addSuppressed(cause);
+                    }
+                }
+            }
+            if (error != null) {
+                // Thrown as the serial path would throw it, without publishing anything
+                if (error instanceof RuntimeException) {
+                    throw (RuntimeException) error;
+                }
+                if (error instanceof Error) {
+                    throw (Error) error;
+                }
+                throw new CompletionException(error);
+            }
+        }
+
+        final List<II18nEntry> entries = new ArrayList<>();
+        for (final Loaded l : loaded) {
+            if (l.entry != null) {
+                entries.add(l.entry);
+            }
+        }
+        I18nReferenceCycleException cycle = null;
+        final Set<String> cyclicLangIds = new HashSet<>();
+        if (!entries.isEmpty()) {
+            try {
+                this.update(b -> entries.forEach(b::put));
+            } catch (final I18nReferenceCycleException e) {
+                cycle = e;
+                cyclicLangIds.add(e.getLangs()[0].getId());
+                for (final Throwable suppressed : e.getSuppressed()) {
+                    cyclicLangIds.add(((I18nReferenceCycleException) suppressed).getLangs()[0].getId());
+                }
+            }
+        }
+
+        // The stamps are kept only once the entries are published, so a language left unpublished is read again
+        final List<IResourceIdentifier> changed = new ArrayList<>();
+        for (final Loaded l : loaded) {
+            if (l.entry != null && !cyclicLangIds.contains(l.entry.getLang().getId())) {
+                changed.add(l.identifier);
+                this.stamps.put(l.identifier, l.stamp);
+            }
+        }
+        if (reload) {
+            log.debug("Reloaded localization resources. | Changed: " + changed.size() + "/" + loaded.size());
+        }
+
+        if (failure != null) {
+            if (cycle != null) {
+                failure.addSuppressed(cycle);
+            }
+            throw failure;
+        }
+        if (cycle != null) {
+            throw cycle;
+        }
+        return changed;
+    }
+
+    private static @NotNull RuntimeException addFailure(
+            @Nullable final RuntimeException failure, @NotNull final RuntimeException e) {
+        if (failure == null) {
+            return e;
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+
+    /**
+     * Derives the next snapshot from the current one and publishes it.
+     * Callers must hold the monitor of this manager, so writers never overwrite each other.
+     *
+     * @param action the changes to apply to the next snapshot
+     * @throws I18nReferenceCycleException if the changed messages of a language reference each other in a cycle,
+     *                                     in which case that language keeps its current entries,
+     *                                     while the other languages are still published.
+     *                                     The cycles of the other languages are added as suppressed.
+     */
+    private void update(@NotNull final Consumer<I18nCatalog.Builder> action) {
+        final I18nCatalog.Builder builder = this.catalog.get().toBuilder();
+        action.accept(builder);
+        final I18nCatalog next = builder.build();
+        this.catalog.set(next);
+        // Bumped after the catalog is set, so a render that saw the old version and the new catalog is cleared later
+        this.version++;
+        if (this.metrics != II18nMetrics.NOOP) {
+            this.metrics.recordCatalog(next);
+        }
+
+        I18nReferenceCycleException cycle = null;
+        for (final I18nReferenceCycleException e : builder.getCycles()) {
+            if (cycle == null) {
+                cycle = e;
+            } else {
+                cycle.addSuppressed(e);
+            }
+        }
+        if (cycle != null) {
+            throw cycle;
+        }
+    }
+
+    /**
+     * A resource read by a load.
+     * The entry is {@code null} if a reload found the resource unchanged.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static final class Loaded {
+        IResourceIdentifier identifier;
+        @Nullable
+        II18nEntry entry;
+        Stamp stamp;
+
+        private Loaded(@NotNull final IResourceIdentifier identifier, @Nullable final II18nEntry entry,
+                       @NotNull final Stamp stamp) {
+            this.identifier = identifier;
+            this.entry = entry;
+            this.stamp = stamp;
+        }
+    }
+
+    /**
+     * The size and checksum of the content of a resource, which tell whether it changed since it was loaded.
+     * The checksum detects edits, not tampering.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    @EqualsAndHashCode
+    private static final class Stamp {
+        int size;
+        long checksum;
+        boolean compiled;
+
+        /**
+         * @param bytes    the content of the resource, or {@code null} if it could not be read
+         * @param compiled whether the content is a compiled catalog
+         */
+        private Stamp(@Nullable final byte[] bytes, final boolean compiled) {
+            this.compiled = compiled;
+            if (bytes == null) {
+                this.size = -1;
+                this.checksum = 0L;
+                return;
+            }
+
+            final CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length);
+            this.size = bytes.length;
+            this.checksum = crc.getValue();
         }
     }
 }
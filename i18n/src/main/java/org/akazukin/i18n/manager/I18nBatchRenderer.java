@@ -0,0 +1,163 @@
+package org.akazukin.i18n.manager;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.akazukin.i18n.manager.data.LangChain;
+import org.akazukin.i18n.object.II18nObject;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Renders many i18n objects for many language chains in one pass.
+ * <p>
+ * The requests of a batch are grouped by language chain, so every group is rendered with one chain,
+ * and equal objects within a group are rendered only once, with their result shared by every request.
+ * Every result is rendered into a buffer reused for the whole group instead of a new buffer per message.
+ * <p>
+ * If an executor is given, batches of at least the parallel threshold are split into chunks of whole groups
+ * or parts of large groups, which are rendered concurrently on the executor.
+ * The results are always returned in the order of the requests.
+ * This class is thread-safe as long as the formatter is.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+public final class I18nBatchRenderer {
+    /**
+     * The default number of requests from which a batch is rendered in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 2048;
+    /**
+     * The number of requests rendered by one parallel task.
+     */
+    private static final int CHUNK_SIZE = 512;
+    private static final int INITIAL_BUFFER_CAPACITY = 256;
+
+    II18nFormatter formatter;
+    @Nullable
+    Executor executor;
+    int parallelThreshold;
+
+    /**
+     * Constructs a new batch renderer that renders on the calling thread.
+     *
+     * @param formatter the formatter to render with. Must not be {@code null}.
+     */
+    public I18nBatchRenderer(@NotNull final II18nFormatter formatter) {
+        this(formatter, null, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Constructs a new batch renderer.
+     *
+     * @param formatter         the formatter to render with. Must not be {@code null}.
+     * @param executor          the executor to render large batches on, such as a
+     *                          {@link java.util.concurrent.ForkJoinPool}, or {@code null} to render on the calling thread
+     * @param parallelThreshold the number of requests from which a batch is rendered on the executor. Must be positive.
+     */
+    public I18nBatchRenderer(@NotNull final II18nFormatter formatter, @Nullable final Executor executor,
+                             final int parallelThreshold) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("The parallel threshold must be positive. | " + parallelThreshold);
+        }
+        this.formatter = formatter;
+        this.executor = executor;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Renders every object for the language chain at the same position.
+     *
+     * @param objects the objects to render. Must not be {@code null}.
+     * @param chains  the language chain of every object. Must not be {@code null}, and must be as long as the objects.
+     * @return a new array of the rendered messages in the order of the objects,
+     * where a message that cannot be resolved is {@code null}
+     * @throws IllegalArgumentException if the lists are not of the same size
+     */
+    public @NotNull String[] render(@NotNull final List<? extends II18nObject> objects,
+                                    @NotNull final List<LangChain> chains) {
+        if (objects.size() != chains.size()) {
+            throw new IllegalArgumentException("The objects and the chains must be of the same size. | "
+                    + objects.size() + " != " + chains.size());
+        }
+
+        final String[] results = new String[objects.size()];
+        final Map<LangChain, Group> groups = new LinkedHashMap<>();
+        for (int i = 0; i < chains.size(); i++) {
+            groups.computeIfAbsent(chains.get(i), Group::new).add(i);
+        }
+
+        if (this.executor == null || results.length < this.parallelThreshold) {
+            final StringBuilder sb = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+            for (final Group group : groups.values()) {
+                this.render(group, 0, group.size, objects, results, sb);
+            }
+            return results;
+        }
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (final Group group : groups.values()) {
+            for (int from = 0; from < group.size; from += CHUNK_SIZE) {
+                final int start = from;
+                final int end = Math.min(from + CHUNK_SIZE, group.size);
+                futures.add(CompletableFuture.runAsync(
+                        () -> this.render(group, start, end, objects, results,
+                                new StringBuilder(INITIAL_BUFFER_CAPACITY)),
+                        this.executor));
+            }
+        }
+        // Joining every task publishes the results written by the other threads
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        return results;
+    }
+
+    /**
+     * Renders the objects of a part of a group, writing every result at the position of its request.
+     */
+    private void render(@NotNull final Group group, final int from, final int to,
+                        @NotNull final List<? extends II18nObject> objects, @NotNull final String[] results,
+                        @NotNull final StringBuilder sb) {
+        final Map<II18nObject, String> rendered = new HashMap<>();
+        for (int i = from; i < to; i++) {
+            final int index = group.indexes[i];
+            final II18nObject object = objects.get(index);
+            String result = rendered.get(object);
+            if (result == null && !rendered.containsKey(object)) {
+                sb.setLength(0);
+                result = object.buildTo(sb, this.formatter, group.chain) ? sb.toString() : null;
+                rendered.put(object, result);
+            }
+            results[index] = result;
+        }
+    }
+
+    /**
+     * The positions of the requests of one language chain.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private static final class Group {
+        final LangChain chain;
+        int[] indexes = new int[8];
+        int size;
+
+        private Group(@NotNull final LangChain chain) {
+            this.chain = chain;
+        }
+
+        private void add(final int index) {
+            if (this.size == this.indexes.length) {
+                this.indexes = Arrays.copyOf(this.indexes, this.size * 2);
+            }
+            this.indexes[this.size++] = index;
+        }
+    }
+}
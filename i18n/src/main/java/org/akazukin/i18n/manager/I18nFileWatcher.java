@@ -0,0 +1,203 @@
+package org.akazukin.i18n.manager;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.utils.I18nCatalogUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a data folder and reloads the languages whose {@code <lang>.lang} or {@code <lang>.langc} files change.
+ * <p>
+ * The folder and all of its subfolders are watched with a {@link WatchService} on a dedicated daemon thread.
+ * Changes of language files are collected until no further one arrives within the debounce interval,
+ * or at most ten intervals after the first one, so a file written over and over
+ * cannot hold the reload back forever. Every changed language that is currently loaded is then reloaded once.
+ * Changes of any other file are ignored and do not delay the reload.
+ * The reload runs on the watcher thread, and the entry manager swaps the new entries in,
+ * so formatting threads are never blocked by it.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public final class I18nFileWatcher implements Closeable {
+    private static final String LANG_SUFFIX = ".lang";
+    private static final String CATALOG_SUFFIX = I18nCatalogUtils.EXTENSION;
+    /**
+     * The number of debounce intervals after the first change at which the pending changes are reloaded anyway.
+     */
+    private static final int MAX_DEBOUNCES = 10;
+
+    IEntryManager entryMgr;
+    Path folder;
+    long debounceNanos;
+    WatchService watchService;
+    Thread thread;
+
+    private I18nFileWatcher(@NotNull final IEntryManager entryMgr, @NotNull final Path folder,
+                            final long debounceMillis) throws IOException {
+        this.entryMgr = entryMgr;
+        this.folder = folder;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.watchService = folder.getFileSystem().newWatchService();
+        this.thread = new Thread(this::run, "I18n-FileWatcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching the specified data folder.
+     *
+     * @param entryMgr       the entry manager to reload. Must not be {@code null}.
+     * @param dataFolder     the folder that contains the language files. Must not be {@code null}.
+     * @param debounceMillis the time in milliseconds to wait for further changes before reloading
+     * @return the started watcher, which must be closed to stop watching
+     * @throws IOException if the folder cannot be watched
+     */
+    public static @NotNull I18nFileWatcher start(@NotNull final IEntryManager entryMgr,
+                                                 @NotNull final File dataFolder, final long debounceMillis)
+            throws IOException {
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("The debounce interval must not be negative. | Interval: " + debounceMillis);
+        }
+
+        final I18nFileWatcher watcher = new I18nFileWatcher(entryMgr, dataFolder.toPath(), debounceMillis);
+        try {
+            watcher.registerAll(watcher.folder);
+        } catch (final IOException e) {
+            watcher.watchService.close();
+            throw e;
+        }
+        watcher.thread.start();
+        return watcher;
+    }
+
+    /**
+     * Stops watching the data folder.
+     * A reload that is already running is completed.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.watchService.close();
+    }
+
+    private void registerAll(@NotNull final Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
+                    throws IOException {
+                dir.register(I18nFileWatcher.this.watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void run() {
+        final Set<String> pending = new LinkedHashSet<>();
+        boolean overflow = false;
+        long deadline = 0;
+        long maxDeadline = 0;
+
+        try {
+            while (true) {
+                final WatchKey key;
+                if (pending.isEmpty() && !overflow) {
+                    key = this.watchService.take();
+                } else {
+                    final long remaining = deadline - System.nanoTime();
+                    key = remaining > 0 ? this.watchService.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (key == null) {
+                        this.reload(pending, overflow);
+                        pending.clear();
+                        overflow = false;
+                        continue;
+                    }
+                }
+
+                final boolean idle = pending.isEmpty() && !overflow;
+                boolean changed = false;
+                final Path dir = (Path) key.watchable();
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        overflow = true;
+                        changed = true;
+                        continue;
+                    }
+
+                    final Path path = dir.resolve((Path) event.context());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                        try {
+                            this.registerAll(path);
+                        } catch (final IOException e) {
+                            // The directory may be gone already, which must not stop watching the others
+                            log.warn("Failed to watch the created localization folder. | " + path, e);
+                        }
+                        continue;
+                    }
+
+                    final String name = path.getFileName().toString();
+                    if (name.endsWith(LANG_SUFFIX)) {
+                        pending.add(name.substring(0, name.length() - LANG_SUFFIX.length()));
+                        changed = true;
+                    } else if (name.endsWith(CATALOG_SUFFIX)) {
+                        pending.add(name.substring(0, name.length() - CATALOG_SUFFIX.length()));
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                // Only a change of a language file delays the reload, and never past the maximum wait
+                if (changed) {
+                    final long now = System.nanoTime();
+                    if (idle) {
+                        maxDeadline = now + this.debounceNanos * MAX_DEBOUNCES;
+                    }
+                    deadline = now + this.debounceNanos;
+                    if (deadline - maxDeadline > 0) {
+                        deadline = maxDeadline;
+                    }
+                }
+            }
+        } catch (final ClosedWatchServiceException e) {
+            log.debug("The localization file watcher is closed. | " + this.folder);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reload(@NotNull final Set<String> langIds, final boolean all) {
+        for (final II18nLang lang : this.entryMgr.getLangs()) {
+            if (!all && !langIds.contains(lang.getId())) {
+                continue;
+            }
+
+            log.debug("Reloading the changed localization. | Lang: " + lang.getId());
+            try {
+                this.entryMgr.reload(lang);
+            } catch (final RuntimeException e) {
+                log.warn("Failed to reload the changed localization. | Lang: " + lang.getId(), e);
+            }
+        }
+    }
+}
@@ -5,134 +5,598 @@
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
-import lombok.extern.slf4j.Slf4j;
 import org.akazukin.i18n.exception.I18nLocaleNotFoundException;
-import org.akazukin.i18n.manager.data.II18nEntry;
+import org.akazukin.i18n.exception.I18nReferenceCycleException;
+import org.akazukin.i18n.manager.data.I18nKey;
+import org.akazukin.i18n.manager.data.II18nCatalog;
 import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.II18nTemplate;
+import org.akazukin.i18n.manager.data.LangChain;
+import org.akazukin.i18n.metrics.II18nMetrics;
 import org.akazukin.i18n.object.II18nObject;
-import org.akazukin.i18n.utils.I18nValidatorUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
+/**
+ * Default implementation of {@link II18nFormatter}.
+ * <p>
+ * A language chain is given either as an array, in which {@link II18nLang#FALLBACK} is replaced
+ * by the fallback language while looking up, or as a {@link LangChain},
+ * whose resolution for the fallback language is cached in the chain.
+ * Internally, a render carries the array or the resolved chain, never both.
+ */
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Getter
-@Slf4j
 public final class I18nFormatter implements II18nFormatter {
-    private static final Pattern REGEX_I18N = Pattern.compile("<\\$(" + I18nValidatorUtils.ID_REGEX + ")>");
+    private static final int ESTIMATED_SEGMENT_LENGTH = 16;
+    /**
+     * The deepest nesting of references rendered.
+     * Cycles within a language are rejected when the catalog is built,
+     * so only a cycle formed across the languages of a chain reaches this depth.
+     */
+    private static final int MAX_REFERENCE_DEPTH = 32;
+    private static final String REF_PREFIX = "<$";
 
     final IEntryManager entryMgr;
+    final II18nMetrics metrics;
+    /**
+     * Whether the metrics record anything, so lookups and renders are not measured for {@link II18nMetrics#NOOP}.
+     */
+    @Getter(AccessLevel.NONE)
+    final boolean metricsEnabled;
+    /**
+     * The catalog of the render in progress on the current thread.
+     * Nested objects in the arguments are rendered through the same catalog as their parent.
+     */
+    @Getter(AccessLevel.NONE)
+    final ThreadLocal<II18nCatalog> renderCatalog = new ThreadLocal<>();
     @Setter
     II18nLang fallbackLang;
 
     public I18nFormatter(@NotNull final IEntryManager entryMgr) {
+        this(entryMgr, II18nMetrics.NOOP);
+    }
+
+    /**
+     * Constructs a new formatter that reports lookups and renders to the metrics.
+     *
+     * @param entryMgr the entry manager to read the catalog from
+     * @param metrics  the metrics to report to, or {@link II18nMetrics#NOOP} to measure nothing
+     */
+    public I18nFormatter(@NotNull final IEntryManager entryMgr, @NotNull final II18nMetrics metrics) {
         this.entryMgr = entryMgr;
+        this.metrics = metrics;
+        this.metricsEnabled = metrics != II18nMetrics.NOOP;
     }
 
     @Override
     public @Nullable String formatMessage(
             @NotNull final String id, @NotNull final II18nLang[] langs, final Object... args) {
-        log.debug("formatMessage called with id: {}, langs: {}, args: {}", id, langs, Arrays.toString(args));
-        String i18n = null;
-        loop:
-        for (II18nLang lang : langs) {
-            if (lang.equalsId(II18nLang.FALLBACK)) {
-                if (this.fallbackLang == null) {
-                    continue;
-                }
-                lang = this.fallbackLang;
-            }
+        return this.format(null, id, langs, null, args, false);
+    }
 
-            final II18nEntry[] entries = this.entryMgr.getEntries(lang);
-            for (final II18nEntry entry : entries) {
-                i18n = entry.getEntry(id);
-                if (i18n != null) {
-                    break loop;
-                }
-                log.debug("formatMessage: not found id: {}, lang: {}, identifier: {}", id, lang, entry.getIdentifier());
+    @Override
+    public @NotNull String formatMessageThrown(
+            @NotNull final String id, @NotNull final II18nLang[] langs, @NonNull final Object... args)
+            throws I18nLocaleNotFoundException {
+        return this.format(null, id, langs, null, args, true);
+    }
+
+    @Override
+    public boolean formatTo(
+            @NotNull final StringBuilder sb, @NotNull final String id, @NotNull final II18nLang[] langs,
+            final Object... args) {
+        return this.formatTo(sb, null, id, langs, null, args, false);
+    }
+
+    @Override
+    public void formatToThrown(
+            @NotNull final StringBuilder sb, @NotNull final String id, @NotNull final II18nLang[] langs,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatTo(sb, null, id, langs, null, args, true);
+    }
+
+    @Override
+    public @Nullable String formatMessage(
+            @NotNull final I18nKey key, @NotNull final II18nLang[] langs, final Object... args) {
+        return this.format(key, key.getId(), langs, null, args, false);
+    }
+
+    @Override
+    public @NotNull String formatMessageThrown(
+            @NotNull final I18nKey key, @NotNull final II18nLang[] langs, final Object... args)
+            throws I18nLocaleNotFoundException {
+        return this.format(key, key.getId(), langs, null, args, true);
+    }
+
+    @Override
+    public boolean formatTo(
+            @NotNull final StringBuilder sb, @NotNull final I18nKey key, @NotNull final II18nLang[] langs,
+            final Object... args) {
+        return this.formatTo(sb, key, key.getId(), langs, null, args, false);
+    }
+
+    @Override
+    public void formatToThrown(
+            @NotNull final StringBuilder sb, @NotNull final I18nKey key, @NotNull final II18nLang[] langs,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatTo(sb, key, key.getId(), langs, null, args, true);
+    }
+
+    @Override
+    public @Nullable String formatMessage(
+            @NotNull final String id, @NotNull final LangChain chain, final Object... args) {
+        return this.format(null, id, null, chain.resolve(this.fallbackLang), args, false);
+    }
+
+    @Override
+    public @NotNull String formatMessageThrown(
+            @NotNull final String id, @NotNull final LangChain chain, final Object... args)
+            throws I18nLocaleNotFoundException {
+        return this.format(null, id, null, chain.resolve(this.fallbackLang), args, true);
+    }
+
+    @Override
+    public boolean formatTo(
+            @NotNull final StringBuilder sb, @NotNull final String id, @NotNull final LangChain chain,
+            final Object... args) {
+        return this.formatTo(sb, null, id, null, chain.resolve(this.fallbackLang), args, false);
+    }
+
+    @Override
+    public void formatToThrown(
+            @NotNull final StringBuilder sb, @NotNull final String id, @NotNull final LangChain chain,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatTo(sb, null, id, null, chain.resolve(this.fallbackLang), args, true);
+    }
+
+    @Override
+    public @Nullable String formatMessage(
+            @NotNull final I18nKey key, @NotNull final LangChain chain, final Object... args) {
+        return this.format(key, key.getId(), null, chain.resolve(this.fallbackLang), args, false);
+    }
+
+    @Override
+    public @NotNull String formatMessageThrown(
+            @NotNull final I18nKey key, @NotNull final LangChain chain, final Object... args)
+            throws I18nLocaleNotFoundException {
+        return this.format(key, key.getId(), null, chain.resolve(this.fallbackLang), args, true);
+    }
+
+    @Override
+    public boolean formatTo(
+            @NotNull final StringBuilder sb, @NotNull final I18nKey key, @NotNull final LangChain chain,
+            final Object... args) {
+        return this.formatTo(sb, key, key.getId(), null, chain.resolve(this.fallbackLang), args, false);
+    }
+
+    @Override
+    public void formatToThrown(
+            @NotNull final StringBuilder sb, @NotNull final I18nKey key, @NotNull final LangChain chain,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatTo(sb, key, key.getId(), null, chain.resolve(this.fallbackLang), args, true);
+    }
+
+    @Override
+    public boolean formatTo(
+            @NotNull final I18nUtf8Output out, @NotNull final String id, @NotNull final II18nLang[] langs,
+            final Object... args) {
+        return this.formatTo(out, null, id, langs, null, args, false);
+    }
+
+    @Override
+    public void formatToThrown(
+            @NotNull final I18nUtf8Output out, @NotNull final String id, @NotNull final II18nLang[] langs,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatTo(out, null, id, langs, null, args, true);
+    }
+
+    @Override
+    public boolean formatTo(
+            @NotNull final I18nUtf8Output out, @NotNull final I18nKey key, @NotNull final II18nLang[] langs,
+            final Object... args) {
+        return this.formatTo(out, key, key.getId(), langs, null, args, false);
+    }
+
+    @Override
+    public void formatToThrown(
+            @NotNull final I18nUtf8Output out, @NotNull final I18nKey key, @NotNull final II18nLang[] langs,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatTo(out, key, key.getId(), langs, null, args, true);
+    }
+
+    @Override
+    public boolean formatTo(
+            @NotNull final I18nUtf8Output out, @NotNull final String id, @NotNull final LangChain chain,
+            final Object... args) {
+        return this.formatTo(out, null, id, null, chain.resolve(this.fallbackLang), args, false);
+    }
+
+    @Override
+    public void formatToThrown(
+            @NotNull final I18nUtf8Output out, @NotNull final String id, @NotNull final LangChain chain,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatTo(out, null, id, null, chain.resolve(this.fallbackLang), args, true);
+    }
+
+    @Override
+    public boolean formatTo(
+            @NotNull final I18nUtf8Output out, @NotNull final I18nKey key, @NotNull final LangChain chain,
+            final Object... args) {
+        return this.formatTo(out, key, key.getId(), null, chain.resolve(this.fallbackLang), args, false);
+    }
+
+    @Override
+    public void formatToThrown(
+            @NotNull final I18nUtf8Output out, @NotNull final I18nKey key, @NotNull final LangChain chain,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatTo(out, key, key.getId(), null, chain.resolve(this.fallbackLang), args, true);
+    }
+
+    /**
+     * Renders a message into a new string.
+     *
+     * @param key   the key of the message, or {@code null} to resolve it from the id
+     * @param id    the id of the message
+     * @param langs the languages to look up, or {@code null} if a chain is given
+     * @param chain the resolved chain to look up, or {@code null} if languages are given
+     * @return the rendered message, or {@code null} if it is not found and not required
+     * @throws I18nLocaleNotFoundException if the message is required and not found
+     */
+    private @Nullable String format(@Nullable final I18nKey key, @NotNull final String id,
+                                    @Nullable final II18nLang[] langs, @Nullable final LangChain chain,
+                                    @Nullable final Object[] args, final boolean required)
+            throws I18nLocaleNotFoundException {
+        final boolean timed = this.isTimed();
+        final long start = timed ? System.nanoTime() : 0L;
+        final II18nCatalog catalog = this.getRenderCatalog();
+        final II18nTemplate template = this.findTemplate(catalog, key, id, langs, chain);
+        if (template == null) {
+            if (required) {
+                throw new I18nLocaleNotFoundException(toArray(langs, chain), id);
             }
-            log.debug("formatMessage: not found id: {}, lang: {}", id, lang);
-        }
-        if (i18n == null) {
-            log.debug("formatMessage: not found id: {}", id);
             return null;
         }
 
-        i18n = i18n.replace("\\n", "\n");
-
-
-        Matcher m;
-        while ((m = REGEX_I18N.matcher(i18n)).find()) {
-            i18n = m.replaceFirst(String.valueOf(this.formatMessage(m.group(1), langs)));
+        final String result = this.render(catalog, template, langs, chain, args, required);
+        if (timed) {
+            this.metrics.recordRender(System.nanoTime() - start);
         }
+        return result;
+    }
 
-        for (int i = 0; i < args.length; i++) {
-            if (!i18n.contains("<args[" + i + "]>")) {
-                continue;
+    /**
+     * Renders a message into the buffer.
+     *
+     * @return {@code true} if the message was appended, {@code false} if it is not found and not required
+     * @throws I18nLocaleNotFoundException if the message is required and not found
+     * @see #format(I18nKey, String, II18nLang[], LangChain, Object[], boolean)
+     */
+    private boolean formatTo(@NotNull final StringBuilder sb, @Nullable final I18nKey key, @NotNull final String id,
+                             @Nullable final II18nLang[] langs, @Nullable final LangChain chain,
+                             @Nullable final Object[] args, final boolean required)
+            throws I18nLocaleNotFoundException {
+        final boolean timed = this.isTimed();
+        final long start = timed ? System.nanoTime() : 0L;
+        final II18nCatalog catalog = this.getRenderCatalog();
+        final II18nTemplate template = this.findTemplate(catalog, key, id, langs, chain);
+        if (template == null) {
+            if (required) {
+                throw new I18nLocaleNotFoundException(toArray(langs, chain), id);
             }
+            return false;
+        }
 
-            if (args[i] instanceof II18nObject) {
-                args[i] = ((II18nObject) args[i]).build(this, langs);
+        this.append(sb, catalog, template, langs, chain, args, required, 0);
+        if (timed) {
+            this.metrics.recordRender(System.nanoTime() - start);
+        }
+        return true;
+    }
+
+    /**
+     * Renders a message into the output in UTF-8.
+     *
+     * @return {@code true} if the message was written, {@code false} if it is not found and not required
+     * @throws I18nLocaleNotFoundException if the message is required and not found
+     * @see #format(I18nKey, String, II18nLang[], LangChain, Object[], boolean)
+     */
+    private boolean formatTo(@NotNull final I18nUtf8Output out, @Nullable final I18nKey key, @NotNull final String id,
+                             @Nullable final II18nLang[] langs, @Nullable final LangChain chain,
+                             @Nullable final Object[] args, final boolean required)
+            throws I18nLocaleNotFoundException {
+        final boolean timed = this.isTimed();
+        final long start = timed ? System.nanoTime() : 0L;
+        final II18nCatalog catalog = this.getRenderCatalog();
+        final II18nTemplate template = this.findTemplate(catalog, key, id, langs, chain);
+        if (template == null) {
+            if (required) {
+                throw new I18nLocaleNotFoundException(toArray(langs, chain), id);
             }
+            return false;
+        }
 
-            i18n = i18n.replace("<args[" + i + "]>", String.valueOf(args[i]));
+        this.write(out, catalog, template, langs, chain, args, required, 0);
+        if (timed) {
+            this.metrics.recordRender(System.nanoTime() - start);
         }
+        return true;
+    }
 
-        return i18n;
+    private static @NotNull II18nLang[] toArray(@Nullable final II18nLang[] langs, @Nullable final LangChain chain) {
+        return chain != null ? chain.toArray() : langs;
     }
 
-    @Override
-    public @NotNull String formatMessageThrown(
-            @NotNull final String id, @NotNull final II18nLang[] langs, @NonNull final Object... args)
-            throws I18nLocaleNotFoundException {
-        log.debug("formatMessageThrown called with id: {}, langs: {}, args: {}", id, langs, Arrays.toString(args));
-        String i18n = null;
-        loop:
-        for (II18nLang lang : langs) {
-            if (lang.equalsId(II18nLang.FALLBACK)) {
-                if (this.fallbackLang == null) {
-                    continue;
+    /**
+     * Checks whether the render starting now should be timed.
+     * Nested renders are part of their parent's time and are not timed separately.
+     */
+    private boolean isTimed() {
+        return this.metricsEnabled && this.renderCatalog.get() == null;
+    }
+
+    private @NotNull II18nCatalog getRenderCatalog() {
+        final II18nCatalog catalog = this.renderCatalog.get();
+        return catalog != null ? catalog : this.entryMgr.getCatalog();
+    }
+
+    private @Nullable II18nTemplate findTemplate(@NotNull final II18nCatalog catalog,
+                                                 @Nullable final I18nKey key, @NotNull final String id,
+                                                 @Nullable final II18nLang[] langs,
+                                                 @Nullable final LangChain chain) {
+        final int size = chain != null ? chain.size() : langs.length;
+        boolean preferred = true;
+        for (int i = 0; i < size; i++) {
+            II18nLang lang;
+            if (chain != null) {
+                lang = chain.get(i);
+            } else {
+                lang = langs[i];
+                if (lang.equalsId(II18nLang.FALLBACK)) {
+                    if (this.fallbackLang == null) {
+                        continue;
+                    }
+                    lang = this.fallbackLang;
                 }
-                lang = this.fallbackLang;
             }
 
-            final II18nEntry[] entries = this.entryMgr.getEntries(lang);
-            for (final II18nEntry entry : entries) {
-                i18n = entry.getEntry(id);
-                if (i18n != null) {
-                    break loop;
+            // A key resolves its slot once per catalog for the whole chain
+            final II18nTemplate template = key != null
+                    ? catalog.getTemplate(lang, key)
+                    : catalog.getTemplate(lang, id);
+            if (this.metricsEnabled) {
+                this.metrics.recordLookup(lang, template != null);
+            }
+            if (template != null) {
+                if (this.metricsEnabled) {
+                    this.metrics.recordResolution(i);
                 }
-                log.debug("formatMessageThrown: not found id: {}, lang: {}, identifier: {}", id, lang, entry.getIdentifier());
+                // The inlined references were resolved in the language of the template,
+                // which is where the chain starts only if no language was tried before it
+                return preferred ? template : template.getUnlinked();
             }
-            log.debug("formatMessageThrown: not found id: {}, lang: {}", id, lang);
+            preferred = false;
         }
-        if (i18n == null) {
-            throw new I18nLocaleNotFoundException(langs, id);
+        if (this.metricsEnabled) {
+            this.metrics.recordResolution(-1);
+            this.metrics.recordMissing(id, toArray(langs, chain));
         }
+        return null;
+    }
 
-        i18n = i18n.replace("\\n", "\n");
+    private @NotNull String render(@NotNull final II18nCatalog catalog, @NotNull final II18nTemplate template,
+                                   @Nullable final II18nLang[] langs, @Nullable final LangChain chain,
+                                   @Nullable final Object[] args, final boolean required)
+            throws I18nLocaleNotFoundException {
+        final String constant = template.getConstant();
+        if (constant != null) {
+            return constant;
+        }
 
+        final StringBuilder sb = new StringBuilder(
+                template.getLiteralLength() + template.getSegmentCount() * ESTIMATED_SEGMENT_LENGTH);
+        this.append(sb, catalog, template, langs, chain, args, required, 0);
+        return sb.toString();
+    }
 
-        Matcher m;
-        while ((m = REGEX_I18N.matcher(i18n)).find()) {
-            i18n = m.replaceFirst(this.formatMessageThrown(m.group(1), langs));
+    /**
+     * Appends the rendered template to the buffer.
+     * References are rendered with the same arguments as the referencing template,
+     * so an argument slot inside a referenced message is filled by the caller's arguments.
+     *
+     * A reference nested deeper than {@link #MAX_REFERENCE_DEPTH} is left as written, unless the message is required.
+     *
+     * @param depth the number of references being rendered around the template
+     * @throws I18nReferenceCycleException if the message is required
+     *                                     and the references nest deeper than {@link #MAX_REFERENCE_DEPTH}
+     */
+    private void append(@NotNull final StringBuilder sb, @NotNull final II18nCatalog catalog,
+                        @NotNull final II18nTemplate template,
+                        @Nullable final II18nLang[] langs, @Nullable final LangChain chain,
+                        @Nullable final Object[] args, final boolean required, final int depth)
+            throws I18nLocaleNotFoundException {
+        final String constant = template.getConstant();
+        if (constant != null) {
+            sb.append(constant);
+            return;
         }
 
-        for (int i = 0; i < args.length; i++) {
-            if (!i18n.contains("<args[" + i + "]>")) {
-                continue;
+        final int count = template.getSegmentCount();
+        for (int i = 0; i < count; i++) {
+            switch (template.getSegmentType(i)) {
+                case II18nTemplate.ARG: {
+                    final int argIndex = template.getArgIndex(i);
+                    if (args == null || argIndex >= args.length) {
+                        sb.append(template.getSegmentText(i));
+                        break;
+                    }
+
+                    final Object arg = args[argIndex];
+                    if (arg instanceof II18nObject) {
+                        this.appendNested(sb, catalog, (II18nObject) arg, langs, chain, required);
+                    } else {
+                        sb.append(arg);
+                    }
+                    break;
+                }
+                case II18nTemplate.REF: {
+                    final String refId = template.getSegmentText(i);
+                    if (depth >= MAX_REFERENCE_DEPTH) {
+                        this.stopCycle(refId, langs, chain, required);
+                        sb.append(REF_PREFIX).append(refId).append('>');
+                        break;
+                    }
+                    final II18nTemplate ref = this.findTemplate(catalog, null, refId, langs, chain);
+                    if (ref != null) {
+                        this.append(sb, catalog, ref, langs, chain, args, required, depth + 1);
+                    } else if (required) {
+                        throw new I18nLocaleNotFoundException(toArray(langs, chain), refId);
+                    } else {
+                        sb.append("null");
+                    }
+                    break;
+                }
+                default:
+                    sb.append(template.getSegmentText(i));
+                    break;
             }
+        }
+    }
 
-            if (args[i] instanceof II18nObject) {
-                args[i] = ((II18nObject) args[i]).buildRequired(this, langs);
+    /**
+     * Stops a render at a reference nested too deeply, which only a cycle across the languages of the chain reaches.
+     * The reference is then rendered as written.
+     *
+     * @throws I18nReferenceCycleException if the message is required
+     */
+    private void stopCycle(@NotNull final String refId, @Nullable final II18nLang[] langs,
+                           @Nullable final LangChain chain, final boolean required) {
+        if (required) {
+            throw new I18nReferenceCycleException(toArray(langs, chain), refId);
+        }
+        if (this.metricsEnabled) {
+            this.metrics.recordReferenceCycle(refId, toArray(langs, chain));
+        }
+    }
+
+    private void appendNested(@NotNull final StringBuilder sb, @NotNull final II18nCatalog catalog,
+                              @NotNull final II18nObject i18n,
+                              @Nullable final II18nLang[] langs, @Nullable final LangChain chain,
+                              final boolean required)
+            throws I18nLocaleNotFoundException {
+        final II18nCatalog previous = this.renderCatalog.get();
+        this.renderCatalog.set(catalog);
+        try {
+            if (chain != null) {
+                if (required) {
+                    i18n.buildRequiredTo(sb, this, chain);
+                } else if (!i18n.buildTo(sb, this, chain)) {
+                    sb.append("null");
+                }
+            } else if (required) {
+                i18n.buildRequiredTo(sb, this, langs);
+            } else if (!i18n.buildTo(sb, this, langs)) {
+                sb.append("null");
+            }
+        } finally {
+            if (previous == null) {
+                this.renderCatalog.remove();
+            } else {
+                this.renderCatalog.set(previous);
             }
+        }
+    }
+
+    /**
+     * Writes the rendered template to the output in UTF-8.
+     * The literals are written as the bytes encoded by the template, so only the arguments are encoded here.
+     *
+     * @see #append(StringBuilder, II18nCatalog, II18nTemplate, II18nLang[], LangChain, Object[], boolean, int)
+     */
+    private void write(@NotNull final I18nUtf8Output out, @NotNull final II18nCatalog catalog,
+                       @NotNull final II18nTemplate template,
+                       @Nullable final II18nLang[] langs, @Nullable final LangChain chain,
+                       @Nullable final Object[] args, final boolean required, final int depth)
+            throws I18nLocaleNotFoundException {
+        final int count = template.getSegmentCount();
+        for (int i = 0; i < count; i++) {
+            switch (template.getSegmentType(i)) {
+                case II18nTemplate.ARG: {
+                    final int argIndex = template.getArgIndex(i);
+                    if (args == null || argIndex >= args.length) {
+                        template.writeUtf8(i, out);
+                        break;
+                    }
 
-            i18n = i18n.replace("<args[" + i + "]>", String.valueOf(args[i]));
+                    final Object arg = args[argIndex];
+                    if (arg instanceof II18nObject) {
+                        this.writeNested(out, catalog, (II18nObject) arg, langs, chain, required);
+                    } else if (arg instanceof CharSequence) {
+                        out.write((CharSequence) arg);
+                    } else {
+                        out.write(String.valueOf(arg));
+                    }
+                    break;
+                }
+                case II18nTemplate.REF: {
+                    final String refId = template.getSegmentText(i);
+                    if (depth >= MAX_REFERENCE_DEPTH) {
+                        this.stopCycle(refId, langs, chain, required);
+                        out.write(REF_PREFIX);
+                        out.write(refId);
+                        out.write(">");
+                        break;
+                    }
+                    final II18nTemplate ref = this.findTemplate(catalog, null, refId, langs, chain);
+                    if (ref != null) {
+                        this.write(out, catalog, ref, langs, chain, args, required, depth + 1);
+                    } else if (required) {
+                        throw new I18nLocaleNotFoundException(toArray(langs, chain), refId);
+                    } else {
+                        out.write("null");
+                    }
+                    break;
+                }
+                default:
+                    template.writeUtf8(i, out);
+                    break;
+            }
         }
+    }
 
-        return i18n;
+    private void writeNested(@NotNull final I18nUtf8Output out, @NotNull final II18nCatalog catalog,
+                             @NotNull final II18nObject i18n,
+                             @Nullable final II18nLang[] langs, @Nullable final LangChain chain,
+                             final boolean required)
+            throws I18nLocaleNotFoundException {
+        final II18nCatalog previous = this.renderCatalog.get();
+        this.renderCatalog.set(catalog);
+        try {
+            if (chain != null) {
+                if (required) {
+                    i18n.buildRequiredTo(out, this, chain);
+                } else if (!i18n.buildTo(out, this, chain)) {
+                    out.write("null");
+                }
+            } else if (required) {
+                i18n.buildRequiredTo(out, this, langs);
+            } else if (!i18n.buildTo(out, this, langs)) {
+                out.write("null");
+            }
+        } finally {
+            if (previous == null) {
+                this.renderCatalog.remove();
+            } else {
+                this.renderCatalog.set(previous);
+            }
+        }
     }
 }
@@ -32,6 +32,14 @@ private I18nManager(@NotNull final II18nManagerConfig config,
                         @NotNull final IEntryManager entryMgr, @NotNull final II18nFormatter formatter) {
         this.entryMgr = entryMgr;
         this.entryMgr.load(config.getLangs());
+        if (entryMgr instanceof LazyEntryManager && config.getPrefetchLangs().length > 0) {
+            ((LazyEntryManager) entryMgr).prefetch(config.getPrefetchLangs())
+                    .exceptionally(e -> {
+                        // A language that failed is loaded again the first time it is requested
+                        log.warn("Failed to prefetch the localizations.", e);
+                        return null;
+                    });
+        }
         this.formatter = formatter;
         this.formatter.setFallbackLang(config.getFallbackLang());
     }
@@ -40,14 +48,22 @@ private I18nManager(@NotNull final II18nManagerConfig config,
      * Creates a new {@link II18nManager} instance using the specified configuration.
      * This method initializes the necessary parts for managing and formatting
      * internationalized entries, such as the entry manager and formatter.
+     * If the configuration enables lazy loading, the languages are only registered
+     * and loaded the first time they are requested, and the prefetched languages are loaded
+     * on the prefetch executor, which is kept apart from the load executor.
+     * The metrics of the configuration are reported to by both the entry manager and the formatter.
      *
      * @param config the configuration for the i18n manager.
      *               Must not be {@code null}.
      * @return a new {@link II18nManager} instance configured using the provided parameters.
      */
     public static @NotNull II18nManager create(@NotNull final II18nManagerConfig config) {
-        final IEntryManager entryMgr = new EntryManager();
-        final II18nFormatter formatter = new I18nFormatter(entryMgr);
+        final EntryManager loader = new EntryManager(
+                config.getLoadExecutor(), config.getMetrics(), config.isOffHeap());
+        final IEntryManager entryMgr = config.isLazyLoad()
+                ? new LazyEntryManager(loader, config.getPrefetchExecutor())
+                : loader;
+        final II18nFormatter formatter = new I18nFormatter(entryMgr, config.getMetrics());
         return new I18nManager(config, entryMgr, formatter);
     }
 
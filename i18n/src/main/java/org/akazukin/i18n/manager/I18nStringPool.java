@@ -0,0 +1,131 @@
+package org.akazukin.i18n.manager;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.akazukin.i18n.manager.data.II18nTemplate;
+import org.akazukin.i18n.utils.I18nTemplateUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A pool that deduplicates the ids and values of the entries held by one entry manager.
+ * <p>
+ * Every id is interned in a shared key table, so an id repeated in every language and bundle is stored once.
+ * Every value is compiled once and the template is shared by all entries with the same value,
+ * which covers brand names, argument-only values and untranslated copies.
+ * <p>
+ * The pool only holds weak references, so strings and templates no longer used by any entry
+ * are reclaimed after a reload or a removal.
+ * This class is thread-safe.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public final class I18nStringPool {
+    Map<String, WeakReference<String>> keys = new WeakHashMap<>();
+    Map<String, WeakReference<II18nTemplate>> templates = new WeakHashMap<>();
+
+    /**
+     * Returns the canonical instance of the specified id.
+     *
+     * @param key the id to intern. Must not be {@code null}.
+     * @return the pooled instance equal to the id
+     */
+    public synchronized @NotNull String intern(@NotNull final String key) {
+        final WeakReference<String> ref = this.keys.get(key);
+        final String pooled = ref != null ? ref.get() : null;
+        if (pooled != null) {
+            return pooled;
+        }
+        this.keys.put(key, new WeakReference<>(key));
+        return key;
+    }
+
+    /**
+     * Returns the shared template of the specified value, compiling it if it is not pooled yet.
+     *
+     * @param source the raw value. Must not be {@code null}.
+     * @return the pooled template whose source is equal to the value
+     */
+    public @NotNull II18nTemplate getTemplate(@NotNull final String source) {
+        synchronized (this) {
+            final II18nTemplate pooled = this.getPooledTemplate(source);
+            if (pooled != null) {
+                return pooled;
+            }
+        }
+
+        // Compile outside the lock, so concurrent loads do not wait on each other
+        return this.intern(I18nTemplateUtils.compile(source));
+    }
+
+    /**
+     * Returns the shared template with the same source as the specified template,
+     * pooling the specified one if none is pooled yet.
+     *
+     * @param template the template to intern. Must not be {@code null}.
+     * @return the pooled template whose source is equal to the source of the template
+     */
+    public synchronized @NotNull II18nTemplate intern(@NotNull final II18nTemplate template) {
+        final II18nTemplate pooled = this.getPooledTemplate(template.getSource());
+        if (pooled != null) {
+            return pooled;
+        }
+        this.templates.put(template.getSource(), new WeakReference<>(template));
+        return template;
+    }
+
+    /**
+     * Builds a template map from the specified raw values with every id and template deduplicated.
+     *
+     * @param entries the raw values by id. Must not be {@code null}.
+     * @return a new map of the pooled templates by pooled id
+     */
+    public @NotNull Map<String, II18nTemplate> compile(@NotNull final Map<String, String> entries) {
+        final Map<String, II18nTemplate> result = new HashMap<>((int) (entries.size() / 0.75f) + 1);
+        for (final Map.Entry<String, String> e : entries.entrySet()) {
+            result.put(this.intern(e.getKey()), this.getTemplate(e.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Builds a template map from the specified templates with every id and template deduplicated.
+     *
+     * @param templates the templates by id. Must not be {@code null}.
+     * @return a new map of the pooled templates by pooled id
+     */
+    public @NotNull Map<String, II18nTemplate> intern(@NotNull final Map<String, II18nTemplate> templates) {
+        final Map<String, II18nTemplate> result = new HashMap<>((int) (templates.size() / 0.75f) + 1);
+        for (final Map.Entry<String, II18nTemplate> e : templates.entrySet()) {
+            result.put(this.intern(e.getKey()), this.intern(e.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of ids currently pooled.
+     *
+     * @return the number of pooled ids
+     */
+    public synchronized int getKeyCount() {
+        return this.keys.size();
+    }
+
+    /**
+     * Returns the number of templates currently pooled.
+     *
+     * @return the number of pooled templates
+     */
+    public synchronized int getTemplateCount() {
+        return this.templates.size();
+    }
+
+    private @Nullable II18nTemplate getPooledTemplate(@NotNull final String source) {
+        final WeakReference<II18nTemplate> ref = this.templates.get(source);
+        return ref != null ? ref.get() : null;
+    }
+}
@@ -0,0 +1,187 @@
+package org.akazukin.i18n.manager;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * A destination of UTF-8 encoded messages, writing either into a byte buffer or through an output stream.
+ * <p>
+ * Formatters write the pre-encoded literals of a template as they are and encode only the arguments,
+ * char by char without building an intermediate string, so a message bound for the wire is never held as a string.
+ * <p>
+ * An output of a buffer writes at the position of the buffer and throws a {@link BufferOverflowException}
+ * when the buffer is full, leaving the part of the message written so far in the buffer.
+ * An output of a stream collects the bytes in an internal buffer,
+ * which is written to the stream when it is full and by {@link #flush()}.
+ * A failure of the stream is thrown as an {@link UncheckedIOException}.
+ * <p>
+ * This class is not thread-safe.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public final class I18nUtf8Output {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    ByteBuffer buf;
+    @Nullable
+    OutputStream os;
+
+    private I18nUtf8Output(@NotNull final ByteBuffer buf, @Nullable final OutputStream os) {
+        this.buf = buf;
+        this.os = os;
+    }
+
+    /**
+     * Creates an output that writes into the buffer, starting at its position.
+     *
+     * @param buf the buffer to write into. Must not be {@code null}.
+     * @return a new output. Never {@code null}.
+     */
+    public static @NotNull I18nUtf8Output of(@NotNull final ByteBuffer buf) {
+        return new I18nUtf8Output(buf, null);
+    }
+
+    /**
+     * Creates an output that writes through the stream.
+     * The bytes are buffered, so {@link #flush()} must be called once the messages are written.
+     *
+     * @param os the stream to write to. It is not closed by the output.
+     * @return a new output. Never {@code null}.
+     */
+    public static @NotNull I18nUtf8Output of(@NotNull final OutputStream os) {
+        return new I18nUtf8Output(ByteBuffer.allocate(STREAM_BUFFER_SIZE), os);
+    }
+
+    /**
+     * Writes bytes that are already encoded in UTF-8.
+     *
+     * @param bytes the bytes to write. Must not be {@code null}.
+     */
+    public void write(@NotNull final byte[] bytes) {
+        if (this.os == null || bytes.length <= this.buf.remaining()) {
+            this.buf.put(bytes);
+            return;
+        }
+
+        this.drain();
+        if (bytes.length <= this.buf.remaining()) {
+            this.buf.put(bytes);
+            return;
+        }
+        try {
+            this.os.write(bytes);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of the buffer, which are already encoded in UTF-8.
+     * The position of the buffer is advanced to its limit.
+     *
+     * @param src the bytes to write. Must not be {@code null}.
+     */
+    public void write(@NotNull final ByteBuffer src) {
+        if (this.os == null) {
+            this.buf.put(src);
+            return;
+        }
+
+        while (src.remaining() > this.buf.remaining()) {
+            final int limit = src.limit();
+            src.limit(src.position() + this.buf.remaining());
+            this.buf.put(src);
+            src.limit(limit);
+            this.drain();
+        }
+        this.buf.put(src);
+    }
+
+    /**
+     * Encodes the text in UTF-8 and writes it.
+     * An unpaired surrogate is written as {@code ?}, as {@link String#getBytes(java.nio.charset.Charset)} does.
+     *
+     * @param text the text to write. Must not be {@code null}.
+     */
+    public void write(@NotNull final CharSequence text) {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                this.ensure(1);
+                this.buf.put((byte) c);
+            } else if (c < 0x800) {
+                this.ensure(2);
+                this.buf.put((byte) (0xC0 | c >> 6));
+                this.buf.put((byte) (0x80 | c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                this.ensure(3);
+                this.buf.put((byte) (0xE0 | c >> 12));
+                this.buf.put((byte) (0x80 | c >> 6 & 0x3F));
+                this.buf.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, text.charAt(++i));
+                this.ensure(4);
+                this.buf.put((byte) (0xF0 | cp >> 18));
+                this.buf.put((byte) (0x80 | cp >> 12 & 0x3F));
+                this.buf.put((byte) (0x80 | cp >> 6 & 0x3F));
+                this.buf.put((byte) (0x80 | cp & 0x3F));
+            } else {
+                this.ensure(1);
+                this.buf.put((byte) '?');
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the stream and flushes it.
+     * This does nothing for an output of a buffer.
+     */
+    public void flush() {
+        if (this.os == null) {
+            return;
+        }
+
+        this.drain();
+        try {
+            this.os.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Makes room for the bytes of one char, writing the buffered bytes to the stream if needed,
+     * so a char is never split by a full buffer.
+     */
+    private void ensure(final int bytes) {
+        if (this.buf.remaining() >= bytes) {
+            return;
+        }
+        if (this.os == null) {
+            throw new BufferOverflowException();
+        }
+        this.drain();
+    }
+
+    private void drain() {
+        if (this.buf.position() == 0) {
+            return;
+        }
+
+        try {
+            this.os.write(this.buf.array(), 0, this.buf.position());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.buf.clear();
+    }
+}
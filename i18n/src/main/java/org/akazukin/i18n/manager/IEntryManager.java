@@ -1,17 +1,39 @@
 package org.akazukin.i18n.manager;
 
 import org.akazukin.i18n.exception.IllegalI18nKeyException;
+import org.akazukin.i18n.manager.data.I18nKey;
+import org.akazukin.i18n.manager.data.II18nCatalog;
 import org.akazukin.i18n.manager.data.II18nEntry;
 import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.II18nTemplate;
 import org.akazukin.resource.identifier.IResourceIdentifier;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Interface for managing internationalization (i18n) entries across different languages.
  * This interface provides the core functionality for loading, storing, and managing
  * localized data entries for various locales in an i18n system.
+ * <p>
+ * Every load and reload has an asynchronous variant, which runs the blocking method on a caller-supplied executor,
+ * so a thread that must not stall, such as the main thread of a server, can reload the language files.
+ * Implementations that publish immutable snapshots, such as {@link EntryManager},
+ * keep serving the previous catalog until the new one is published at once.
+ * <p>
+ * The executor of an asynchronous variant must not be the executor a manager reads resources on,
+ * such as the load executor of {@link EntryManager}, if that executor is bounded.
+ * The blocking method waits for those reads while holding a thread of the pool,
+ * so once every thread waits, the reads are never run and the load deadlocks.
  */
 public interface IEntryManager {
+    /**
+     * The version of a manager that cannot tell when its entries change, see {@link #getVersion()}.
+     */
+    long UNVERSIONED = -1L;
+
     /**
      * Loads localization data for the specified language.
      * Creates a new {@link II18nEntry} and loads its content from the
@@ -53,6 +75,64 @@ public interface IEntryManager {
      */
     void reload();
 
+    /**
+     * Loads localization data for the specified languages on the executor.
+     *
+     * @param executor the executor to load on, other than the executor the resources are read on.
+     *                 Must not be {@code null}.
+     * @param langs    the languages to load. Must not be {@code null}.
+     * @return a future completed once the loaded data is visible,
+     * or completed exceptionally with the exception of {@link #load(II18nLang...)}
+     * @see #load(II18nLang...)
+     */
+    default @NotNull CompletableFuture<Void> loadAsync(@NotNull final Executor executor,
+                                                       @NotNull final II18nLang... langs) {
+        return CompletableFuture.runAsync(() -> this.load(langs), executor);
+    }
+
+    /**
+     * Loads the localization data of the specified resource for every loaded language on the executor.
+     *
+     * @param executor   the executor to load on, other than the executor the resources are read on.
+     *                   Must not be {@code null}.
+     * @param identifier the base identifier of the resource to load. Must not be {@code null}.
+     * @return a future completed once the loaded data is visible,
+     * or completed exceptionally with the exception of {@link #load(IResourceIdentifier)}
+     * @see #load(IResourceIdentifier)
+     */
+    default @NotNull CompletableFuture<Void> loadAsync(@NotNull final Executor executor,
+                                                       @NotNull final IResourceIdentifier identifier) {
+        return CompletableFuture.runAsync(() -> this.load(identifier), executor);
+    }
+
+    /**
+     * Reloads localization data for the specified language on the executor.
+     *
+     * @param executor the executor to reload on, other than the executor the resources are read on.
+     *                 Must not be {@code null}.
+     * @param lang     the language to reload. Must not be {@code null}.
+     * @return a future completed once the reloaded data is visible,
+     * or completed exceptionally with the exception of {@link #reload(II18nLang)}
+     * @see #reload(II18nLang)
+     */
+    default @NotNull CompletableFuture<Void> reloadAsync(@NotNull final Executor executor,
+                                                         @NotNull final II18nLang lang) {
+        return CompletableFuture.runAsync(() -> this.reload(lang), executor);
+    }
+
+    /**
+     * Reloads all currently loaded entries on the executor.
+     *
+     * @param executor the executor to reload on, other than the executor the resources are read on.
+     *                 Must not be {@code null}.
+     * @return a future completed once the reloaded data is visible,
+     * or completed exceptionally with the exception of {@link #reload()}
+     * @see #reload()
+     */
+    default @NotNull CompletableFuture<Void> reloadAsync(@NotNull final Executor executor) {
+        return CompletableFuture.runAsync(this::reload, executor);
+    }
+
     /**
      * Retrieves all distinct languages associated with the current collection of i18n entries.
      * Each language is constructed from the {@link II18nEntry#getLang()} method of the entries.
@@ -67,18 +147,103 @@ public interface IEntryManager {
     void removeEntry(@NotNull IResourceIdentifier identifier, @NotNull II18nLang lang);
 
     /**
-     * Retrieves the i18n entry for the specified language.
-     * Returns the entry containing all localized strings for the given language.
+     * Retrieves the i18n entries for the specified language.
+     * The entries are ordered by precedence, so an entry earlier in the array
+     * takes precedence over the later ones when they define the same id.
+     * <p>
+     * The returned array may be shared between calls and must not be modified.
      *
      * @param lang the language to retrieve. Must not be {@code null}.
-     * @return the i18n entry for the specified language, or {@code null} if no entry exists
+     * @return the i18n entries for the specified language. Never {@code null}, but may be empty.
+     */
+    @NotNull II18nEntry[] getEntries(@NotNull II18nLang lang);
+
+    /**
+     * Retrieves the compiled template of the specified id for the specified language.
+     * The entries of the language are consulted in the order of {@link #getEntries(II18nLang)}.
+     *
+     * @param lang the language to look up. Must not be {@code null}.
+     * @param id   the id of the message. Must not be {@code null}.
+     * @return the compiled template, or {@code null} if no entry of the language defines the id
+     */
+    default @Nullable II18nTemplate getTemplate(@NotNull final II18nLang lang, @NotNull final String id) {
+        for (final II18nEntry entry : this.getEntries(lang)) {
+            final II18nTemplate template = entry.getTemplate(id);
+            if (template != null) {
+                return template;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the specified id to a key handle.
+     * Rendering through the key looks the message up by its slot instead of hashing the id.
+     *
+     * @param id the id of the message. Must not be {@code null}.
+     * @return the key of the id. Never {@code null}.
+     */
+    default @NotNull I18nKey getKey(@NotNull final String id) {
+        return I18nKey.of(id);
+    }
+
+    /**
+     * Retrieves a consistent view of the entries held by this manager.
+     * <p>
+     * Implementations that publish immutable snapshots return the current snapshot,
+     * which never changes even if the manager is loaded or reloaded afterward.
+     * The default implementation returns a live view that delegates to this manager.
+     *
+     * @return the catalog of this manager. Must not be {@code null}.
+     */
+    default @NotNull II18nCatalog getCatalog() {
+        final IEntryManager entryMgr = this;
+        return new II18nCatalog() {
+            @Override
+            public @NotNull II18nEntry[] getEntries(@NotNull final II18nLang lang) {
+                return entryMgr.getEntries(lang);
+            }
+
+            @Override
+            public @Nullable II18nTemplate getTemplate(@NotNull final II18nLang lang, @NotNull final String id) {
+                return entryMgr.getTemplate(lang, id);
+            }
+
+            @Override
+            public @NotNull II18nEntry[] getEntries() {
+                return entryMgr.getEntries();
+            }
+
+            @Override
+            public @NotNull II18nLang[] getLangs() {
+                return entryMgr.getLangs();
+            }
+
+            @Override
+            public boolean hasEntry(@NotNull final II18nLang lang) {
+                return entryMgr.hasEntry(lang);
+            }
+        };
+    }
+
+    /**
+     * Retrieves the version of the entries held by this manager.
+     * The version changes whenever any entry is loaded, reloaded, put or removed,
+     * so anything derived from the entries, such as a rendered message, is current as long as the version is.
+     * <p>
+     * The default implementation returns {@link #UNVERSIONED}, which tells that changes cannot be detected,
+     * so nothing derived from the entries of this manager is cached.
+     *
+     * @return the version, or {@link #UNVERSIONED} if the changes of the entries are not tracked
      */
-    // TODO fix javadoc
-    II18nEntry[] getEntries(@NotNull II18nLang lang);
+    default long getVersion() {
+        return UNVERSIONED;
+    }
 
     /**
      * Stores or updates an i18n entry in the manager.
-     * If an entry for the same language already exists, it will be replaced.
+     * If an entry for the same language and identifier already exists, it will be replaced
+     * and keeps its precedence. Otherwise, the entry takes the lowest precedence of its language.
      * This method allows programmatic addition of localization entries.
      *
      * @param entry the entry to store. Must not be {@code null}.
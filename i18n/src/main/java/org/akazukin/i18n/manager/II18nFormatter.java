@@ -1,6 +1,9 @@
 package org.akazukin.i18n.manager;
 
+import org.akazukin.i18n.exception.I18nLocaleNotFoundException;
+import org.akazukin.i18n.manager.data.I18nKey;
 import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.LangChain;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -56,4 +59,397 @@ public interface II18nFormatter {
      */
     @NotNull String formatMessageThrown(
             @NotNull String id, @NotNull II18nLang[] langs, Object... args);
+
+    /**
+     * Formats a message and appends it to the specified buffer.
+     * This method behaves like {@link #formatMessage(String, II18nLang[], Object...)},
+     * but writes the message straight into the buffer instead of returning a new string.
+     * If no translation is found, nothing is appended.
+     *
+     * @param sb    the buffer to append the message to
+     * @param id    the message identifier to look up
+     * @param langs array of preferred languages in order of preference
+     * @param args  optional arguments for message formatting
+     * @return {@code true} if the message was appended, {@code false} if the message ID is not found
+     */
+    default boolean formatTo(
+            @NotNull final StringBuilder sb, @NotNull final String id, @NotNull final II18nLang[] langs,
+            final Object... args) {
+        final String result = this.formatMessage(id, langs, args);
+        if (result == null) {
+            return false;
+        }
+        sb.append(result);
+        return true;
+    }
+
+    /**
+     * Formats a message and appends it to the specified buffer.
+     * This method behaves like {@link #formatMessageThrown(String, II18nLang[], Object...)},
+     * but writes the message straight into the buffer instead of returning a new string.
+     * If an exception is thrown, the buffer may already contain a part of the message.
+     *
+     * @param sb    the buffer to append the message to
+     * @param id    the message identifier to look up
+     * @param langs array of preferred languages in order of preference
+     * @param args  optional arguments for message formatting
+     * @throws I18nLocaleNotFoundException if the message ID is not found
+     */
+    default void formatToThrown(
+            @NotNull final StringBuilder sb, @NotNull final String id, @NotNull final II18nLang[] langs,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        sb.append(this.formatMessageThrown(id, langs, args));
+    }
+
+    /**
+     * Formats a message using the specified key and language preferences.
+     * This method behaves like {@link #formatMessage(String, II18nLang[], Object...)},
+     * but implementations may look the message up by the slot of the key instead of hashing its id.
+     *
+     * @param key   the key of the message to look up
+     * @param langs array of preferred languages in order of preference
+     * @param args  optional arguments for message formatting
+     * @return the formatted message, or null if the message is not found
+     */
+    default @Nullable String formatMessage(
+            @NotNull final I18nKey key, @NotNull final II18nLang[] langs, final Object... args) {
+        return this.formatMessage(key.getId(), langs, args);
+    }
+
+    /**
+     * Formats a message using the specified key and language preferences.
+     * This method behaves like {@link #formatMessageThrown(String, II18nLang[], Object...)},
+     * but implementations may look the message up by the slot of the key instead of hashing its id.
+     *
+     * @param key   the key of the message to look up
+     * @param langs array of preferred languages in order of preference
+     * @param args  optional arguments for message formatting
+     * @return the formatted message (never null)
+     * @throws I18nLocaleNotFoundException if the message is not found
+     */
+    default @NotNull String formatMessageThrown(
+            @NotNull final I18nKey key, @NotNull final II18nLang[] langs, final Object... args)
+            throws I18nLocaleNotFoundException {
+        return this.formatMessageThrown(key.getId(), langs, args);
+    }
+
+    /**
+     * Formats a message and appends it to the specified buffer.
+     * This method behaves like {@link #formatTo(StringBuilder, String, II18nLang[], Object...)},
+     * but implementations may look the message up by the slot of the key instead of hashing its id.
+     *
+     * @param sb    the buffer to append the message to
+     * @param key   the key of the message to look up
+     * @param langs array of preferred languages in order of preference
+     * @param args  optional arguments for message formatting
+     * @return {@code true} if the message was appended, {@code false} if the message is not found
+     */
+    default boolean formatTo(
+            @NotNull final StringBuilder sb, @NotNull final I18nKey key, @NotNull final II18nLang[] langs,
+            final Object... args) {
+        return this.formatTo(sb, key.getId(), langs, args);
+    }
+
+    /**
+     * Formats a message and appends it to the specified buffer.
+     * This method behaves like {@link #formatToThrown(StringBuilder, String, II18nLang[], Object...)},
+     * but implementations may look the message up by the slot of the key instead of hashing its id.
+     *
+     * @param sb    the buffer to append the message to
+     * @param key   the key of the message to look up
+     * @param langs array of preferred languages in order of preference
+     * @param args  optional arguments for message formatting
+     * @throws I18nLocaleNotFoundException if the message is not found
+     */
+    default void formatToThrown(
+            @NotNull final StringBuilder sb, @NotNull final I18nKey key, @NotNull final II18nLang[] langs,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatToThrown(sb, key.getId(), langs, args);
+    }
+
+    /**
+     * Formats a message using the specified message ID and language chain.
+     * This method behaves like {@link #formatMessage(String, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param id    the message identifier to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @return the formatted message, or null if the message ID is not found
+     */
+    default @Nullable String formatMessage(
+            @NotNull final String id, @NotNull final LangChain chain, final Object... args) {
+        return this.formatMessage(id, chain.toArray(), args);
+    }
+
+    /**
+     * Formats a message using the specified message ID and language chain.
+     * This method behaves like {@link #formatMessageThrown(String, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param id    the message identifier to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @return the formatted message (never null)
+     * @throws I18nLocaleNotFoundException if the message ID is not found
+     */
+    default @NotNull String formatMessageThrown(
+            @NotNull final String id, @NotNull final LangChain chain, final Object... args)
+            throws I18nLocaleNotFoundException {
+        return this.formatMessageThrown(id, chain.toArray(), args);
+    }
+
+    /**
+     * Formats a message and appends it to the specified buffer.
+     * This method behaves like {@link #formatTo(StringBuilder, String, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param sb    the buffer to append the message to
+     * @param id    the message identifier to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @return {@code true} if the message was appended, {@code false} if the message ID is not found
+     */
+    default boolean formatTo(
+            @NotNull final StringBuilder sb, @NotNull final String id, @NotNull final LangChain chain,
+            final Object... args) {
+        return this.formatTo(sb, id, chain.toArray(), args);
+    }
+
+    /**
+     * Formats a message and appends it to the specified buffer.
+     * This method behaves like {@link #formatToThrown(StringBuilder, String, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param sb    the buffer to append the message to
+     * @param id    the message identifier to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @throws I18nLocaleNotFoundException if the message ID is not found
+     */
+    default void formatToThrown(
+            @NotNull final StringBuilder sb, @NotNull final String id, @NotNull final LangChain chain,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatToThrown(sb, id, chain.toArray(), args);
+    }
+
+    /**
+     * Formats a message using the specified key and language chain.
+     * This method behaves like {@link #formatMessage(I18nKey, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param key   the key of the message to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @return the formatted message, or null if the message is not found
+     */
+    default @Nullable String formatMessage(
+            @NotNull final I18nKey key, @NotNull final LangChain chain, final Object... args) {
+        return this.formatMessage(key, chain.toArray(), args);
+    }
+
+    /**
+     * Formats a message using the specified key and language chain.
+     * This method behaves like {@link #formatMessageThrown(I18nKey, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param key   the key of the message to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @return the formatted message (never null)
+     * @throws I18nLocaleNotFoundException if the message is not found
+     */
+    default @NotNull String formatMessageThrown(
+            @NotNull final I18nKey key, @NotNull final LangChain chain, final Object... args)
+            throws I18nLocaleNotFoundException {
+        return this.formatMessageThrown(key, chain.toArray(), args);
+    }
+
+    /**
+     * Formats a message and appends it to the specified buffer.
+     * This method behaves like {@link #formatTo(StringBuilder, I18nKey, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param sb    the buffer to append the message to
+     * @param key   the key of the message to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @return {@code true} if the message was appended, {@code false} if the message is not found
+     */
+    default boolean formatTo(
+            @NotNull final StringBuilder sb, @NotNull final I18nKey key, @NotNull final LangChain chain,
+            final Object... args) {
+        return this.formatTo(sb, key, chain.toArray(), args);
+    }
+
+    /**
+     * Formats a message and appends it to the specified buffer.
+     * This method behaves like {@link #formatToThrown(StringBuilder, I18nKey, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param sb    the buffer to append the message to
+     * @param key   the key of the message to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @throws I18nLocaleNotFoundException if the message is not found
+     */
+    default void formatToThrown(
+            @NotNull final StringBuilder sb, @NotNull final I18nKey key, @NotNull final LangChain chain,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatToThrown(sb, key, chain.toArray(), args);
+    }
+
+    /**
+     * Formats a message and writes it to the specified output in UTF-8.
+     * This method behaves like {@link #formatTo(StringBuilder, String, II18nLang[], Object...)},
+     * but implementations may write the literals of the template as pre-encoded bytes
+     * and encode only the arguments, instead of encoding the whole message as a string.
+     * If no translation is found, nothing is written.
+     *
+     * @param out   the output to write the message to
+     * @param id    the message identifier to look up
+     * @param langs array of preferred languages in order of preference
+     * @param args  optional arguments for message formatting
+     * @return {@code true} if the message was written, {@code false} if the message ID is not found
+     * @throws java.nio.BufferOverflowException if the output writes into a buffer that is full
+     */
+    default boolean formatTo(
+            @NotNull final I18nUtf8Output out, @NotNull final String id, @NotNull final II18nLang[] langs,
+            final Object... args) {
+        final String result = this.formatMessage(id, langs, args);
+        if (result == null) {
+            return false;
+        }
+        out.write(result);
+        return true;
+    }
+
+    /**
+     * Formats a message and writes it to the specified output in UTF-8.
+     * This method behaves like {@link #formatToThrown(StringBuilder, String, II18nLang[], Object...)},
+     * but writes bytes instead of chars.
+     * If an exception is thrown, the output may already contain a part of the message.
+     *
+     * @param out   the output to write the message to
+     * @param id    the message identifier to look up
+     * @param langs array of preferred languages in order of preference
+     * @param args  optional arguments for message formatting
+     * @throws I18nLocaleNotFoundException if the message ID is not found
+     * @see #formatTo(I18nUtf8Output, String, II18nLang[], Object...)
+     */
+    default void formatToThrown(
+            @NotNull final I18nUtf8Output out, @NotNull final String id, @NotNull final II18nLang[] langs,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        out.write(this.formatMessageThrown(id, langs, args));
+    }
+
+    /**
+     * Formats a message and writes it to the specified output in UTF-8.
+     * This method behaves like {@link #formatTo(I18nUtf8Output, String, II18nLang[], Object...)},
+     * but implementations may look the message up by the slot of the key instead of hashing its id.
+     *
+     * @param out   the output to write the message to
+     * @param key   the key of the message to look up
+     * @param langs array of preferred languages in order of preference
+     * @param args  optional arguments for message formatting
+     * @return {@code true} if the message was written, {@code false} if the message is not found
+     */
+    default boolean formatTo(
+            @NotNull final I18nUtf8Output out, @NotNull final I18nKey key, @NotNull final II18nLang[] langs,
+            final Object... args) {
+        return this.formatTo(out, key.getId(), langs, args);
+    }
+
+    /**
+     * Formats a message and writes it to the specified output in UTF-8.
+     * This method behaves like {@link #formatToThrown(I18nUtf8Output, String, II18nLang[], Object...)},
+     * but implementations may look the message up by the slot of the key instead of hashing its id.
+     *
+     * @param out   the output to write the message to
+     * @param key   the key of the message to look up
+     * @param langs array of preferred languages in order of preference
+     * @param args  optional arguments for message formatting
+     * @throws I18nLocaleNotFoundException if the message is not found
+     */
+    default void formatToThrown(
+            @NotNull final I18nUtf8Output out, @NotNull final I18nKey key, @NotNull final II18nLang[] langs,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatToThrown(out, key.getId(), langs, args);
+    }
+
+    /**
+     * Formats a message and writes it to the specified output in UTF-8.
+     * This method behaves like {@link #formatTo(I18nUtf8Output, String, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param out   the output to write the message to
+     * @param id    the message identifier to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @return {@code true} if the message was written, {@code false} if the message ID is not found
+     */
+    default boolean formatTo(
+            @NotNull final I18nUtf8Output out, @NotNull final String id, @NotNull final LangChain chain,
+            final Object... args) {
+        return this.formatTo(out, id, chain.toArray(), args);
+    }
+
+    /**
+     * Formats a message and writes it to the specified output in UTF-8.
+     * This method behaves like {@link #formatToThrown(I18nUtf8Output, String, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param out   the output to write the message to
+     * @param id    the message identifier to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @throws I18nLocaleNotFoundException if the message ID is not found
+     */
+    default void formatToThrown(
+            @NotNull final I18nUtf8Output out, @NotNull final String id, @NotNull final LangChain chain,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatToThrown(out, id, chain.toArray(), args);
+    }
+
+    /**
+     * Formats a message and writes it to the specified output in UTF-8.
+     * This method behaves like {@link #formatTo(I18nUtf8Output, I18nKey, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param out   the output to write the message to
+     * @param key   the key of the message to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @return {@code true} if the message was written, {@code false} if the message is not found
+     */
+    default boolean formatTo(
+            @NotNull final I18nUtf8Output out, @NotNull final I18nKey key, @NotNull final LangChain chain,
+            final Object... args) {
+        return this.formatTo(out, key, chain.toArray(), args);
+    }
+
+    /**
+     * Formats a message and writes it to the specified output in UTF-8.
+     * This method behaves like {@link #formatToThrown(I18nUtf8Output, I18nKey, II18nLang[], Object...)},
+     * but implementations may use the fallback resolution cached in the chain instead of resolving it on every call.
+     *
+     * @param out   the output to write the message to
+     * @param key   the key of the message to look up
+     * @param chain the chain of preferred languages
+     * @param args  optional arguments for message formatting
+     * @throws I18nLocaleNotFoundException if the message is not found
+     */
+    default void formatToThrown(
+            @NotNull final I18nUtf8Output out, @NotNull final I18nKey key, @NotNull final LangChain chain,
+            final Object... args)
+            throws I18nLocaleNotFoundException {
+        this.formatToThrown(out, key, chain.toArray(), args);
+    }
 }
@@ -0,0 +1,419 @@
+package org.akazukin.i18n.manager;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.akazukin.i18n.exception.IllegalI18nKeyException;
+import org.akazukin.i18n.manager.data.I18nKey;
+import org.akazukin.i18n.manager.data.II18nCatalog;
+import org.akazukin.i18n.manager.data.II18nEntry;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.II18nTemplate;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An {@link IEntryManager} decorator that loads languages on demand.
+ * <p>
+ * Loading a language only registers it. Its resources are read the first time its entries or templates
+ * are requested, either directly or through the catalog a formatter renders with.
+ * Concurrent first requests for a language are deduplicated, so every language is loaded once,
+ * and the other requesting threads wait for that load to finish.
+ * A load that publishes only part of a language, because some of its resources are invalid,
+ * still loads the language: the failure is logged once and reported by {@link #ensureLoaded(II18nLang)},
+ * and the invalid resources are only read again by a reload. A lookup never throws because of it.
+ * A language whose entries are all removed is unregistered, so it is not loaded again by a lookup.
+ * Languages that were never registered are passed through to the delegate without loading.
+ * <p>
+ * Registered languages can be warmed in the background with {@link #prefetch(II18nLang...)}.
+ * The prefetch executor must not be the executor the delegate reads resources on,
+ * since a prefetch waits for those reads and would starve them on a bounded pool.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public final class LazyEntryManager implements IEntryManager {
+    IEntryManager delegate;
+    Executor prefetchExecutor;
+    Map<String, II18nLang> registered = new ConcurrentHashMap<>();
+    Map<String, CompletableFuture<Void>> loads = new ConcurrentHashMap<>();
+    /**
+     * The failure of the last load or reload of every language that was only published in part.
+     */
+    Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+    AtomicInteger loadCount = new AtomicInteger();
+    AtomicReference<CatalogView> catalogView = new AtomicReference<>();
+
+    /**
+     * Constructs a new lazy entry manager that prefetches on the common fork-join pool.
+     *
+     * @param delegate the entry manager that loads and holds the entries. Must not be {@code null}.
+     */
+    public LazyEntryManager(@NotNull final IEntryManager delegate) {
+        this(delegate, null);
+    }
+
+    /**
+     * Constructs a new lazy entry manager.
+     *
+     * @param delegate         the entry manager that loads and holds the entries. Must not be {@code null}.
+     * @param prefetchExecutor the executor to prefetch languages on, other than the load executor of the delegate,
+     *                         or {@code null} to use the common fork-join pool
+     */
+    public LazyEntryManager(@NotNull final IEntryManager delegate, @Nullable final Executor prefetchExecutor) {
+        this.delegate = delegate;
+        this.prefetchExecutor = prefetchExecutor != null ? prefetchExecutor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Registers the language to be loaded the first time it is requested.
+     *
+     * @param lang the language to register. Must not be {@code null}.
+     */
+    @Override
+    public void load(@NotNull final II18nLang lang) {
+        this.registered.putIfAbsent(lang.getId(), lang);
+    }
+
+    /**
+     * Registers the languages to be loaded the first time they are requested.
+     *
+     * @param langs the languages to register. Must not be {@code null}.
+     */
+    @Override
+    public void load(@NotNull final II18nLang... langs) {
+        for (final II18nLang lang : langs) {
+            this.load(lang);
+        }
+    }
+
+    /**
+     * Loads the specified language now if it is registered and not loaded yet.
+     * If another thread is loading it, this method waits for that load to finish.
+     * <p>
+     * A load that publishes only part of the language still loads it,
+     * so its invalid resources are not read again until the language is reloaded.
+     *
+     * @param lang the language to load. Must not be {@code null}.
+     * @throws IllegalI18nKeyException if the last load or reload of the language found invalid keys.
+     *                                 The valid resources are still published by the delegate.
+     */
+    public void ensureLoaded(@NotNull final II18nLang lang) throws IllegalI18nKeyException {
+        this.loadOnDemand(lang);
+        final RuntimeException failure = this.failures.get(lang.getId());
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Loads the specified language if it is registered and not loaded yet, without reporting a partial load,
+     * so a lookup never fails because some resources of its language are invalid.
+     */
+    private void loadOnDemand(@NotNull final II18nLang lang) {
+        final String langId = lang.getId();
+        CompletableFuture<Void> load = this.loads.get(langId);
+        if (load != null && load.isDone() && !load.isCompletedExceptionally()) {
+            return;
+        }
+
+        final II18nLang registeredLang = this.registered.get(langId);
+        if (registeredLang == null) {
+            return;
+        }
+
+        if (load == null) {
+            final CompletableFuture<Void> newLoad = new CompletableFuture<>();
+            load = this.loads.putIfAbsent(langId, newLoad);
+            if (load == null) {
+                try {
+                    this.delegate.load(registeredLang);
+                    this.failures.remove(langId);
+                } catch (final RuntimeException e) {
+                    // The delegate published the valid resources, so the language counts as loaded
+                    this.failures.put(langId, e);
+                    log.warn("Failed to load part of the localization lazily. | Lang: " + langId, e);
+                } catch (final Error e) {
+                    this.loadCount.incrementAndGet();
+                    this.loads.remove(langId, newLoad);
+                    newLoad.completeExceptionally(e);
+                    throw e;
+                }
+                this.loadCount.incrementAndGet();
+                newLoad.complete(null);
+                return;
+            }
+        }
+        try {
+            load.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the specified registered languages in the background.
+     *
+     * @param langs the languages to prefetch. Must not be {@code null}.
+     * @return a future that completes once every language has been loaded,
+     * or completes exceptionally if any of them failed to load
+     */
+    public @NotNull CompletableFuture<Void> prefetch(@NotNull final II18nLang... langs) {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[langs.length];
+        for (int i = 0; i < langs.length; i++) {
+            final II18nLang lang = langs[i];
+            futures[i] = CompletableFuture.runAsync(() -> this.ensureLoaded(lang), this.prefetchExecutor);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Checks whether the specified language has been loaded.
+     *
+     * @param lang the language to check. Must not be {@code null}.
+     * @return {@code true} if the language has been loaded, {@code false} if it is not loaded or still loading
+     */
+    public boolean isLoaded(@NotNull final II18nLang lang) {
+        final CompletableFuture<Void> load = this.loads.get(lang.getId());
+        return load != null && load.isDone() && !load.isCompletedExceptionally();
+    }
+
+    /**
+     * Reloads the specified language if it has been loaded.
+     * A language that has not been requested yet is left to be loaded on demand.
+     * The resources of the language that failed to load are read again.
+     *
+     * @param lang the language to reload. Must not be {@code null}.
+     */
+    @Override
+    public void reload(@NotNull final II18nLang lang) {
+        final String langId = lang.getId();
+        final boolean registered = this.registered.containsKey(langId);
+        if (registered && !this.isLoaded(lang)) {
+            return;
+        }
+
+        try {
+            this.delegate.reload(lang);
+        } catch (final RuntimeException e) {
+            if (registered) {
+                this.failures.put(langId, e);
+            }
+            throw e;
+        }
+        this.failures.remove(langId);
+    }
+
+    /**
+     * Reloads every loaded language.
+     * The languages that failed to load are reloaded one by one first,
+     * since a language none of whose resources could be published is not in the catalog the delegate reloads.
+     */
+    @Override
+    public void reload() {
+        RuntimeException failure = null;
+        for (final String langId : this.failures.keySet()) {
+            final II18nLang lang = this.registered.get(langId);
+            if (lang == null) {
+                continue;
+            }
+            try {
+                this.reload(lang);
+            } catch (final RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        try {
+            this.delegate.reload();
+        } catch (final RuntimeException e) {
+            if (failure != null) {
+                e.addSuppressed(failure);
+            }
+            throw e;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public @NotNull II18nLang[] getLangs() {
+        return this.delegate.getLangs();
+    }
+
+    @Override
+    public void load(@NotNull final IResourceIdentifier identifier) throws IllegalI18nKeyException {
+        this.delegate.load(identifier);
+    }
+
+    @Override
+    public void removeEntry(@NotNull final IResourceIdentifier identifier, @NotNull final II18nLang lang) {
+        this.delegate.removeEntry(identifier, lang);
+        if (!this.delegate.hasEntry(lang)) {
+            this.unregister(lang);
+        }
+    }
+
+    @Override
+    public @NotNull II18nEntry[] getEntries(@NotNull final II18nLang lang) {
+        this.loadOnDemand(lang);
+        return this.delegate.getEntries(lang);
+    }
+
+    @Override
+    public @Nullable II18nTemplate getTemplate(@NotNull final II18nLang lang, @NotNull final String id) {
+        this.loadOnDemand(lang);
+        return this.delegate.getTemplate(lang, id);
+    }
+
+    @Override
+    public @NotNull I18nKey getKey(@NotNull final String id) {
+        return this.delegate.getKey(id);
+    }
+
+    /**
+     * Retrieves a view of the current catalog of the delegate that loads languages on demand.
+     * The same view is returned as long as the catalog of the delegate does not change.
+     *
+     * @return the catalog of this manager. Must not be {@code null}.
+     */
+    @Override
+    public @NotNull II18nCatalog getCatalog() {
+        final int loadCount = this.loadCount.get();
+        final II18nCatalog catalog = this.delegate.getCatalog();
+        final CatalogView view = this.catalogView.get();
+        if (view != null && view.catalog == catalog) {
+            return view;
+        }
+
+        final CatalogView newView = new CatalogView(catalog, loadCount);
+        this.catalogView.set(newView);
+        return newView;
+    }
+
+    /**
+     * Retrieves the version of the delegate, which changes whenever a language is loaded on demand.
+     *
+     * @return the version of the delegate
+     */
+    @Override
+    public long getVersion() {
+        return this.delegate.getVersion();
+    }
+
+    @Override
+    public void removeEntry(@NotNull final II18nLang lang) {
+        this.delegate.removeEntry(lang);
+        this.unregister(lang);
+    }
+
+    /**
+     * Forgets the language, so a later lookup passes it through instead of loading it again.
+     * It is registered again by the next {@link #load(II18nLang)}.
+     */
+    private void unregister(@NotNull final II18nLang lang) {
+        final String langId = lang.getId();
+        this.registered.remove(langId);
+        this.loads.remove(langId);
+        this.failures.remove(langId);
+    }
+
+    @Override
+    public void putEntry(@NotNull final II18nEntry entry) {
+        this.delegate.putEntry(entry);
+    }
+
+    @Override
+    public @NotNull II18nEntry[] getEntries() {
+        return this.delegate.getEntries();
+    }
+
+    @Override
+    public boolean hasEntry(@NotNull final IResourceIdentifier identifier, @NotNull final II18nLang lang) {
+        return this.delegate.hasEntry(identifier, lang);
+    }
+
+    @Override
+    public boolean hasEntry(@NotNull final II18nLang lang) {
+        return this.delegate.hasEntry(lang);
+    }
+
+    @Override
+    public boolean hasEntry(@NotNull final IResourceIdentifier identifier) {
+        return this.delegate.hasEntry(identifier);
+    }
+
+    /**
+     * A catalog that reads from one snapshot of the delegate.
+     * A registered language that is not loaded yet is loaded first,
+     * and any language loaded after the snapshot was taken is read from the latest catalog of the delegate.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private final class CatalogView implements II18nCatalog {
+        II18nCatalog catalog;
+        /**
+         * The number of lazy loads completed before the snapshot was taken.
+         */
+        int loadCount;
+
+        private CatalogView(@NotNull final II18nCatalog catalog, final int loadCount) {
+            this.catalog = catalog;
+            this.loadCount = loadCount;
+        }
+
+        @Override
+        public @NotNull II18nEntry[] getEntries(@NotNull final II18nLang lang) {
+            return this.resolve(lang).getEntries(lang);
+        }
+
+        @Override
+        public @Nullable II18nTemplate getTemplate(@NotNull final II18nLang lang, @NotNull final String id) {
+            return this.resolve(lang).getTemplate(lang, id);
+        }
+
+        @Override
+        public @Nullable II18nTemplate getTemplate(@NotNull final II18nLang lang, @NotNull final I18nKey key) {
+            return this.resolve(lang).getTemplate(lang, key);
+        }
+
+        @Override
+        public @NotNull II18nEntry[] getEntries() {
+            return this.catalog.getEntries();
+        }
+
+        @Override
+        public @NotNull II18nLang[] getLangs() {
+            return this.catalog.getLangs();
+        }
+
+        @Override
+        public boolean hasEntry(@NotNull final II18nLang lang) {
+            return this.catalog.hasEntry(lang);
+        }
+
+        private @NotNull II18nCatalog resolve(@NotNull final II18nLang lang) {
+            LazyEntryManager.this.loadOnDemand(lang);
+            if (LazyEntryManager.this.loadCount.get() == this.loadCount) {
+                return this.catalog;
+            }
+            return LazyEntryManager.this.delegate.getCatalog();
+        }
+    }
+}
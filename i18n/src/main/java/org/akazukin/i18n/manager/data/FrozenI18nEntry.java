@@ -0,0 +1,162 @@
+package org.akazukin.i18n.manager.data;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents an immutable entry in i18n, built once when it is loaded.
+ * <p>
+ * The templates are stored in an open-addressing table of parallel arrays
+ * holding the hash, the id and the template of every slot, probed linearly.
+ * Compared to a {@link HashMap}, no node object is allocated per message,
+ * and a lookup scans adjacent array elements without taking a lock.
+ * <p>
+ * The entries cannot be replaced, so {@link #setEntries(Map)} is not supported.
+ * Load the resource again, or put a {@link #mutableCopy() mutable copy} into the entry manager instead.
+ * This class is immutable.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ToString(onlyExplicitlyIncluded = true)
+public final class FrozenI18nEntry implements II18nEntry {
+    private static final int[] EMPTY_HASHES = {};
+    private static final String[] EMPTY_KEYS = {};
+    private static final II18nTemplate[] EMPTY_TEMPLATES = {};
+
+    @Getter
+    @ToString.Include
+    II18nLang lang;
+    @Getter
+    @ToString.Include
+    IResourceIdentifier identifier;
+    @Getter
+    @ToString.Include
+    int size;
+    int[] hashes;
+    String[] keys;
+    II18nTemplate[] templates;
+
+    /**
+     * Constructs a new frozen entry from compiled templates.
+     * The map is copied into the table and can be discarded afterward.
+     *
+     * @param lang       the language of the entry
+     * @param identifier the identifier of the entry
+     * @param templates  the compiled templates by id
+     */
+    public FrozenI18nEntry(@NotNull final II18nLang lang, @NotNull final IResourceIdentifier identifier,
+                           @NotNull final Map<String, II18nTemplate> templates) {
+        this.lang = lang;
+        this.identifier = identifier;
+        this.size = templates.size();
+
+        if (this.size == 0) {
+            this.hashes = EMPTY_HASHES;
+            this.keys = EMPTY_KEYS;
+            this.templates = EMPTY_TEMPLATES;
+            return;
+        }
+
+        // Keep the load factor at or below one half, so probe sequences stay short
+        final int capacity = Integer.highestOneBit(Math.max(this.size * 2 - 1, 1)) << 1;
+        this.hashes = new int[capacity];
+        this.keys = new String[capacity];
+        this.templates = new II18nTemplate[capacity];
+
+        final int mask = capacity - 1;
+        for (final Map.Entry<String, II18nTemplate> e : templates.entrySet()) {
+            final String key = e.getKey();
+            final int hash = spread(key.hashCode());
+            int i = hash & mask;
+            while (this.keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            this.hashes[i] = hash;
+            this.keys[i] = key;
+            this.templates[i] = e.getValue();
+        }
+    }
+
+    private static int spread(final int h) {
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public @Nullable String getEntry(@NotNull final String id) {
+        final II18nTemplate template = this.getTemplate(id);
+        return template != null ? template.getSource() : null;
+    }
+
+    @Override
+    public @Nullable II18nTemplate getTemplate(@NotNull final String id) {
+        final String[] keys = this.keys;
+        if (keys.length == 0) {
+            return null;
+        }
+
+        final int hash = spread(id.hashCode());
+        final int mask = keys.length - 1;
+        int i = hash & mask;
+        String key;
+        while ((key = keys[i]) != null) {
+            if (this.hashes[i] == hash && (key == id || key.equals(id))) {
+                return this.templates[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasEntryId(@NotNull final String id) {
+        return this.getTemplate(id) != null;
+    }
+
+    @Override
+    public @NotNull String[] getEntryIds() {
+        final String[] ids = new String[this.size];
+        int n = 0;
+        for (final String key : this.keys) {
+            if (key != null) {
+                ids[n++] = key;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Retrieves a copy of the raw values by id.
+     *
+     * @return a new map of the raw values
+     */
+    @Override
+    public @NotNull Map<String, String> getEntries() {
+        final Map<String, String> entries = new HashMap<>((int) (this.size / 0.75f) + 1);
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != null) {
+                entries.put(this.keys[i], this.templates[i].getSource());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Always throws, since a frozen entry cannot be modified.
+     * Use {@link #mutableCopy()} to get an entry that can.
+     *
+     * @param entries ignored
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void setEntries(@NotNull final Map<String, String> entries) {
+        throw new UnsupportedOperationException(
+                "A frozen entry cannot be modified, modify a mutable copy instead. | " + this.identifier);
+    }
+}
@@ -0,0 +1,363 @@
+package org.akazukin.i18n.manager.data;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.akazukin.i18n.exception.I18nReferenceCycleException;
+import org.akazukin.i18n.utils.I18nTemplateUtils;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * An immutable snapshot of i18n entries grouped by language.
+ * <p>
+ * The entries of every language are ordered by the time they were first put,
+ * and a merged index of compiled templates is built for every language,
+ * in which an earlier entry takes precedence over the later ones.
+ * The index is a dense array indexed by the slot of each id in the key table of the catalog,
+ * so a lookup through an {@link I18nKey} that remembers its slot is an array access.
+ * The references between the messages of a language are inlined into the index where they render a constant text,
+ * see {@link I18nTemplateUtils#link(II18nLang, II18nTemplate[], ToIntFunction)}.
+ * <p>
+ * A new snapshot is derived with {@link #toBuilder()}.
+ * Only the languages changed through the builder are re-indexed, the others are shared with this snapshot.
+ * The key table is extended with the new ids of the changed languages,
+ * and compacted once less than half of its slots are used by any language,
+ * so it never holds many more ids than the catalog defines.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public final class I18nCatalog implements II18nCatalog {
+    /**
+     * The catalog that holds no entries.
+     */
+    public static final I18nCatalog EMPTY =
+            new I18nCatalog(Collections.emptyMap(), Collections.emptyMap(), KeyTable.EMPTY);
+    private static final II18nTemplate[] EMPTY_TEMPLATES = {};
+    /**
+     * The size below which the key table is never compacted.
+     */
+    private static final int MIN_COMPACT_SIZE = 64;
+
+    Map<String, II18nEntry[]> entries;
+    Map<String, II18nTemplate[]> index;
+    KeyTable keys;
+
+    private I18nCatalog(@NotNull final Map<String, II18nEntry[]> entries,
+                        @NotNull final Map<String, II18nTemplate[]> index, @NotNull final KeyTable keys) {
+        this.entries = entries;
+        this.index = index;
+        this.keys = keys;
+    }
+
+    @Override
+    public @NotNull II18nEntry[] getEntries(@NotNull final II18nLang lang) {
+        final II18nEntry[] langEntries = this.entries.get(lang.getId());
+        return langEntries != null ? langEntries : II18nEntry.EMPTY_ARR;
+    }
+
+    @Override
+    public @Nullable II18nTemplate getTemplate(@NotNull final II18nLang lang, @NotNull final String id) {
+        return this.getTemplate(lang, this.keys.getSlot(id));
+    }
+
+    @Override
+    public @Nullable II18nTemplate getTemplate(@NotNull final II18nLang lang, @NotNull final I18nKey key) {
+        return this.getTemplate(lang, key.getSlot(this.keys));
+    }
+
+    private @Nullable II18nTemplate getTemplate(@NotNull final II18nLang lang, final int slot) {
+        final II18nTemplate[] templates = this.index.get(lang.getId());
+        // Every id of the language had a slot when the index was built, so a larger slot is never defined
+        return templates != null && slot >= 0 && slot < templates.length ? templates[slot] : null;
+    }
+
+    @Override
+    public @NotNull II18nEntry[] getEntries() {
+        return this.entries.values()
+                .stream()
+                .flatMap(Arrays::stream)
+                .toArray(II18nEntry[]::new);
+    }
+
+    @Override
+    public @NotNull II18nLang[] getLangs() {
+        return this.entries.values()
+                .stream()
+                .map(e -> e[0].getLang())
+                .toArray(II18nLang[]::new);
+    }
+
+    @Override
+    public boolean hasEntry(@NotNull final II18nLang lang) {
+        return this.entries.containsKey(lang.getId());
+    }
+
+    /**
+     * Creates a builder that starts from the entries of this snapshot.
+     *
+     * @return a new builder. Must not be {@code null}.
+     */
+    public @NotNull Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * A builder that derives a new {@link I18nCatalog} from an existing one.
+     * This class is not thread-safe.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    public static final class Builder {
+        I18nCatalog base;
+        Map<String, Map<IResourceIdentifier, II18nEntry>> changed = new LinkedHashMap<>();
+        List<I18nReferenceCycleException> cycles = new ArrayList<>();
+
+        private Builder(@NotNull final I18nCatalog base) {
+            this.base = base;
+        }
+
+        /**
+         * Puts the entry into the catalog.
+         * An entry of the same language and identifier is replaced and keeps its precedence.
+         * Otherwise, the entry takes the lowest precedence of its language.
+         *
+         * @param entry the entry to put. Must not be {@code null}.
+         * @return this builder
+         */
+        public @NotNull Builder put(@NotNull final II18nEntry entry) {
+            this.edit(entry.getLang().getId()).put(entry.getIdentifier(), entry);
+            return this;
+        }
+
+        /**
+         * Removes the entry of the specified identifier and language.
+         *
+         * @param identifier the identifier of the entry. Must not be {@code null}.
+         * @param lang       the language of the entry. Must not be {@code null}.
+         * @return this builder
+         */
+        public @NotNull Builder remove(@NotNull final IResourceIdentifier identifier, @NotNull final II18nLang lang) {
+            this.edit(lang.getId()).remove(identifier);
+            return this;
+        }
+
+        /**
+         * Removes every entry of the specified language.
+         *
+         * @param lang the language to remove. Must not be {@code null}.
+         * @return this builder
+         */
+        public @NotNull Builder remove(@NotNull final II18nLang lang) {
+            this.edit(lang.getId()).clear();
+            return this;
+        }
+
+        /**
+         * Builds the new snapshot.
+         * If nothing has been changed, the base snapshot is returned as-is.
+         * <p>
+         * A changed language whose messages reference each other in a cycle keeps its entries of the base snapshot,
+         * while the other changed languages are still applied.
+         * The cycles found are reported by {@link #getCycles()}.
+         *
+         * @return the new snapshot. Must not be {@code null}.
+         */
+        public @NotNull I18nCatalog build() {
+            this.cycles.clear();
+            if (this.changed.isEmpty()) {
+                return this.base;
+            }
+
+            final Map<String, II18nEntry[]> entries = new LinkedHashMap<>(this.base.entries);
+            final Map<String, II18nTemplate[]> index = new HashMap<>(this.base.index);
+            KeyTable keys = this.base.keys;
+            for (final Map.Entry<String, Map<IResourceIdentifier, II18nEntry>> e : this.changed.entrySet()) {
+                final String langId = e.getKey();
+                if (e.getValue().isEmpty()) {
+                    entries.remove(langId);
+                    index.remove(langId);
+                    continue;
+                }
+
+                final II18nEntry[] entryArr = e.getValue().values().toArray(II18nEntry.EMPTY_ARR);
+                // The slots of the known ids never change, so the indexes of the other languages stay valid
+                final KeyTable extended = keys.with(entryArr);
+                final II18nTemplate[] templates;
+                try {
+                    templates = buildIndex(entryArr, extended);
+                } catch (final I18nReferenceCycleException ex) {
+                    this.cycles.add(ex);
+                    continue;
+                }
+                keys = extended;
+                entries.put(langId, entryArr);
+                index.put(langId, templates);
+            }
+            if (this.cycles.size() == this.changed.size()) {
+                return this.base;
+            }
+            return compact(entries, index, keys);
+        }
+
+        /**
+         * Retrieves the cycles found by the last {@link #build()}, one per language that was left unchanged for it.
+         *
+         * @return the cycles in the order the languages were changed. Never {@code null}, but may be empty.
+         */
+        public @NotNull List<I18nReferenceCycleException> getCycles() {
+            return Collections.unmodifiableList(this.cycles);
+        }
+
+        /**
+         * Drops the slots no language uses anymore once they are the majority of the key table,
+         * and moves the templates of every language to the new slots.
+         */
+        private static @NotNull I18nCatalog compact(@NotNull final Map<String, II18nEntry[]> entries,
+                                                    @NotNull final Map<String, II18nTemplate[]> index,
+                                                    @NotNull final KeyTable keys) {
+            final int size = keys.size();
+            if (size < MIN_COMPACT_SIZE) {
+                return new I18nCatalog(entries, index, keys);
+            }
+            final BitSet used = new BitSet(size);
+            for (final II18nTemplate[] templates : index.values()) {
+                for (int slot = 0; slot < templates.length; slot++) {
+                    if (templates[slot] != null) {
+                        used.set(slot);
+                    }
+                }
+            }
+            if (used.cardinality() * 2 >= size) {
+                return new I18nCatalog(entries, index, keys);
+            }
+
+            final int[] moved = new int[size];
+            final Map<String, Integer> slots = new HashMap<>((int) (used.cardinality() / 0.75f) + 1);
+            for (final Map.Entry<String, Integer> e : keys.slots.entrySet()) {
+                final int slot = e.getValue();
+                if (used.get(slot)) {
+                    moved[slot] = slots.size();
+                    slots.put(e.getKey(), slots.size());
+                }
+            }
+            final Map<String, II18nTemplate[]> movedIndex = new HashMap<>((int) (index.size() / 0.75f) + 1);
+            for (final Map.Entry<String, II18nTemplate[]> e : index.entrySet()) {
+                final II18nTemplate[] templates = e.getValue();
+                int length = 0;
+                for (int slot = 0; slot < templates.length; slot++) {
+                    if (templates[slot] != null) {
+                        length = Math.max(length, moved[slot] + 1);
+                    }
+                }
+                final II18nTemplate[] movedTemplates = length > 0 ? new II18nTemplate[length] : EMPTY_TEMPLATES;
+                for (int slot = 0; slot < templates.length; slot++) {
+                    if (templates[slot] != null) {
+                        movedTemplates[moved[slot]] = templates[slot];
+                    }
+                }
+                movedIndex.put(e.getKey(), movedTemplates);
+            }
+            return new I18nCatalog(entries, movedIndex, new KeyTable(slots));
+        }
+
+        private @NotNull Map<IResourceIdentifier, II18nEntry> edit(@NotNull final String langId) {
+            return this.changed.computeIfAbsent(langId, k -> {
+                final Map<IResourceIdentifier, II18nEntry> langEntries = new LinkedHashMap<>();
+                final II18nEntry[] current = this.base.entries.get(k);
+                if (current != null) {
+                    for (final II18nEntry entry : current) {
+                        langEntries.put(entry.getIdentifier(), entry);
+                    }
+                }
+                return langEntries;
+            });
+        }
+
+        private static @NotNull II18nTemplate[] buildIndex(@NotNull final II18nEntry[] entries,
+                                                           @NotNull final KeyTable keys) {
+            II18nTemplate[] templates = EMPTY_TEMPLATES;
+            for (final II18nEntry entry : entries) {
+                for (final String id : entry.getEntryIds()) {
+                    final int slot = keys.getSlot(id);
+                    if (slot >= templates.length) {
+                        templates = Arrays.copyOf(templates, Math.max(slot + 1, templates.length * 2));
+                    } else if (templates[slot] != null) {
+                        continue;
+                    }
+                    templates[slot] = entry.getTemplate(id);
+                }
+            }
+
+            int length = templates.length;
+            while (length > 0 && templates[length - 1] == null) {
+                length--;
+            }
+            if (length != templates.length) {
+                templates = Arrays.copyOf(templates, length);
+            }
+            I18nTemplateUtils.link(entries[0].getLang(), templates, keys::getSlot);
+            return templates;
+        }
+    }
+
+    /**
+     * The slots of the ids of one or more catalogs.
+     * A table is never modified once published, a new one is derived from it instead.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    static final class KeyTable {
+        static final KeyTable EMPTY = new KeyTable(Collections.emptyMap());
+
+        Map<String, Integer> slots;
+
+        private KeyTable(@NotNull final Map<String, Integer> slots) {
+            this.slots = slots;
+        }
+
+        /**
+         * Retrieves the slot of the specified id.
+         *
+         * @param id the message id. Must not be {@code null}.
+         * @return the slot of the id, or {@code -1} if it has none
+         */
+        int getSlot(@NotNull final String id) {
+            final Integer slot = this.slots.get(id);
+            return slot != null ? slot : -1;
+        }
+
+        int size() {
+            return this.slots.size();
+        }
+
+        /**
+         * Derives a table that also gives a slot to every id of the specified entries.
+         *
+         * @param entries the entries whose ids need a slot. Must not be {@code null}.
+         * @return this table if every id has a slot already, or a new table otherwise
+         */
+        @NotNull KeyTable with(@NotNull final II18nEntry[] entries) {
+            Map<String, Integer> next = null;
+            for (final II18nEntry entry : entries) {
+                for (final String id : entry.getEntryIds()) {
+                    if (next == null) {
+                        if (this.slots.containsKey(id)) {
+                            continue;
+                        }
+                        next = new HashMap<>(this.slots);
+                    }
+                    next.putIfAbsent(id, next.size());
+                }
+            }
+            return next != null ? new KeyTable(next) : this;
+        }
+    }
+}
@@ -4,10 +4,10 @@
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.FieldDefaults;
 import org.akazukin.i18n.Constants;
+import org.akazukin.i18n.utils.I18nTemplateUtils;
 import org.akazukin.resource.identifier.IResourceIdentifier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -20,7 +20,12 @@
  * Each entry is associated with a specific language and contains a collection of localized strings.
  * <p>
  * Instances of this class are immutable with respect to the {@link II18nLang}.
- * However, the map of entries can be modified after creation.
+ * However, the map of entries can be replaced after creation with {@link #setEntries(Map)}.
+ * Every value is compiled into an {@link II18nTemplate} when the entries are set,
+ * and only the templates are kept, since each template holds its raw value as the source.
+ * <p>
+ * The templates are copied when they are set and published through a volatile field,
+ * so reads never take a lock.
  */
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Getter
@@ -31,38 +36,81 @@ public final class I18nEntry implements II18nEntry {
     final II18nLang lang;
     @NotNull
     final IResourceIdentifier identifier;
-    @Setter
-    @Nullable
-    Map<String, String> entries = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    @NotNull
+    volatile Map<String, II18nTemplate> templates = new HashMap<>();
 
     public I18nEntry(@NonNull final II18nLang lang, @NotNull final IResourceIdentifier identifier) {
         this.lang = lang;
         this.identifier = identifier;
     }
 
+    /**
+     * Constructs a new entry from templates that are already compiled, such as the ones of a compiled catalog.
+     * The raw values are the sources of the templates.
+     *
+     * @param lang       the language of the entry
+     * @param identifier the identifier of the entry
+     * @param templates  the compiled templates by id. The map is used as-is and must not be modified afterward.
+     */
+    public I18nEntry(@NonNull final II18nLang lang, @NotNull final IResourceIdentifier identifier,
+                     @NotNull final Map<String, II18nTemplate> templates) {
+        this.lang = lang;
+        this.identifier = identifier;
+        this.templates = templates;
+    }
+
     @Override
-    public synchronized @Nullable String getEntry(@NotNull final String id) {
-        if (this.entries == null) {
-            return null;
-        }
-        return this.entries.get(id);
+    public @Nullable String getEntry(@NotNull final String id) {
+        final II18nTemplate template = this.templates.get(id);
+        return template != null ? template.getSource() : null;
     }
 
     @Override
-    public synchronized boolean hasEntryId(@NotNull final String id) {
-        if (this.entries == null) {
-            return false;
+    public @Nullable II18nTemplate getTemplate(@NotNull final String id) {
+        return this.templates.get(id);
+    }
+
+    @Override
+    public boolean hasEntryId(@NotNull final String id) {
+        return this.templates.containsKey(id);
+    }
+
+    @Override
+    public @NotNull String[] getEntryIds() {
+        return this.templates.keySet()
+                .toArray(Constants.EMPTY_STR_ARR);
+    }
+
+    @Override
+    public int getSize() {
+        return this.templates.size();
+    }
+
+    /**
+     * Retrieves a copy of the raw values by id.
+     *
+     * @return a new map of the raw values
+     */
+    @Override
+    public @NotNull Map<String, String> getEntries() {
+        final Map<String, II18nTemplate> templates = this.templates;
+        final Map<String, String> entries = new HashMap<>((int) (templates.size() / 0.75f) + 1);
+        for (final Map.Entry<String, II18nTemplate> e : templates.entrySet()) {
+            entries.put(e.getKey(), e.getValue().getSource());
         }
-        return this.entries.containsKey(id);
+        return entries;
     }
 
     @Override
-    public synchronized @NotNull String[] getEntryIds() {
-        if (this.entries == null) {
-            return Constants.EMPTY_STR_ARR;
+    public void setEntries(@Nullable final Map<String, String> entries) {
+        final Map<String, II18nTemplate> templates = new HashMap<>();
+        if (entries != null) {
+            for (final Map.Entry<String, String> e : entries.entrySet()) {
+                templates.put(e.getKey(), I18nTemplateUtils.compile(e.getValue()));
+            }
         }
-        return this.entries.keySet()
-                .toArray(Constants.EMPTY_STR_ARR);
+        this.templates = templates;
     }
 
     @Override
@@ -0,0 +1,77 @@
+package org.akazukin.i18n.manager.data;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a message id that remembers its slot in the catalog it was last looked up in.
+ * <p>
+ * Every catalog gives each of its ids a slot, and every language of a catalog stores its templates
+ * in a dense array indexed by the slot.
+ * The first lookup of a key in a catalog resolves its slot by the id, and the following lookups
+ * in the same catalog reuse it, so they are an array access without string hashing.
+ * Keys are meant to be resolved once and kept, typically in a {@code static final} field.
+ * <p>
+ * Keys are not interned and are equal if their ids are equal, so nothing is retained for an id
+ * once its keys and the catalogs that define it are gone.
+ * This class is thread-safe.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@EqualsAndHashCode(of = "id")
+@ToString(of = "id")
+public final class I18nKey {
+    @Getter
+    String id;
+    /**
+     * The slot of the id in the key table it was last resolved in.
+     */
+    @NonFinal
+    volatile Resolution resolution;
+
+    private I18nKey(@NotNull final String id) {
+        this.id = id;
+    }
+
+    /**
+     * Creates the key of the specified id.
+     *
+     * @param id the message id. Must not be {@code null}.
+     * @return the key of the id. Never {@code null}.
+     */
+    public static @NotNull I18nKey of(@NotNull final String id) {
+        return new I18nKey(id);
+    }
+
+    /**
+     * Resolves the slot of this key in the specified key table.
+     *
+     * @param table the key table of a catalog. Must not be {@code null}.
+     * @return the slot of the id, or {@code -1} if the table has no slot for it
+     */
+    int getSlot(@NotNull final I18nCatalog.KeyTable table) {
+        final Resolution resolution = this.resolution;
+        if (resolution != null && resolution.table == table) {
+            return resolution.slot;
+        }
+
+        final int slot = table.getSlot(this.id);
+        this.resolution = new Resolution(table, slot);
+        return slot;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static final class Resolution {
+        I18nCatalog.KeyTable table;
+        int slot;
+
+        private Resolution(@NotNull final I18nCatalog.KeyTable table, final int slot) {
+            this.table = table;
+            this.slot = slot;
+        }
+    }
+}
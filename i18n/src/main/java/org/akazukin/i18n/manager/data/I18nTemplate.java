@@ -0,0 +1,158 @@
+package org.akazukin.i18n.manager.data;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.akazukin.i18n.manager.I18nUtf8Output;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents a compiled localized value.
+ * The segments are stored in parallel arrays to keep rendering free of per-segment objects.
+ * <p>
+ * The literals are encoded in UTF-8 the first time the template is written as bytes, and kept for later writes.
+ * They are not encoded when the template is compiled,
+ * so templates that are only ever rendered to strings do not hold a second copy of their text.
+ * <p>
+ * This class is immutable.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public final class I18nTemplate implements II18nTemplate {
+    @Getter
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    String source;
+    String constant;
+    byte[] types;
+    String[] texts;
+    int[] argIndexes;
+    @Getter
+    int literalLength;
+    II18nTemplate unlinked;
+    /**
+     * The UTF-8 bytes of every literal segment, or {@code null} until the template is first written as bytes.
+     */
+    @NonFinal
+    volatile byte[][] utf8;
+
+    /**
+     * Constructs a new compiled template from its segments.
+     * The arrays are used as-is and must not be modified afterward.
+     *
+     * @param source     the raw value the template was compiled from
+     * @param types      the type of each segment
+     * @param texts      the text of each segment
+     * @param argIndexes the argument index of each segment, or {@code -1} for non-argument segments
+     */
+    public I18nTemplate(@NotNull final String source, @NotNull final byte[] types,
+                        @NotNull final String[] texts, @NotNull final int[] argIndexes) {
+        this(source, types, texts, argIndexes, null);
+    }
+
+    /**
+     * Constructs a new compiled template with references inlined into its segments.
+     * The arrays are used as-is and must not be modified afterward.
+     *
+     * @param source     the raw value the template was compiled from
+     * @param types      the type of each segment
+     * @param texts      the text of each segment
+     * @param argIndexes the argument index of each segment, or {@code -1} for non-argument segments
+     * @param unlinked   the template before the references were inlined, or {@code null} if nothing was inlined
+     */
+    public I18nTemplate(@NotNull final String source, @NotNull final byte[] types,
+                        @NotNull final String[] texts, @NotNull final int[] argIndexes,
+                        @Nullable final II18nTemplate unlinked) {
+        this.source = source;
+        this.unlinked = unlinked;
+        this.types = types;
+        this.texts = texts;
+        this.argIndexes = argIndexes;
+
+        int literalLength = 0;
+        boolean constant = true;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == LITERAL) {
+                literalLength += texts[i].length();
+            } else {
+                constant = false;
+            }
+        }
+        this.literalLength = literalLength;
+        this.constant = constant ? buildConstant(texts) : null;
+    }
+
+    private static @NotNull String buildConstant(@NotNull final String[] texts) {
+        if (texts.length == 0) {
+            return "";
+        }
+        if (texts.length == 1) {
+            return texts[0];
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        for (final String text : texts) {
+            sb.append(text);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public int getSegmentCount() {
+        return this.types.length;
+    }
+
+    @Override
+    public byte getSegmentType(final int index) {
+        return this.types[index];
+    }
+
+    @Override
+    public @NotNull String getSegmentText(final int index) {
+        return this.texts[index];
+    }
+
+    @Override
+    public int getArgIndex(final int index) {
+        return this.argIndexes[index];
+    }
+
+    @Override
+    public @Nullable String getConstant() {
+        return this.constant;
+    }
+
+    @Override
+    public void writeUtf8(final int index, @NotNull final I18nUtf8Output out) {
+        byte[][] utf8 = this.utf8;
+        if (utf8 == null) {
+            // Racing writers encode the same bytes, so either result can be kept
+            utf8 = new byte[this.types.length][];
+            for (int i = 0; i < utf8.length; i++) {
+                if (this.types[i] == LITERAL) {
+                    utf8[i] = this.texts[i].getBytes(StandardCharsets.UTF_8);
+                }
+            }
+            this.utf8 = utf8;
+        }
+
+        final byte[] bytes = utf8[index];
+        if (bytes != null) {
+            out.write(bytes);
+        } else {
+            out.write(this.texts[index]);
+        }
+    }
+
+    @Override
+    public @NotNull II18nTemplate getUnlinked() {
+        return this.unlinked != null ? this.unlinked : this;
+    }
+}
@@ -0,0 +1,64 @@
+package org.akazukin.i18n.manager.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a read-only view of the entries held by an entry manager.
+ * <p>
+ * Formatters take one catalog at the start of a render and resolve every message of that render,
+ * including nested references, through it, so a render never mixes two versions of the entries.
+ */
+public interface II18nCatalog {
+    /**
+     * Retrieves the i18n entries for the specified language, ordered by precedence.
+     * The returned array may be shared and must not be modified.
+     *
+     * @param lang the language to retrieve. Must not be {@code null}.
+     * @return the i18n entries for the specified language. Never {@code null}, but may be empty.
+     */
+    @NotNull II18nEntry[] getEntries(@NotNull II18nLang lang);
+
+    /**
+     * Retrieves the compiled template of the specified id for the specified language.
+     *
+     * @param lang the language to look up. Must not be {@code null}.
+     * @param id   the id of the message. Must not be {@code null}.
+     * @return the compiled template, or {@code null} if no entry of the language defines the id
+     */
+    @Nullable II18nTemplate getTemplate(@NotNull II18nLang lang, @NotNull String id);
+
+    /**
+     * Retrieves the compiled template of the specified key for the specified language.
+     * Implementations that index their templates by slot resolve the key without hashing its id.
+     *
+     * @param lang the language to look up. Must not be {@code null}.
+     * @param key  the key of the message. Must not be {@code null}.
+     * @return the compiled template, or {@code null} if no entry of the language defines the key
+     */
+    default @Nullable II18nTemplate getTemplate(@NotNull final II18nLang lang, @NotNull final I18nKey key) {
+        return this.getTemplate(lang, key.getId());
+    }
+
+    /**
+     * Retrieves all entries held by this catalog.
+     *
+     * @return an array of all entries. Never {@code null}, but may be empty.
+     */
+    @NotNull II18nEntry[] getEntries();
+
+    /**
+     * Retrieves all distinct languages that have at least one entry in this catalog.
+     *
+     * @return an array of languages. Never {@code null}, but may be empty.
+     */
+    @NotNull II18nLang[] getLangs();
+
+    /**
+     * Checks whether this catalog holds an entry for the specified language.
+     *
+     * @param lang the language to check. Must not be {@code null}.
+     * @return {@code true} if an entry exists for the specified language, {@code false} otherwise
+     */
+    boolean hasEntry(@NotNull II18nLang lang);
+}
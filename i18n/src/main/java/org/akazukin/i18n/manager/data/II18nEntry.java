@@ -1,11 +1,20 @@
 package org.akazukin.i18n.manager.data;
 
+import org.akazukin.i18n.utils.I18nTemplateUtils;
 import org.akazukin.resource.identifier.IResourceIdentifier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 
+/**
+ * Represents the localized messages of one language read from one resource.
+ * <p>
+ * Replacing the messages with {@link #setEntries(Map)} is an optional operation.
+ * The entries an entry manager loads are immutable and throw {@link UnsupportedOperationException} from it.
+ * To change such an entry, take a {@link #mutableCopy() mutable copy}, set its messages,
+ * and publish it with {@link org.akazukin.i18n.manager.IEntryManager#putEntry(II18nEntry)}.
+ */
 public interface II18nEntry {
     II18nEntry[] EMPTY_ARR = {};
 
@@ -15,11 +24,57 @@ public interface II18nEntry {
 
     @Nullable String getEntry(@NotNull String id);
 
+    /**
+     * Retrieves the compiled template of the specified id.
+     * Implementations should compile their values once when they are set and return the cached result.
+     *
+     * @param id the id of the entry
+     * @return the compiled template, or {@code null} if the entry does not exist
+     */
+    default @Nullable II18nTemplate getTemplate(@NotNull final String id) {
+        final String value = this.getEntry(id);
+        if (value == null) {
+            return null;
+        }
+        return I18nTemplateUtils.compile(value);
+    }
+
     boolean hasEntryId(@NotNull String id);
 
     @NotNull String[] getEntryIds();
 
+    /**
+     * Retrieves the number of messages of this entry.
+     * The default implementation counts {@link #getEntryIds()},
+     * so implementations should override it when the ids are costly to build.
+     *
+     * @return the number of messages
+     */
+    default int getSize() {
+        return this.getEntryIds().length;
+    }
+
     @NotNull Map<String, String> getEntries();
 
+    /**
+     * Replaces the messages of this entry (optional operation).
+     *
+     * @param entries the raw messages by id. Must not be {@code null}.
+     * @throws UnsupportedOperationException if this entry is immutable
+     * @see #mutableCopy()
+     */
     void setEntries(@NotNull Map<String, String> entries);
+
+    /**
+     * Creates a mutable entry of the same language, identifier and messages.
+     * The copy is independent of this entry and of the entry manager,
+     * so changes to it take effect only once it is put into the manager.
+     *
+     * @return a new mutable entry. Never {@code null}.
+     */
+    default @NotNull I18nEntry mutableCopy() {
+        final I18nEntry copy = new I18nEntry(this.getLang(), this.getIdentifier());
+        copy.setEntries(this.getEntries());
+        return copy;
+    }
 }
@@ -0,0 +1,111 @@
+package org.akazukin.i18n.manager.data;
+
+import org.akazukin.i18n.manager.I18nUtf8Output;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a localized value that has been parsed once into a list of segments.
+ * <p>
+ * Each segment is either a plain literal, an argument slot written as {@code <args[n]>},
+ * or a reference to another message written as {@code <$id>}.
+ * Formatters render a template by walking its segments instead of re-parsing the raw value on every call.
+ */
+public interface II18nTemplate {
+    /**
+     * The segment type of plain text that is copied to the output as-is.
+     */
+    byte LITERAL = 0;
+    /**
+     * The segment type of an argument slot written as {@code <args[n]>}.
+     */
+    byte ARG = 1;
+    /**
+     * The segment type of a reference to another message written as {@code <$id>}.
+     */
+    byte REF = 2;
+
+    /**
+     * Returns the raw value this template was compiled from.
+     *
+     * @return the raw value. Must not be {@code null}.
+     */
+    @NotNull String getSource();
+
+    /**
+     * Returns the fully rendered text if this template contains neither argument slots nor references.
+     *
+     * @return the constant text, or {@code null} if the template has to be rendered
+     */
+    @Nullable String getConstant();
+
+    /**
+     * Returns the number of segments in this template.
+     *
+     * @return the number of segments
+     */
+    int getSegmentCount();
+
+    /**
+     * Returns the type of the segment at the specified index.
+     *
+     * @param index the index of the segment
+     * @return one of {@link #LITERAL}, {@link #ARG} or {@link #REF}
+     */
+    byte getSegmentType(int index);
+
+    /**
+     * Returns the text of the segment at the specified index.
+     * <p>
+     * For {@link #LITERAL} segments this is the literal text,
+     * for {@link #REF} segments this is the referenced message id,
+     * and for {@link #ARG} segments this is the original placeholder text,
+     * which is written as-is when the argument is not supplied.
+     *
+     * @param index the index of the segment
+     * @return the text of the segment. Must not be {@code null}.
+     */
+    @NotNull String getSegmentText(int index);
+
+    /**
+     * Returns the argument index of the segment at the specified index.
+     *
+     * @param index the index of the segment
+     * @return the argument index for {@link #ARG} segments, or {@code -1} for the other types
+     */
+    int getArgIndex(int index);
+
+    /**
+     * Returns the total length of all literal segments.
+     * This is used to size the output buffer up front.
+     *
+     * @return the total length of all literal segments
+     */
+    int getLiteralLength();
+
+    /**
+     * Writes the text of the segment at the specified index in UTF-8.
+     * Implementations should keep the literals encoded, so rendering to bytes only encodes the arguments.
+     * The default implementation encodes the text on every call.
+     *
+     * @param index the index of the segment
+     * @param out   the output to write to. Must not be {@code null}.
+     * @see #getSegmentText(int)
+     */
+    default void writeUtf8(final int index, @NotNull final I18nUtf8Output out) {
+        out.write(this.getSegmentText(index));
+    }
+
+    /**
+     * Returns this template as it was compiled, before any reference was inlined.
+     * <p>
+     * A catalog inlines the references to constant messages of the same language when it is built,
+     * which renders identically only while the template is rendered for its own language first.
+     * A template found further down a language chain is rendered from this one instead.
+     *
+     * @return the template before linking, or this template if nothing was inlined. Must not be {@code null}.
+     */
+    default @NotNull II18nTemplate getUnlinked() {
+        return this;
+    }
+}
@@ -0,0 +1,273 @@
+package org.akazukin.i18n.manager.data;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents an ordered chain of languages to look a message up in, the preferred language first.
+ * <p>
+ * A chain is built once and kept, typically per recipient, in place of an {@code II18nLang[]} built on every call.
+ * Chains are interned by their language ids, so equal chains in use at the same time are the same instance.
+ * The intern only holds weak references, so a chain built from a client-supplied tag
+ * is reclaimed with everything derived from it once no one keeps it.
+ * Every derived chain, such as the one with the fallback language appended
+ * or the one with {@link II18nLang#FALLBACK} replaced by the fallback language of a formatter,
+ * is computed once and then returned from the chain it was derived from,
+ * so a formatter rendering with a chain neither allocates nor resolves the fallback language.
+ * <p>
+ * This class is immutable.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public final class LangChain {
+    /**
+     * The interned chains by id. Every chain is the only strong holder of its id, which is the key of its entry.
+     */
+    private static final Map<String, WeakReference<LangChain>> CHAINS = new WeakHashMap<>();
+
+    /**
+     * The chain of only the fallback language.
+     */
+    public static final LangChain FALLBACK = of(II18nLang.FALLBACK);
+
+    II18nLang[] langs;
+    String id;
+    boolean resolved;
+    @NonFinal
+    volatile LangChain withFallback;
+    /**
+     * The resolved chains by fallback language. Only chains that contain the fallback language resolve anything.
+     */
+    Map<II18nLang, LangChain> resolutions;
+    @NonFinal
+    volatile LangChain withoutFallback;
+    @NonFinal
+    volatile LangChain[] steps;
+
+    private LangChain(@NotNull final II18nLang[] langs, @NotNull final String id) {
+        this.langs = langs;
+        this.id = id;
+
+        boolean resolved = true;
+        for (final II18nLang lang : langs) {
+            if (lang.equalsId(II18nLang.FALLBACK)) {
+                resolved = false;
+                break;
+            }
+        }
+        this.resolved = resolved;
+        this.resolutions = resolved ? null : new ConcurrentHashMap<>(4);
+    }
+
+    /**
+     * Retrieves the chain of the specified languages.
+     *
+     * @param langs the languages, the preferred one first. Must not be {@code null}.
+     * @return the interned chain. Never {@code null}.
+     */
+    public static @NotNull LangChain of(@NotNull final II18nLang... langs) {
+        final StringBuilder sb = new StringBuilder();
+        for (final II18nLang lang : langs) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(lang.getId());
+        }
+
+        final String id = sb.toString();
+        synchronized (CHAINS) {
+            final WeakReference<LangChain> ref = CHAINS.get(id);
+            final LangChain pooled = ref != null ? ref.get() : null;
+            if (pooled != null) {
+                return pooled;
+            }
+            final LangChain chain = new LangChain(langs.clone(), id);
+            CHAINS.put(chain.id, new WeakReference<>(chain));
+            return chain;
+        }
+    }
+
+    /**
+     * Derives the chain of a BCP-47 language tag, such as {@code ja-JP}.
+     * <p>
+     * Every subtag is dropped from the end in turn, and the fallback language is appended last,
+     * so {@code ja-JP} becomes {@code ja_jp}, {@code ja}, {@link II18nLang#FALLBACK}.
+     * The language ids are the subtags joined by {@code _} in lower case, as the language files are named.
+     * Both {@code -} and {@code _} are accepted as separators, and private-use and extension subtags are ignored.
+     *
+     * @param tag the language tag. Must not be {@code null}.
+     * @return the interned chain. Never {@code null}.
+     */
+    public static @NotNull LangChain forTag(@NotNull final String tag) {
+        final List<String> subtags = new ArrayList<>();
+        for (final String subtag : tag.toLowerCase(Locale.ROOT).split("[-_]")) {
+            if (subtag.length() == 1) {
+                // A singleton starts an extension or a private-use sequence
+                break;
+            }
+            if (!subtag.isEmpty()) {
+                subtags.add(subtag);
+            }
+        }
+
+        final II18nLang[] langs = new II18nLang[subtags.size() + 1];
+        for (int i = subtags.size(); i > 0; i--) {
+            langs[subtags.size() - i] = new I18nLang(String.join("_", subtags.subList(0, i)));
+        }
+        langs[subtags.size()] = II18nLang.FALLBACK;
+        return of(langs);
+    }
+
+    /**
+     * Retrieves the number of languages in this chain.
+     *
+     * @return the number of languages
+     */
+    public int size() {
+        return this.langs.length;
+    }
+
+    /**
+     * Retrieves the language at the specified position.
+     *
+     * @param index the position, where {@code 0} is the preferred language
+     * @return the language
+     * @throws IndexOutOfBoundsException if the position is out of the chain
+     */
+    public @NotNull II18nLang get(final int index) {
+        return this.langs[index];
+    }
+
+    /**
+     * Copies the languages of this chain into a new array.
+     *
+     * @return a new array of the languages
+     */
+    public @NotNull II18nLang[] toArray() {
+        return this.langs.clone();
+    }
+
+    /**
+     * Checks whether this chain contains no {@link II18nLang#FALLBACK} left to be replaced.
+     *
+     * @return {@code true} if every language of this chain is a concrete language
+     */
+    public boolean isResolved() {
+        return this.resolved;
+    }
+
+    /**
+     * Retrieves this chain with {@link II18nLang#FALLBACK} appended, unless it already contains it.
+     *
+     * @return the chain with the fallback language. Never {@code null}.
+     */
+    public @NotNull LangChain withFallback() {
+        LangChain chain = this.withFallback;
+        if (chain == null) {
+            if (!this.resolved) {
+                chain = this;
+            } else {
+                final II18nLang[] langs = new II18nLang[this.langs.length + 1];
+                System.arraycopy(this.langs, 0, langs, 0, this.langs.length);
+                langs[this.langs.length] = II18nLang.FALLBACK;
+                chain = of(langs);
+            }
+            this.withFallback = chain;
+        }
+        return chain;
+    }
+
+    /**
+     * Retrieves this chain with {@link II18nLang#FALLBACK} replaced by the specified language.
+     * A language that appears again later in the chain is only kept at its first position.
+     * <p>
+     * The result is kept for every fallback language, so resolving again with the same language is free.
+     *
+     * @param fallbackLang the language to replace the fallback language with,
+     *                     or {@code null} to remove the fallback language
+     * @return the resolved chain. Never {@code null}.
+     */
+    public @NotNull LangChain resolve(@Nullable final II18nLang fallbackLang) {
+        if (this.resolved) {
+            return this;
+        }
+
+        final LangChain resolved = fallbackLang == null ? this.withoutFallback : this.resolutions.get(fallbackLang);
+        if (resolved != null) {
+            return resolved;
+        }
+
+        final List<II18nLang> langs = new ArrayList<>(this.langs.length);
+        for (II18nLang lang : this.langs) {
+            if (lang.equalsId(II18nLang.FALLBACK)) {
+                if (fallbackLang == null) {
+                    continue;
+                }
+                lang = fallbackLang;
+            }
+
+            boolean seen = false;
+            for (final II18nLang other : langs) {
+                if (other.equalsId(lang)) {
+                    seen = true;
+                    break;
+                }
+            }
+            if (!seen) {
+                langs.add(lang);
+            }
+        }
+
+        final LangChain chain = of(langs.toArray(new II18nLang[0]));
+        if (fallbackLang == null) {
+            this.withoutFallback = chain;
+        } else {
+            this.resolutions.put(fallbackLang, chain);
+        }
+        return chain;
+    }
+
+    /**
+     * Retrieves the chain of only the language at the specified position.
+     *
+     * @param index the position, where {@code 0} is the preferred language
+     * @return the chain of the single language. Never {@code null}.
+     * @throws IndexOutOfBoundsException if the position is out of the chain
+     */
+    public @NotNull LangChain getStep(final int index) {
+        LangChain[] steps = this.steps;
+        if (steps == null) {
+            steps = new LangChain[this.langs.length];
+            for (int i = 0; i < steps.length; i++) {
+                steps[i] = of(this.langs[i]);
+            }
+            this.steps = steps;
+        }
+        return steps[index];
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof LangChain && this.id.equals(((LangChain) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.id.hashCode();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "LangChain[" + this.id + "]";
+    }
+}
@@ -0,0 +1,381 @@
+package org.akazukin.i18n.manager.data;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import org.akazukin.i18n.manager.I18nUtf8Output;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Represents an immutable entry in i18n whose ids and compiled templates are stored outside the Java heap.
+ * <p>
+ * Everything is encoded into one direct buffer, so a large catalog neither fills the old generation
+ * nor is traversed by the garbage collector, and the text takes one byte per character for most languages
+ * instead of two. The buffer holds, in this order:
+ * <pre>
+ * table      an open-addressing table probed linearly, for each slot:
+ *              int hash of the id, int id offset, int id length, int template offset (0 if the slot is empty)
+ * templates  for each template:
+ *              int source offset, int source length, int literal length, int segment count, int constant flag,
+ *              and for each segment: int type, int argument index, int text offset, int text length
+ * strings    the UTF-8 bytes of every distinct id, source and segment text
+ * </pre>
+ * Ids are compared against the UTF-8 bytes in place, so a lookup allocates nothing but the returned view.
+ * The returned templates are views of the buffer, which decode a text only when it is requested while rendering,
+ * and write their texts straight from the buffer when rendering to bytes.
+ * <p>
+ * The memory is released when the entry is garbage collected, and counts against {@code -XX:MaxDirectMemorySize}.
+ * The entries cannot be replaced, so {@link #setEntries(Map)} is not supported.
+ * Load the resource again, or put a {@link #mutableCopy() mutable copy} into the entry manager instead.
+ * This class is immutable.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ToString(onlyExplicitlyIncluded = true)
+public final class OffHeapI18nEntry implements II18nEntry {
+    private static final int SLOT_SIZE = 16;
+    private static final int TEMPLATE_HEADER_SIZE = 20;
+    private static final int SEGMENT_SIZE = 16;
+
+    @Getter
+    @ToString.Include
+    II18nLang lang;
+    @Getter
+    @ToString.Include
+    IResourceIdentifier identifier;
+    @Getter
+    @ToString.Include
+    int size;
+    int capacity;
+    ByteBuffer data;
+
+    /**
+     * Constructs a new off-heap entry from compiled templates.
+     * The templates are encoded into the buffer and can be discarded afterward.
+     *
+     * @param lang       the language of the entry
+     * @param identifier the identifier of the entry
+     * @param templates  the compiled templates by id
+     */
+    public OffHeapI18nEntry(@NotNull final II18nLang lang, @NotNull final IResourceIdentifier identifier,
+                            @NotNull final Map<String, II18nTemplate> templates) {
+        this.lang = lang;
+        this.identifier = identifier;
+        this.size = templates.size();
+        // Keep the load factor at or below one half, so probe sequences stay short
+        this.capacity = this.size == 0 ? 0 : Integer.highestOneBit(Math.max(this.size * 2 - 1, 1)) << 1;
+
+        // Every distinct string is encoded once and shared by all ids and templates that use it
+        final Map<String, byte[]> strings = new LinkedHashMap<>();
+        int templatesSize = 0;
+        for (final Map.Entry<String, II18nTemplate> e : templates.entrySet()) {
+            final II18nTemplate template = e.getValue();
+            strings.computeIfAbsent(e.getKey(), OffHeapI18nEntry::encode);
+            strings.computeIfAbsent(template.getSource(), OffHeapI18nEntry::encode);
+            for (int i = 0; i < template.getSegmentCount(); i++) {
+                strings.computeIfAbsent(template.getSegmentText(i), OffHeapI18nEntry::encode);
+            }
+            templatesSize += TEMPLATE_HEADER_SIZE + template.getSegmentCount() * SEGMENT_SIZE;
+        }
+
+        final int stringsStart = this.capacity * SLOT_SIZE + templatesSize;
+        final Map<String, Integer> offsets = new HashMap<>((int) (strings.size() / 0.75f) + 1);
+        int stringsSize = 0;
+        for (final Map.Entry<String, byte[]> e : strings.entrySet()) {
+            offsets.put(e.getKey(), stringsStart + stringsSize);
+            stringsSize += e.getValue().length;
+        }
+
+        final ByteBuffer data = ByteBuffer.allocateDirect(stringsStart + stringsSize).order(ByteOrder.nativeOrder());
+        data.position(stringsStart);
+        for (final byte[] bytes : strings.values()) {
+            data.put(bytes);
+        }
+
+        final int mask = this.capacity - 1;
+        int templateOffset = this.capacity * SLOT_SIZE;
+        for (final Map.Entry<String, II18nTemplate> e : templates.entrySet()) {
+            final String key = e.getKey();
+            final II18nTemplate template = e.getValue();
+            final int hash = spread(key.hashCode());
+            int slot = hash & mask;
+            while (data.getInt(slot * SLOT_SIZE + 12) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            data.putInt(slot * SLOT_SIZE, hash);
+            data.putInt(slot * SLOT_SIZE + 4, offsets.get(key));
+            data.putInt(slot * SLOT_SIZE + 8, strings.get(key).length);
+            data.putInt(slot * SLOT_SIZE + 12, templateOffset);
+
+            final int segmentCount = template.getSegmentCount();
+            data.putInt(templateOffset, offsets.get(template.getSource()));
+            data.putInt(templateOffset + 4, strings.get(template.getSource()).length);
+            data.putInt(templateOffset + 8, template.getLiteralLength());
+            data.putInt(templateOffset + 12, segmentCount);
+            data.putInt(templateOffset + 16, template.getConstant() != null ? 1 : 0);
+            int segmentOffset = templateOffset + TEMPLATE_HEADER_SIZE;
+            for (int i = 0; i < segmentCount; i++) {
+                final String text = template.getSegmentText(i);
+                data.putInt(segmentOffset, template.getSegmentType(i));
+                data.putInt(segmentOffset + 4, template.getArgIndex(i));
+                data.putInt(segmentOffset + 8, offsets.get(text));
+                data.putInt(segmentOffset + 12, strings.get(text).length);
+                segmentOffset += SEGMENT_SIZE;
+            }
+            templateOffset = segmentOffset;
+        }
+        this.data = data;
+    }
+
+    private static int spread(final int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static @NotNull byte[] encode(@NotNull final String str) {
+        return str.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static @NotNull String decode(@NotNull final ByteBuffer data, final int offset, final int length) {
+        if (length == 0) {
+            return "";
+        }
+        final byte[] bytes = new byte[length];
+        final ByteBuffer view = data.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares the UTF-8 bytes at the offset with the string, decoding them one code point at a time.
+     */
+    private static boolean equalsUtf8(@NotNull final ByteBuffer data, final int offset, final int length,
+                                      @NotNull final String str) {
+        final int n = str.length();
+        // Every char takes one to three bytes, and a surrogate pair takes four
+        if (length < n || length > n * 3) {
+            return false;
+        }
+
+        int p = offset;
+        final int end = offset + length;
+        int i = 0;
+        while (p < end) {
+            final int b = data.get(p) & 0xFF;
+            final int cp;
+            if (b < 0x80) {
+                cp = b;
+                p++;
+            } else if (b < 0xE0) {
+                cp = (b & 0x1F) << 6 | data.get(p + 1) & 0x3F;
+                p += 2;
+            } else if (b < 0xF0) {
+                cp = (b & 0x0F) << 12 | (data.get(p + 1) & 0x3F) << 6 | data.get(p + 2) & 0x3F;
+                p += 3;
+            } else {
+                cp = (b & 0x07) << 18 | (data.get(p + 1) & 0x3F) << 12
+                        | (data.get(p + 2) & 0x3F) << 6 | data.get(p + 3) & 0x3F;
+                p += 4;
+            }
+
+            if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                if (i >= n || str.charAt(i) != cp) {
+                    return false;
+                }
+                i++;
+            } else {
+                if (i + 1 >= n
+                        || str.charAt(i) != Character.highSurrogate(cp)
+                        || str.charAt(i + 1) != Character.lowSurrogate(cp)) {
+                    return false;
+                }
+                i += 2;
+            }
+        }
+        return i == n;
+    }
+
+    /**
+     * Returns the number of bytes this entry occupies outside the heap.
+     *
+     * @return the capacity of the buffer
+     */
+    public int getMemorySize() {
+        return this.data.capacity();
+    }
+
+    @Override
+    public @Nullable String getEntry(@NotNull final String id) {
+        final II18nTemplate template = this.getTemplate(id);
+        return template != null ? template.getSource() : null;
+    }
+
+    @Override
+    public @Nullable II18nTemplate getTemplate(@NotNull final String id) {
+        if (this.capacity == 0) {
+            return null;
+        }
+
+        final ByteBuffer data = this.data;
+        final int hash = spread(id.hashCode());
+        final int mask = this.capacity - 1;
+        int slot = hash & mask;
+        int templateOffset;
+        while ((templateOffset = data.getInt(slot * SLOT_SIZE + 12)) != 0) {
+            if (data.getInt(slot * SLOT_SIZE) == hash
+                    && equalsUtf8(data, data.getInt(slot * SLOT_SIZE + 4), data.getInt(slot * SLOT_SIZE + 8), id)) {
+                return new Template(data, templateOffset);
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasEntryId(@NotNull final String id) {
+        return this.getTemplate(id) != null;
+    }
+
+    @Override
+    public @NotNull String[] getEntryIds() {
+        final String[] ids = new String[this.size];
+        int n = 0;
+        for (int slot = 0; slot < this.capacity; slot++) {
+            if (this.data.getInt(slot * SLOT_SIZE + 12) != 0) {
+                ids[n++] = this.getKey(slot);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Retrieves a copy of the raw values by id, decoded onto the heap.
+     *
+     * @return a new map of the raw values
+     */
+    @Override
+    public @NotNull Map<String, String> getEntries() {
+        final Map<String, String> entries = new HashMap<>((int) (this.size / 0.75f) + 1);
+        for (int slot = 0; slot < this.capacity; slot++) {
+            final int templateOffset = this.data.getInt(slot * SLOT_SIZE + 12);
+            if (templateOffset != 0) {
+                entries.put(this.getKey(slot), new Template(this.data, templateOffset).getSource());
+            }
+        }
+        return entries;
+    }
+
+    private @NotNull String getKey(final int slot) {
+        return decode(this.data, this.data.getInt(slot * SLOT_SIZE + 4), this.data.getInt(slot * SLOT_SIZE + 8));
+    }
+
+    /**
+     * Always throws, since an off-heap entry cannot be modified.
+     * Use {@link #mutableCopy()} to get an entry that can, which is kept on the heap.
+     *
+     * @param entries ignored
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void setEntries(@NotNull final Map<String, String> entries) {
+        throw new UnsupportedOperationException(
+                "An off-heap entry cannot be modified, modify a mutable copy instead. | " + this.identifier);
+    }
+
+    /**
+     * A view of a template encoded in the buffer of an entry.
+     * Every text is decoded from the buffer each time it is requested.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static final class Template implements II18nTemplate {
+        ByteBuffer data;
+        int offset;
+
+        private Template(@NotNull final ByteBuffer data, final int offset) {
+            this.data = data;
+            this.offset = offset;
+        }
+
+        @Override
+        public @NotNull String getSource() {
+            return decode(this.data, this.data.getInt(this.offset), this.data.getInt(this.offset + 4));
+        }
+
+        @Override
+        public @Nullable String getConstant() {
+            if (this.data.getInt(this.offset + 16) == 0) {
+                return null;
+            }
+
+            final int count = this.getSegmentCount();
+            if (count == 1) {
+                return this.getSegmentText(0);
+            }
+            final StringBuilder sb = new StringBuilder(this.getLiteralLength());
+            for (int i = 0; i < count; i++) {
+                sb.append(this.getSegmentText(i));
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public int getSegmentCount() {
+            return this.data.getInt(this.offset + 12);
+        }
+
+        @Override
+        public byte getSegmentType(final int index) {
+            return (byte) this.data.getInt(this.segment(index));
+        }
+
+        @Override
+        public @NotNull String getSegmentText(final int index) {
+            final int segment = this.segment(index);
+            return decode(this.data, this.data.getInt(segment + 8), this.data.getInt(segment + 12));
+        }
+
+        @Override
+        public int getArgIndex(final int index) {
+            return this.data.getInt(this.segment(index) + 4);
+        }
+
+        @Override
+        public int getLiteralLength() {
+            return this.data.getInt(this.offset + 8);
+        }
+
+        /**
+         * Writes the UTF-8 bytes of the segment straight from the buffer.
+         */
+        @Override
+        public void writeUtf8(final int index, @NotNull final I18nUtf8Output out) {
+            final int segment = this.segment(index);
+            final int offset = this.data.getInt(segment + 8);
+            final ByteBuffer view = this.data.duplicate();
+            view.limit(offset + this.data.getInt(segment + 12));
+            view.position(offset);
+            out.write(view);
+        }
+
+        private int segment(final int index) {
+            if (index < 0 || index >= this.getSegmentCount()) {
+                throw new IndexOutOfBoundsException("The segment index is out of range. | " + index);
+            }
+            return this.offset + TEMPLATE_HEADER_SIZE + index * SEGMENT_SIZE;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "OffHeapI18nEntry.Template(source=" + this.getSource() + ")";
+        }
+    }
+}
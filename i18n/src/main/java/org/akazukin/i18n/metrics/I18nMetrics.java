@@ -0,0 +1,324 @@
+package org.akazukin.i18n.metrics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.akazukin.i18n.manager.data.II18nCatalog;
+import org.akazukin.i18n.manager.data.II18nEntry;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-memory implementation of {@link II18nMetrics}.
+ * <p>
+ * Counters are kept in {@link LongAdder}s, so recording from many rendering threads does not contend.
+ * Render times are kept in a histogram of power-of-two nanosecond buckets,
+ * which is precise enough to tell the percentiles apart without storing every sample.
+ * <p>
+ * Missing messages are aggregated by an {@link I18nMissingKeyRecorder}, which is available from {@link #getMissingKeys()}.
+ * <p>
+ * Use {@link org.akazukin.i18n.utils.I18nMetricsUtils} to dump the recorded values as text.
+ * This class is thread-safe.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public final class I18nMetrics implements II18nMetrics {
+    /**
+     * The number of fallback depths counted separately. Deeper resolutions are counted in the last depth.
+     */
+    public static final int MAX_DEPTH = 8;
+    /**
+     * The number of buckets of the render time histogram.
+     * Bucket {@code i} counts renders that took at least {@code 2^i} and less than {@code 2^(i+1)} nanoseconds.
+     */
+    public static final int HISTOGRAM_BUCKETS = 64;
+
+    Map<String, LangStats> langStats = new ConcurrentHashMap<>();
+    LongAdder[] depths = newAdders(MAX_DEPTH);
+    LongAdder unresolved = new LongAdder();
+    LongAdder referenceCycles = new LongAdder();
+    LongAdder[] renderBuckets = newAdders(HISTOGRAM_BUCKETS);
+    LongAdder renderCount = new LongAdder();
+    LongAdder renderTotalNanos = new LongAdder();
+    LongAccumulator renderMaxNanos = new LongAccumulator(Math::max, 0L);
+    Map<String, LoadStats> loadStats = new ConcurrentHashMap<>();
+    Map<String, Integer> entryCounts = new ConcurrentHashMap<>();
+    Map<String, Integer> messageCounts = new ConcurrentHashMap<>();
+    @Getter
+    I18nMissingKeyRecorder missingKeys = new I18nMissingKeyRecorder();
+
+    private static @NotNull LongAdder[] newAdders(final int size) {
+        final LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static long[] sum(@NotNull final LongAdder[] adders) {
+        final long[] values = new long[adders.length];
+        for (int i = 0; i < adders.length; i++) {
+            values[i] = adders[i].sum();
+        }
+        return values;
+    }
+
+    @Override
+    public void recordLookup(@NotNull final II18nLang lang, final boolean hit) {
+        // Java 8 locks the bin in computeIfAbsent even if the key is present, so the lock-free get comes first
+        LangStats stats = this.langStats.get(lang.getId());
+        if (stats == null) {
+            stats = this.langStats.computeIfAbsent(lang.getId(), k -> new LangStats());
+        }
+        (hit ? stats.hits : stats.misses).increment();
+    }
+
+    @Override
+    public void recordResolution(final int depth) {
+        if (depth < 0) {
+            this.unresolved.increment();
+        } else {
+            this.depths[Math.min(depth, MAX_DEPTH - 1)].increment();
+        }
+    }
+
+    @Override
+    public void recordMissing(@NotNull final String id, @NotNull final II18nLang[] langs) {
+        this.missingKeys.recordMissing(id, langs);
+    }
+
+    @Override
+    public void recordReferenceCycle(@NotNull final String id, @NotNull final II18nLang[] langs) {
+        this.referenceCycles.increment();
+    }
+
+    @Override
+    public void recordRender(final long nanos) {
+        final long value = Math.max(nanos, 1L);
+        this.renderBuckets[63 - Long.numberOfLeadingZeros(value)].increment();
+        this.renderCount.increment();
+        this.renderTotalNanos.add(value);
+        this.renderMaxNanos.accumulate(value);
+    }
+
+    @Override
+    public void recordLoad(@NotNull final IResourceIdentifier identifier, @NotNull final II18nLang lang,
+                           final long nanos, final boolean reload) {
+        final String key = identifier.toString();
+        LoadStats stats = this.loadStats.get(key);
+        if (stats == null) {
+            stats = this.loadStats.computeIfAbsent(key, k -> new LoadStats());
+        }
+        (reload ? stats.reloads : stats.loads).increment();
+        stats.totalNanos.add(nanos);
+        stats.lastNanos = nanos;
+    }
+
+    @Override
+    public void recordCatalog(@NotNull final II18nCatalog catalog) {
+        final Map<String, Integer> entryCounts = new LinkedHashMap<>();
+        final Map<String, Integer> messageCounts = new LinkedHashMap<>();
+        for (final II18nLang lang : catalog.getLangs()) {
+            final II18nEntry[] entries = catalog.getEntries(lang);
+            int messages = 0;
+            for (final II18nEntry entry : entries) {
+                messages += entry.getSize();
+            }
+            entryCounts.put(lang.getId(), entries.length);
+            messageCounts.put(lang.getId(), messages);
+        }
+
+        synchronized (this) {
+            this.entryCounts.keySet().retainAll(entryCounts.keySet());
+            this.entryCounts.putAll(entryCounts);
+            this.messageCounts.keySet().retainAll(messageCounts.keySet());
+            this.messageCounts.putAll(messageCounts);
+        }
+    }
+
+    /**
+     * Returns the lookup counters by language id.
+     *
+     * @return an unmodifiable live view of the counters
+     */
+    public @NotNull Map<String, LangStats> getLangStats() {
+        return Collections.unmodifiableMap(this.langStats);
+    }
+
+    /**
+     * Returns the number of lookups resolved at every fallback depth.
+     *
+     * @return a new array of {@link #MAX_DEPTH} counts
+     */
+    public long[] getResolutionDepths() {
+        return sum(this.depths);
+    }
+
+    /**
+     * Returns the number of lookups that no language of the chain could resolve.
+     *
+     * @return the number of unresolved lookups
+     */
+    public long getUnresolvedCount() {
+        return this.unresolved.sum();
+    }
+
+    /**
+     * Returns the number of references left unrendered because they nest too deeply.
+     *
+     * @return the number of reference cycles
+     */
+    public long getReferenceCycleCount() {
+        return this.referenceCycles.sum();
+    }
+
+    /**
+     * Returns the render time histogram.
+     *
+     * @return a new array of {@link #HISTOGRAM_BUCKETS} counts
+     */
+    public long[] getRenderHistogram() {
+        return sum(this.renderBuckets);
+    }
+
+    public long getRenderCount() {
+        return this.renderCount.sum();
+    }
+
+    public long getRenderTotalNanos() {
+        return this.renderTotalNanos.sum();
+    }
+
+    public long getRenderMaxNanos() {
+        return this.renderMaxNanos.get();
+    }
+
+    /**
+     * Estimates a percentile of the render time from the histogram.
+     * The result is the upper bound of the bucket that contains the percentile,
+     * so it overestimates the actual value by less than a factor of two.
+     *
+     * @param percentile the percentile between {@code 0} and {@code 100}
+     * @return the estimated render time in nanoseconds, or {@code 0} if nothing has been rendered
+     */
+    public long getRenderPercentileNanos(final double percentile) {
+        final long[] histogram = this.getRenderHistogram();
+        long total = 0;
+        for (final long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = (long) Math.ceil(total * Math.min(Math.max(percentile, 0), 100) / 100);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= Math.max(rank, 1)) {
+                return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the load timings by resource.
+     *
+     * @return an unmodifiable live view of the timings
+     */
+    public @NotNull Map<String, LoadStats> getLoadStats() {
+        return Collections.unmodifiableMap(this.loadStats);
+    }
+
+    /**
+     * Returns the number of entries of every language in the latest published catalog.
+     *
+     * @return an unmodifiable live view of the counts
+     */
+    public @NotNull Map<String, Integer> getEntryCounts() {
+        return Collections.unmodifiableMap(this.entryCounts);
+    }
+
+    /**
+     * Returns the number of messages of every language in the latest published catalog,
+     * counting a message once for every entry that defines it.
+     *
+     * @return an unmodifiable live view of the counts
+     */
+    public @NotNull Map<String, Integer> getMessageCounts() {
+        return Collections.unmodifiableMap(this.messageCounts);
+    }
+
+    /**
+     * Clears every recorded value.
+     */
+    public synchronized void reset() {
+        this.langStats.clear();
+        for (final LongAdder depth : this.depths) {
+            depth.reset();
+        }
+        this.unresolved.reset();
+        for (final LongAdder bucket : this.renderBuckets) {
+            bucket.reset();
+        }
+        this.renderCount.reset();
+        this.renderTotalNanos.reset();
+        this.renderMaxNanos.reset();
+        this.loadStats.clear();
+        this.entryCounts.clear();
+        this.messageCounts.clear();
+        this.missingKeys.reset();
+    }
+
+    /**
+     * The lookup counters of one language.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    public static final class LangStats {
+        LongAdder hits = new LongAdder();
+        LongAdder misses = new LongAdder();
+
+        public long getHitCount() {
+            return this.hits.sum();
+        }
+
+        public long getMissCount() {
+            return this.misses.sum();
+        }
+    }
+
+    /**
+     * The load timings of one resource.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static final class LoadStats {
+        final LongAdder loads = new LongAdder();
+        final LongAdder reloads = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        volatile long lastNanos;
+
+        public long getLoadCount() {
+            return this.loads.sum();
+        }
+
+        public long getReloadCount() {
+            return this.reloads.sum();
+        }
+
+        public long getTotalNanos() {
+            return this.totalNanos.sum();
+        }
+
+        public long getLastNanos() {
+            return this.lastNanos;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package org.akazukin.i18n.metrics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link II18nMetrics} that aggregates the messages no language could resolve.
+ * <p>
+ * Misses are counted by message id and language chain, with the time each pair was first and last seen.
+ * Recording a repeated miss only hashes the id and the language ids and increments a counter,
+ * so untranslated messages can be found under real load without enabling debug logging.
+ * A miss is recorded where it is resolved, so misses answered from the cache of
+ * a {@link org.akazukin.i18n.manager.CachingI18nFormatter} are counted once per cache generation.
+ * <p>
+ * At most {@code maxKeys} distinct pairs are tracked, and the misses of further pairs are only counted as overflow,
+ * so a flood of bogus ids cannot grow the recorder without bounds.
+ * The recorded misses are reported on demand with {@link #report()}, or logged periodically
+ * with {@link #scheduleReport(ScheduledExecutorService, long, TimeUnit, int)}.
+ * This class is thread-safe.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public final class I18nMissingKeyRecorder implements II18nMetrics {
+    /**
+     * The default number of distinct pairs tracked.
+     */
+    public static final int DEFAULT_MAX_KEYS = 10000;
+
+    Map<MissKey, Counter> misses = new ConcurrentHashMap<>();
+    LongAdder overflow = new LongAdder();
+    int maxKeys;
+
+    public I18nMissingKeyRecorder() {
+        this(DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * Constructs a new recorder.
+     *
+     * @param maxKeys the number of distinct pairs of an id and a language chain to track
+     */
+    public I18nMissingKeyRecorder(final int maxKeys) {
+        if (maxKeys < 0) {
+            throw new IllegalArgumentException("The maximum number of keys must not be negative. | " + maxKeys);
+        }
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public void recordMissing(@NotNull final String id, @NotNull final II18nLang[] langs) {
+        final long now = System.currentTimeMillis();
+        final Counter counter = this.misses.get(new MissKey(id, langs));
+        if (counter != null) {
+            counter.record(now);
+            return;
+        }
+
+        if (this.misses.size() >= this.maxKeys) {
+            this.overflow.increment();
+            return;
+        }
+        // The chain is copied only when a new pair is stored, since the caller may reuse the array
+        final Counter added = new Counter(now);
+        final Counter existing = this.misses.putIfAbsent(new MissKey(id, langs.clone()), added);
+        (existing != null ? existing : added).record(now);
+    }
+
+    /**
+     * Returns the number of misses whose pair was not tracked because the recorder was full.
+     *
+     * @return the number of untracked misses
+     */
+    public long getOverflowCount() {
+        return this.overflow.sum();
+    }
+
+    /**
+     * Takes a snapshot of the recorded misses, the most frequent first.
+     *
+     * @return a new list of the recorded misses
+     */
+    public @NotNull List<Miss> report() {
+        final List<Miss> report = new ArrayList<>(this.misses.size());
+        for (final Map.Entry<MissKey, Counter> e : this.misses.entrySet()) {
+            final Counter counter = e.getValue();
+            report.add(new Miss(e.getKey().id, e.getKey().langIds(),
+                    counter.count.sum(), counter.firstSeen, counter.lastSeen));
+        }
+        report.sort(Comparator.comparingLong(Miss::getCount).reversed().thenComparing(Miss::getId));
+        return report;
+    }
+
+    /**
+     * Logs the most frequent recorded misses at the info level.
+     *
+     * @param limit the maximum number of misses to log
+     */
+    public void logReport(final int limit) {
+        final List<Miss> report = this.report();
+        if (report.isEmpty() && this.getOverflowCount() == 0) {
+            return;
+        }
+
+        final StringBuilder sb = new StringBuilder("Missing localization keys. | Keys: ").append(report.size());
+        if (this.getOverflowCount() > 0) {
+            sb.append(", Untracked misses: ").append(this.getOverflowCount());
+        }
+        for (int i = 0; i < report.size() && i < limit; i++) {
+            final Miss miss = report.get(i);
+            sb.append("\n  ").append(miss.getId())
+                    .append(' ').append(Arrays.toString(miss.getLangIds()))
+                    .append(" x").append(miss.getCount());
+        }
+        log.info(sb.toString());
+    }
+
+    /**
+     * Logs the most frequent recorded misses periodically on the executor.
+     *
+     * @param executor the executor to log on
+     * @param period   the period between two reports
+     * @param unit     the unit of the period
+     * @param limit    the maximum number of misses to log per report
+     * @return the scheduled task, which can be cancelled to stop reporting
+     */
+    public @NotNull ScheduledFuture<?> scheduleReport(@NotNull final ScheduledExecutorService executor,
+                                                      final long period, @NotNull final TimeUnit unit,
+                                                      final int limit) {
+        return executor.scheduleAtFixedRate(() -> this.logReport(limit), period, period, unit);
+    }
+
+    /**
+     * Clears every recorded miss.
+     */
+    public void reset() {
+        this.misses.clear();
+        this.overflow.reset();
+    }
+
+    /**
+     * A recorded miss of a message in a language chain.
+     * This class is immutable.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    @Getter
+    @ToString
+    public static final class Miss {
+        String id;
+        String[] langIds;
+        long count;
+        /**
+         * The time the miss was first seen, in milliseconds since the epoch.
+         */
+        long firstSeen;
+        /**
+         * The time the miss was last seen, in milliseconds since the epoch.
+         */
+        long lastSeen;
+
+        private Miss(@NotNull final String id, @NotNull final String[] langIds,
+                     final long count, final long firstSeen, final long lastSeen) {
+            this.id = id;
+            this.langIds = langIds;
+            this.count = count;
+            this.firstSeen = firstSeen;
+            this.lastSeen = lastSeen;
+        }
+
+        public @NotNull String[] getLangIds() {
+            return this.langIds.clone();
+        }
+    }
+
+    /**
+     * A pair of an id and a language chain, equal to another pair with the same id and language ids.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static final class MissKey {
+        String id;
+        II18nLang[] langs;
+        int hash;
+
+        private MissKey(@NotNull final String id, @NotNull final II18nLang[] langs) {
+            this.id = id;
+            this.langs = langs;
+            int hash = id.hashCode();
+            for (final II18nLang lang : langs) {
+                hash = hash * 31 + lang.getId().hashCode();
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MissKey)) {
+                return false;
+            }
+            final MissKey other = (MissKey) o;
+            if (this.hash != other.hash || !this.id.equals(other.id) || this.langs.length != other.langs.length) {
+                return false;
+            }
+            for (int i = 0; i < this.langs.length; i++) {
+                if (!this.langs[i].equalsId(other.langs[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        private @NotNull String[] langIds() {
+            final String[] ids = new String[this.langs.length];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = this.langs[i].getId();
+            }
+            return ids;
+        }
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private static final class Counter {
+        final LongAdder count = new LongAdder();
+        final long firstSeen;
+        volatile long lastSeen;
+
+        private Counter(final long now) {
+            this.firstSeen = now;
+        }
+
+        private void record(final long now) {
+            this.count.increment();
+            // A racing older time may win, which only makes the last seen time off by the race
+            this.lastSeen = now;
+        }
+    }
+}
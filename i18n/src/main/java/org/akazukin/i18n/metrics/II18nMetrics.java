@@ -0,0 +1,90 @@
+package org.akazukin.i18n.metrics;
+
+import org.akazukin.i18n.manager.data.II18nCatalog;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A listener that receives measurements of lookups, renders and loads.
+ * <p>
+ * Every method does nothing by default, so implementations only override what they record.
+ * Formatters and entry managers skip measuring entirely when given {@link #NOOP},
+ * so disabled metrics cost neither a clock read nor a call.
+ * <p>
+ * Implementations are called from rendering threads and must be thread-safe and cheap.
+ */
+public interface II18nMetrics {
+    /**
+     * The metrics that record nothing.
+     */
+    II18nMetrics NOOP = new II18nMetrics() {
+    };
+
+    /**
+     * Called for every language consulted while looking a message up.
+     *
+     * @param lang the language consulted, with the fallback language already resolved
+     * @param hit  {@code true} if the language defines the message
+     */
+    default void recordLookup(@NotNull final II18nLang lang, final boolean hit) {
+    }
+
+    /**
+     * Called once a message lookup over a language chain has finished.
+     *
+     * @param depth the index of the language in the chain that defined the message,
+     *              where {@code 0} is the preferred language, or {@code -1} if no language defined it
+     */
+    default void recordResolution(final int depth) {
+    }
+
+    /**
+     * Called when no language of the chain defined a message.
+     * This is called from the render hot path, so implementations should not build strings here.
+     *
+     * @param id    the id of the message
+     * @param langs the language chain as passed to the formatter. Must not be modified or retained.
+     */
+    default void recordMissing(@NotNull final String id, @NotNull final II18nLang[] langs) {
+    }
+
+    /**
+     * Called when a message is left unrendered because its references nest too deeply,
+     * which happens only if the messages of different languages of the chain reference each other in a cycle.
+     *
+     * @param id    the id of the reference left unrendered
+     * @param langs the language chain as passed to the formatter. Must not be modified or retained.
+     */
+    default void recordReferenceCycle(@NotNull final String id, @NotNull final II18nLang[] langs) {
+    }
+
+    /**
+     * Called after a top-level render has finished.
+     * Messages rendered as nested arguments of another message are included in the parent's time.
+     *
+     * @param nanos the time taken by the render in nanoseconds
+     */
+    default void recordRender(final long nanos) {
+    }
+
+    /**
+     * Called after a resource has been read and parsed.
+     *
+     * @param identifier the identifier of the resource
+     * @param lang       the language of the resource
+     * @param nanos      the time taken to read the resource in nanoseconds
+     * @param reload     {@code true} if the resource was read by a reload
+     */
+    default void recordLoad(@NotNull final IResourceIdentifier identifier, @NotNull final II18nLang lang,
+                            final long nanos, final boolean reload) {
+    }
+
+    /**
+     * Called after an entry manager has published a new catalog.
+     *
+     * @param catalog the published catalog
+     */
+    default void recordCatalog(@NotNull final II18nCatalog catalog) {
+    }
+}
@@ -7,7 +7,10 @@
 import lombok.experimental.FieldDefaults;
 import org.akazukin.i18n.exception.I18nLocaleNotFoundException;
 import org.akazukin.i18n.manager.II18nFormatter;
+import org.akazukin.i18n.manager.I18nUtf8Output;
+import org.akazukin.i18n.manager.data.I18nKey;
 import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.LangChain;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -21,6 +24,13 @@
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public final class I18n implements II18nObject {
     String id;
+    /**
+     * The resolved key of the id, or {@code null} if this object was created from a plain id.
+     */
+    @Nullable
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    I18nKey key;
     Object[] args;
 
     /**
@@ -35,6 +45,21 @@ public final class I18n implements II18nObject {
      */
     public I18n(@NotNull final String id, @Nullable final Object... args) {
         this.id = id;
+        this.key = null;
+        this.args = args;
+    }
+
+    /**
+     * Constructs a new I18n instance with the specified message key and optional arguments.
+     * <p>
+     * The message is looked up by the slot of the key, which avoids hashing the id on every build.
+     *
+     * @param key  the key used to look up the localized message template
+     * @param args optional arguments for dynamic content generation in the message
+     */
+    public I18n(@NotNull final I18nKey key, @Nullable final Object... args) {
+        this.id = key.getId();
+        this.key = key;
         this.args = args;
     }
 
@@ -55,6 +80,18 @@ public I18n(@NotNull final String id, @Nullable final Object... args) {
         return new I18n(id, args);
     }
 
+    /**
+     * Creates a new I18n instance with the specified message key and optional arguments.
+     *
+     * @param key  the key used to look up the localized message template
+     * @param args optional arguments for dynamic content generation in the message
+     * @return a new I18n instance configured with the provided key and arguments
+     */
+    public static @NotNull I18n of(
+            @NotNull final I18nKey key, @Nullable final Object... args) {
+        return new I18n(key, args);
+    }
+
     /**
      * Builds a localized string for the specified locales.
      * <p>
@@ -72,6 +109,9 @@ public I18n(@NotNull final String id, @Nullable final Object... args) {
     @Override
     public @Nullable String build(
             @NotNull final II18nFormatter formatter, @NotNull final II18nLang... locales) {
+        if (this.key != null) {
+            return formatter.formatMessage(this.key, locales, this.args);
+        }
         return formatter.formatMessage(this.id, locales, this.args);
     }
 
@@ -94,6 +134,157 @@ public I18n(@NotNull final String id, @Nullable final Object... args) {
     public @NotNull String buildRequired(
             @NotNull final II18nFormatter formatter, @NotNull final II18nLang... locales)
             throws I18nLocaleNotFoundException {
+        if (this.key != null) {
+            return formatter.formatMessageThrown(this.key, locales, this.args);
+        }
         return formatter.formatMessageThrown(this.id, locales, this.args);
     }
+
+    /**
+     * Builds a localized string for the specified locales and appends it to the specified buffer.
+     * <p>
+     * The message is rendered by the formatter straight into the buffer,
+     * so no intermediate string is created for this object.
+     *
+     * @param sb        the buffer to append the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param locales   the array of locales to attempt, in order of preference.
+     *                  Must not be {@code null}.
+     * @return {@code true} if the localized string was appended, {@code false} if none can be resolved
+     */
+    @Override
+    public boolean buildTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+            @NotNull final II18nLang... locales) {
+        if (this.key != null) {
+            return formatter.formatTo(sb, this.key, locales, this.args);
+        }
+        return formatter.formatTo(sb, this.id, locales, this.args);
+    }
+
+    /**
+     * Builds a localized string for the specified locales and appends it to the specified buffer,
+     * throwing an exception if unsuccessful.
+     * <p>
+     * The message is rendered by the formatter straight into the buffer,
+     * so no intermediate string is created for this object.
+     *
+     * @param sb        the buffer to append the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param locales   the array of locales to attempt, in order of preference.
+     *                  Must not be {@code null}.
+     * @throws I18nLocaleNotFoundException if the message cannot be resolved for any locale
+     */
+    @Override
+    public void buildRequiredTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+            @NotNull final II18nLang... locales)
+            throws I18nLocaleNotFoundException {
+        if (this.key != null) {
+            formatter.formatToThrown(sb, this.key, locales, this.args);
+        } else {
+            formatter.formatToThrown(sb, this.id, locales, this.args);
+        }
+    }
+
+    @Override
+    public @Nullable String build(@NotNull final II18nFormatter formatter, @NotNull final LangChain chain) {
+        if (this.key != null) {
+            return formatter.formatMessage(this.key, chain, this.args);
+        }
+        return formatter.formatMessage(this.id, chain, this.args);
+    }
+
+    @Override
+    public @NotNull String buildRequired(@NotNull final II18nFormatter formatter, @NotNull final LangChain chain)
+            throws I18nLocaleNotFoundException {
+        if (this.key != null) {
+            return formatter.formatMessageThrown(this.key, chain, this.args);
+        }
+        return formatter.formatMessageThrown(this.id, chain, this.args);
+    }
+
+    @Override
+    public boolean buildTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+            @NotNull final LangChain chain) {
+        if (this.key != null) {
+            return formatter.formatTo(sb, this.key, chain, this.args);
+        }
+        return formatter.formatTo(sb, this.id, chain, this.args);
+    }
+
+    @Override
+    public void buildRequiredTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+            @NotNull final LangChain chain)
+            throws I18nLocaleNotFoundException {
+        if (this.key != null) {
+            formatter.formatToThrown(sb, this.key, chain, this.args);
+        } else {
+            formatter.formatToThrown(sb, this.id, chain, this.args);
+        }
+    }
+
+    /**
+     * Builds a localized string for the specified locales and writes it to the specified output in UTF-8.
+     * <p>
+     * The message is rendered by the formatter straight into the output,
+     * so the literals of the message are not encoded again for this object.
+     *
+     * @param out       the output to write the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param locales   the array of locales to attempt, in order of preference.
+     *                  Must not be {@code null}.
+     * @return {@code true} if the localized string was written, {@code false} if none can be resolved
+     */
+    @Override
+    public boolean buildTo(
+            @NotNull final I18nUtf8Output out, @NotNull final II18nFormatter formatter,
+            @NotNull final II18nLang... locales) {
+        if (this.key != null) {
+            return formatter.formatTo(out, this.key, locales, this.args);
+        }
+        return formatter.formatTo(out, this.id, locales, this.args);
+    }
+
+    @Override
+    public void buildRequiredTo(
+            @NotNull final I18nUtf8Output out, @NotNull final II18nFormatter formatter,
+            @NotNull final II18nLang... locales)
+            throws I18nLocaleNotFoundException {
+        if (this.key != null) {
+            formatter.formatToThrown(out, this.key, locales, this.args);
+        } else {
+            formatter.formatToThrown(out, this.id, locales, this.args);
+        }
+    }
+
+    @Override
+    public boolean buildTo(
+            @NotNull final I18nUtf8Output out, @NotNull final II18nFormatter formatter,
+            @NotNull final LangChain chain) {
+        if (this.key != null) {
+            return formatter.formatTo(out, this.key, chain, this.args);
+        }
+        return formatter.formatTo(out, this.id, chain, this.args);
+    }
+
+    @Override
+    public void buildRequiredTo(
+            @NotNull final I18nUtf8Output out, @NotNull final II18nFormatter formatter,
+            @NotNull final LangChain chain)
+            throws I18nLocaleNotFoundException {
+        if (this.key != null) {
+            formatter.formatToThrown(out, this.key, chain, this.args);
+        } else {
+            formatter.formatToThrown(out, this.id, chain, this.args);
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package org.akazukin.i18n.object;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.akazukin.i18n.exception.I18nLocaleNotFoundException;
+import org.akazukin.i18n.manager.data.LangChain;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Renders one {@link II18nObject} for many recipients, once per distinct language chain.
+ * <p>
+ * A broadcast usually reaches far more recipients than there are language chains among them,
+ * so the object is rendered once for every distinct chain,
+ * and the same string instance is handed to every recipient of that chain.
+ * Every chain is rendered before the first recipient receives anything,
+ * so a required broadcast that fails delivers nothing.
+ * The chain of every recipient is retrieved again while delivering,
+ * so the chain function must return the same chain for a recipient throughout a broadcast.
+ * <p>
+ * The object is rendered through an {@link I18nFormatterHolder},
+ * so the formatters are tried in sequence exactly as {@link I18nFormatterHolder#build(II18nObject, LangChain)} does.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Getter
+public final class I18nBroadcaster {
+    I18nFormatterHolder holder;
+
+    public I18nBroadcaster(@NotNull final I18nFormatterHolder holder) {
+        this.holder = holder;
+    }
+
+    /**
+     * Renders the object for every distinct language chain of the recipients.
+     *
+     * @param i18n       the i18n object to render
+     * @param recipients the recipients of the object
+     * @param chainOf    the function that retrieves the language chain of a recipient
+     * @param <R>        the type of the recipients
+     * @return an unmodifiable map of the rendered strings by language chain,
+     * where a chain that cannot resolve the object maps to {@code null}
+     */
+    public <R> @NotNull Map<LangChain, String> render(
+            @NotNull final II18nObject i18n, @NotNull final Iterable<? extends R> recipients,
+            @NotNull final Function<? super R, LangChain> chainOf) {
+        return Collections.unmodifiableMap(this.renderAll(i18n, recipients, chainOf, false));
+    }
+
+    /**
+     * Renders the object once per distinct language chain and hands the result to every recipient.
+     *
+     * @param i18n       the i18n object to render
+     * @param recipients the recipients of the object
+     * @param chainOf    the function that retrieves the language chain of a recipient
+     * @param sink       the consumer that delivers the rendered string to a recipient.
+     *                   The string is {@code null} if the chain of the recipient cannot resolve the object.
+     * @param <R>        the type of the recipients
+     * @return the number of distinct language chains rendered
+     */
+    public <R> int broadcast(
+            @NotNull final II18nObject i18n, @NotNull final Iterable<? extends R> recipients,
+            @NotNull final Function<? super R, LangChain> chainOf,
+            @NotNull final BiConsumer<? super R, ? super String> sink) {
+        final Map<LangChain, String> results = this.renderAll(i18n, recipients, chainOf, false);
+        deliver(results, recipients, chainOf, sink);
+        return results.size();
+    }
+
+    /**
+     * Renders the object once per distinct language chain and hands the result to every recipient,
+     * throwing an exception before delivering anything if any chain cannot resolve the object.
+     *
+     * @param i18n       the i18n object to render
+     * @param recipients the recipients of the object
+     * @param chainOf    the function that retrieves the language chain of a recipient
+     * @param sink       the consumer that delivers the rendered string to a recipient
+     * @param <R>        the type of the recipients
+     * @return the number of distinct language chains rendered
+     * @throws I18nLocaleNotFoundException if the object cannot be resolved for the chain of any recipient
+     */
+    public <R> int broadcastRequired(
+            @NotNull final II18nObject i18n, @NotNull final Iterable<? extends R> recipients,
+            @NotNull final Function<? super R, LangChain> chainOf,
+            @NotNull final BiConsumer<? super R, ? super String> sink)
+            throws I18nLocaleNotFoundException {
+        final Map<LangChain, String> results = this.renderAll(i18n, recipients, chainOf, true);
+        deliver(results, recipients, chainOf, sink);
+        return results.size();
+    }
+
+    private <R> @NotNull Map<LangChain, String> renderAll(
+            @NotNull final II18nObject i18n, @NotNull final Iterable<? extends R> recipients,
+            @NotNull final Function<? super R, LangChain> chainOf, final boolean required)
+            throws I18nLocaleNotFoundException {
+        final Map<LangChain, String> results = new HashMap<>();
+        LangChain previous = null;
+        for (final R recipient : recipients) {
+            final LangChain chain = chainOf.apply(recipient);
+            // Chains are interned, so consecutive recipients of the same chain skip the map entirely
+            if (chain == previous || results.containsKey(chain)) {
+                continue;
+            }
+            previous = chain;
+
+            results.put(chain, required
+                    ? this.holder.buildRequired(i18n, chain)
+                    : this.holder.build(i18n, chain));
+        }
+        return results;
+    }
+
+    private static <R> void deliver(
+            @NotNull final Map<LangChain, String> results, @NotNull final Iterable<? extends R> recipients,
+            @NotNull final Function<? super R, LangChain> chainOf,
+            @NotNull final BiConsumer<? super R, ? super String> sink) {
+        LangChain previous = null;
+        String result = null;
+        for (final R recipient : recipients) {
+            final LangChain chain = chainOf.apply(recipient);
+            if (chain != previous) {
+                result = results.get(chain);
+                previous = chain;
+            }
+            sink.accept(recipient, result);
+        }
+    }
+}
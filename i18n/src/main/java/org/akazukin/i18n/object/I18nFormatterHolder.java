@@ -5,6 +5,7 @@
 import org.akazukin.i18n.exception.I18nLocaleNotFoundException;
 import org.akazukin.i18n.manager.II18nFormatter;
 import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.LangChain;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -38,7 +39,7 @@ public I18nFormatterHolder(@NotNull final II18nFormatter... formatters) {
      * @return the localized string for the fallback locale, or {@code null} if the message cannot be resolved
      */
     public @Nullable String buildByFallback(@NotNull final II18nObject i18n) {
-        return this.build(i18n, new II18nLang[]{II18nLang.FALLBACK});
+        return this.build(i18n, LangChain.FALLBACK);
     }
 
     /**
@@ -67,6 +68,31 @@ public I18nFormatterHolder(@NotNull final II18nFormatter... formatters) {
         return null;
     }
 
+    /**
+     * Builds a localized string for the specified locales across all formatters and appends it to the specified buffer.
+     * <p>
+     * This method behaves like {@link #build(II18nObject, II18nLang[])},
+     * but writes the result straight into the buffer instead of returning a new string.
+     * If none of the formatters can provide a result for any locale, nothing is appended.
+     *
+     * @param sb    the buffer to append the localized string to
+     * @param i18n  the i18n object to build
+     * @param langs the array of locales to attempt, in order of preference
+     * @return {@code true} if the localized string was appended, {@code false} if none can be resolved
+     */
+    public boolean buildTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nObject i18n, @NotNull final II18nLang[] langs) {
+        for (final II18nLang lang : langs) {
+            for (final II18nFormatter formatter : this.formatters) {
+                if (i18n.buildTo(sb, formatter, lang)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Builds a localized string for the specified locales with fallback support across all formatters.
      * <p>
@@ -103,7 +129,7 @@ public I18nFormatterHolder(@NotNull final II18nFormatter... formatters) {
     public @NotNull String buildRequiredByFallback(
             @NotNull final II18nObject i18n)
             throws I18nLocaleNotFoundException {
-        return this.buildRequired(i18n, new II18nLang[]{II18nLang.FALLBACK});
+        return this.buildRequired(i18n, LangChain.FALLBACK);
     }
 
     /**
@@ -157,4 +183,99 @@ public I18nFormatterHolder(@NotNull final II18nFormatter... formatters) {
 
         return this.buildRequired(i18n, newLocales);
     }
+
+    /**
+     * Builds a localized string for the specified language chain across all formatters.
+     * <p>
+     * This method behaves like {@link #build(II18nObject, II18nLang[])},
+     * but every language is passed to the formatters as a cached single-language chain,
+     * so no array is allocated per language and formatter.
+     *
+     * @param i18n  the i18n object to build
+     * @param chain the chain of locales to attempt
+     * @return the localized string for the first available locale, or {@code null} if none can be resolved
+     */
+    public @Nullable String build(@NotNull final II18nObject i18n, @NotNull final LangChain chain) {
+        for (int i = 0; i < chain.size(); i++) {
+            final LangChain step = chain.getStep(i);
+            for (final II18nFormatter formatter : this.formatters) {
+                final String result = i18n.build(formatter, step);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Builds a localized string for the specified language chain across all formatters
+     * and appends it to the specified buffer.
+     *
+     * @param sb    the buffer to append the localized string to
+     * @param i18n  the i18n object to build
+     * @param chain the chain of locales to attempt
+     * @return {@code true} if the localized string was appended, {@code false} if none can be resolved
+     * @see #build(II18nObject, LangChain)
+     */
+    public boolean buildTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nObject i18n, @NotNull final LangChain chain) {
+        for (int i = 0; i < chain.size(); i++) {
+            final LangChain step = chain.getStep(i);
+            for (final II18nFormatter formatter : this.formatters) {
+                if (i18n.buildTo(sb, formatter, step)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Builds a localized string for the specified language chain with fallback support across all formatters.
+     * The chain with the fallback locale is derived once and cached in the chain.
+     *
+     * @param i18n  the i18n object to build
+     * @param chain the chain of preferred locales, to which the fallback locale will be appended
+     * @return the localized string for the first available locale with fallback, or {@code null} if none can be resolved
+     */
+    public @Nullable String buildWithFallback(@NotNull final II18nObject i18n, @NotNull final LangChain chain) {
+        return this.build(i18n, chain.withFallback());
+    }
+
+    /**
+     * Builds a localized string for the specified language chain across all formatters,
+     * throwing an exception if unsuccessful.
+     *
+     * @param i18n  the i18n object to build
+     * @param chain the chain of locales to attempt
+     * @return the localized string for the first available locale. Must not be {@code null}.
+     * @throws I18nLocaleNotFoundException if the message cannot be resolved for any locale across all formatters
+     * @see #build(II18nObject, LangChain)
+     */
+    public @NotNull String buildRequired(@NotNull final II18nObject i18n, @NotNull final LangChain chain)
+            throws I18nLocaleNotFoundException {
+        final String result = this.build(i18n, chain);
+        if (result == null) {
+            throw new I18nLocaleNotFoundException(chain.toArray(), i18n);
+        }
+        return result;
+    }
+
+    /**
+     * Builds a localized string for the specified language chain with fallback support across all formatters,
+     * throwing an exception if unsuccessful.
+     *
+     * @param i18n  the i18n object to build
+     * @param chain the chain of preferred locales, to which the fallback locale will be appended
+     * @return the localized string for the first available locale with fallback. Must not be {@code null}.
+     * @throws I18nLocaleNotFoundException if the message cannot be resolved for any locale with fallback across all formatters
+     */
+    public @NotNull String buildRequiredWithFallback(
+            @NotNull final II18nObject i18n, @NotNull final LangChain chain)
+            throws I18nLocaleNotFoundException {
+        return this.buildRequired(i18n, chain.withFallback());
+    }
 }
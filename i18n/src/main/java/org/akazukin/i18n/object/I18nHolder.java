@@ -8,12 +8,11 @@
 import org.akazukin.i18n.manager.I18nManager;
 import org.akazukin.i18n.manager.II18nFormatter;
 import org.akazukin.i18n.manager.data.II18nLang;
-import org.akazukin.util.utils.ArrayUtils;
-import org.akazukin.util.utils.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * A holder class that implements {@link II18nObject} and is designed to manage and compose multiple
@@ -29,11 +28,26 @@
  * connectors specified within the instance.
  * <p>
  * This class relies on {@link I18nManager} for formatting or localizing during the build process.
+ * <p>
+ * Every build streams the elements into one buffer, sized from the length of the previous result.
+ * Holders with many elements, such as leaderboards, can opt in to render their elements in parallel
+ * with {@link #setParallel(ForkJoinPool, int)}. The elements are then rendered in chunks on the pool,
+ * and the chunks are joined in order, so the result is the same as a sequential build.
  */
 @EqualsAndHashCode
 @ToString
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public final class I18nHolder implements II18nObject {
+    private static final int ESTIMATED_ELEMENT_LENGTH = 32;
+    /**
+     * The number of elements rendered by one parallel task.
+     */
+    private static final int CHUNK_SIZE = 64;
+    /**
+     * The default number of elements from which a holder with a parallel pool is rendered in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 512;
+
     final II18nObject[] i18ns;
     String first;
     II18nObject firstI18n;
@@ -45,6 +59,18 @@ public final class I18nHolder implements II18nObject {
     II18nObject beforeI18n;
     String after;
     II18nObject afterI18n;
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    ForkJoinPool parallelPool;
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    /**
+     * The length of the last result, used to size the buffer of the next build.
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    volatile int lengthHint;
 
     private I18nHolder(@NotNull final II18nObject[] i18ns) {
         this.i18ns = i18ns;
@@ -246,6 +272,38 @@ private I18nHolder(@NotNull final II18nObject[] i18ns) {
         return this;
     }
 
+    /**
+     * Renders the managed elements in parallel on the specified pool
+     * when there are at least {@link #DEFAULT_PARALLEL_THRESHOLD} of them.
+     *
+     * @param pool the pool to render on, or {@code null} to always render on the calling thread
+     * @return the current {@link I18nHolder} instance for method chaining
+     * @see #setParallel(ForkJoinPool, int)
+     */
+    public @NotNull I18nHolder setParallel(@Nullable final ForkJoinPool pool) {
+        return this.setParallel(pool, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Renders the managed elements in parallel on the specified pool when there are at least as many as the threshold.
+     * <p>
+     * The first and last elements and the connector, prefix and suffix are rendered on the calling thread,
+     * and the managed elements are rendered in chunks on the pool, which are joined in order.
+     * The formatter must be thread-safe.
+     *
+     * @param pool      the pool to render on, or {@code null} to always render on the calling thread
+     * @param threshold the number of managed elements from which they are rendered in parallel. Must be positive.
+     * @return the current {@link I18nHolder} instance for method chaining
+     */
+    public @NotNull I18nHolder setParallel(@Nullable final ForkJoinPool pool, final int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("The parallel threshold must be positive. | " + threshold);
+        }
+        this.parallelPool = pool;
+        this.parallelThreshold = threshold;
+        return this;
+    }
+
     /**
      * Builds a localized string for the specified locales.
      * <p>
@@ -265,38 +323,10 @@ private I18nHolder(@NotNull final II18nObject[] i18ns) {
     @Override
     public @NotNull String build(
             @NotNull final II18nFormatter formatter, @NotNull final II18nLang... locales) {
-        final String first = StringUtils.toStringOrEmpty(
-                this.firstI18n != null
-                        ? this.firstI18n.build(formatter, locales)
-                        : this.first);
-        final String concat = StringUtils.toStringOrEmpty(
-                this.concatI18n != null
-                        ? this.concatI18n.build(formatter, locales)
-                        : this.concat);
-        final String before = StringUtils.toStringOrEmpty(
-                this.beforeI18n != null
-                        ? this.beforeI18n.build(formatter, locales)
-                        : this.before);
-        final String after = StringUtils.toStringOrEmpty(
-                this.afterI18n != null
-                        ? this.afterI18n.build(formatter, locales)
-                        : this.after);
-        final String last = StringUtils.toStringOrEmpty(
-                this.lastI18n != null
-                        ? this.lastI18n.build(formatter, locales)
-                        : this.last);
-
-        return first
-                + ArrayUtils.join(
-                concat,
-                Arrays
-                        .stream(this.i18ns)
-                        .map(i18n ->
-                                before
-                                        + StringUtils.toStringOrEmpty(i18n.build(formatter, locales))
-                                        + after)
-                        .toArray(String[]::new))
-                + last;
+        final StringBuilder sb = new StringBuilder(this.estimateLength());
+        this.append(sb, formatter, locales, false);
+        this.lengthHint = sb.length();
+        return sb.toString();
     }
 
     /**
@@ -320,32 +350,212 @@ private I18nHolder(@NotNull final II18nObject[] i18ns) {
     public @NotNull String buildRequired(
             @NotNull final II18nFormatter formatter, @NotNull final II18nLang... locales)
             throws I18nLocaleNotFoundException {
-        final String first = this.firstI18n != null
-                ? this.firstI18n.buildRequired(formatter, locales)
-                : StringUtils.toStringOrEmpty(this.first);
-        final String concat = this.concatI18n != null
-                ? this.concatI18n.buildRequired(formatter, locales)
-                : StringUtils.toStringOrEmpty(this.concat);
-        final String before = this.beforeI18n != null
-                ? this.beforeI18n.buildRequired(formatter, locales)
-                : StringUtils.toStringOrEmpty(this.before);
-        final String after = this.afterI18n != null
-                ? this.afterI18n.buildRequired(formatter, locales)
-                : StringUtils.toStringOrEmpty(this.after);
-        final String last = this.lastI18n != null
-                ? this.lastI18n.buildRequired(formatter, locales)
-                : StringUtils.toStringOrEmpty(this.last);
-
-        return first
-                + ArrayUtils.join(
-                concat,
-                Arrays
-                        .stream(this.i18ns)
-                        .map(i18n ->
-                                before
-                                        + i18n.buildRequired(formatter, locales)
-                                        + after)
-                        .toArray(String[]::new))
-                + last;
+        final StringBuilder sb = new StringBuilder(this.estimateLength());
+        this.append(sb, formatter, locales, true);
+        this.lengthHint = sb.length();
+        return sb.toString();
+    }
+
+    /**
+     * Builds a localized string for the specified locales and appends it to the specified buffer.
+     * <p>
+     * Every managed element, prefix, suffix and connector is rendered straight into the buffer.
+     * The prefix, suffix and connector are rendered once and then copied within the buffer for the other elements.
+     * Elements that cannot be resolved are treated as empty, so this method always appends a result.
+     *
+     * @param sb        the buffer to append the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param locales   the array of locales to attempt, in order of preference.
+     *                  Must not be {@code null}.
+     * @return always {@code true}
+     */
+    @Override
+    public boolean buildTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+            @NotNull final II18nLang... locales) {
+        sb.ensureCapacity(sb.length() + this.estimateLength());
+        this.append(sb, formatter, locales, false);
+        return true;
+    }
+
+    /**
+     * Builds a localized string for the specified locales and appends it to the specified buffer,
+     * throwing an exception if unsuccessful.
+     * <p>
+     * Every managed element, prefix, suffix and connector is rendered straight into the buffer.
+     * If an exception is thrown, the buffer may already contain a part of the result.
+     *
+     * @param sb        the buffer to append the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param locales   the array of locales to attempt, in order of preference.
+     *                  Must not be {@code null}.
+     * @throws I18nLocaleNotFoundException if the message cannot be resolved for any locale
+     */
+    @Override
+    public void buildRequiredTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+            @NotNull final II18nLang... locales)
+            throws I18nLocaleNotFoundException {
+        sb.ensureCapacity(sb.length() + this.estimateLength());
+        this.append(sb, formatter, locales, true);
+    }
+
+    private int estimateLength() {
+        final int hint = this.lengthHint;
+        return hint > 0 ? hint : (this.i18ns.length + 2) * ESTIMATED_ELEMENT_LENGTH;
+    }
+
+    private void append(@NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+                        @NotNull final II18nLang[] locales, final boolean required)
+            throws I18nLocaleNotFoundException {
+        if (this.parallelPool != null && this.i18ns.length >= this.parallelThreshold) {
+            this.appendParallel(sb, formatter, locales, required);
+            return;
+        }
+
+        // The start and end of the first rendered connector, prefix and suffix in the buffer
+        final int[] ranges = {-1, -1, -1, -1, -1, -1};
+
+        appendPart(sb, this.first, this.firstI18n, formatter, locales, required);
+        for (int i = 0; i < this.i18ns.length; i++) {
+            if (i > 0) {
+                appendRepeated(sb, ranges, 0, this.concat, this.concatI18n, formatter, locales, required);
+            }
+            appendRepeated(sb, ranges, 2, this.before, this.beforeI18n, formatter, locales, required);
+            appendPart(sb, null, this.i18ns[i], formatter, locales, required);
+            appendRepeated(sb, ranges, 4, this.after, this.afterI18n, formatter, locales, required);
+        }
+        appendPart(sb, this.last, this.lastI18n, formatter, locales, required);
+    }
+
+    private void appendParallel(@NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+                                @NotNull final II18nLang[] locales, final boolean required)
+            throws I18nLocaleNotFoundException {
+        // Every element needs the connector, prefix and suffix, so they are rendered once up front
+        final String concat = renderPart(this.concat, this.concatI18n, formatter, locales, required);
+        final String before = renderPart(this.before, this.beforeI18n, formatter, locales, required);
+        final String after = renderPart(this.after, this.afterI18n, formatter, locales, required);
+
+        final String[] chunks = new String[(this.i18ns.length + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        this.parallelPool.invoke(new ChunkTask(chunks, 0, chunks.length,
+                concat, before, after, formatter, locales, required));
+
+        appendPart(sb, this.first, this.firstI18n, formatter, locales, required);
+        int length = 0;
+        for (final String chunk : chunks) {
+            length += chunk.length();
+        }
+        sb.ensureCapacity(sb.length() + length);
+        for (final String chunk : chunks) {
+            sb.append(chunk);
+        }
+        appendPart(sb, this.last, this.lastI18n, formatter, locales, required);
+    }
+
+    private static @NotNull String renderPart(
+            @Nullable final String text, @Nullable final II18nObject i18n,
+            @NotNull final II18nFormatter formatter, @NotNull final II18nLang[] locales, final boolean required)
+            throws I18nLocaleNotFoundException {
+        if (i18n == null) {
+            return text != null ? text : "";
+        }
+        final StringBuilder sb = new StringBuilder(ESTIMATED_ELEMENT_LENGTH);
+        appendPart(sb, null, i18n, formatter, locales, required);
+        return sb.toString();
+    }
+
+    private static void appendRepeated(
+            @NotNull final StringBuilder sb, @NotNull final int[] ranges, final int slot,
+            @Nullable final String text, @Nullable final II18nObject i18n,
+            @NotNull final II18nFormatter formatter, @NotNull final II18nLang[] locales, final boolean required)
+            throws I18nLocaleNotFoundException {
+        if (ranges[slot] >= 0) {
+            sb.append(sb, ranges[slot], ranges[slot + 1]);
+            return;
+        }
+
+        ranges[slot] = sb.length();
+        appendPart(sb, text, i18n, formatter, locales, required);
+        ranges[slot + 1] = sb.length();
+    }
+
+    private static void appendPart(
+            @NotNull final StringBuilder sb, @Nullable final String text, @Nullable final II18nObject i18n,
+            @NotNull final II18nFormatter formatter, @NotNull final II18nLang[] locales, final boolean required)
+            throws I18nLocaleNotFoundException {
+        if (i18n == null) {
+            if (text != null) {
+                sb.append(text);
+            }
+        } else if (required) {
+            i18n.buildRequiredTo(sb, formatter, locales);
+        } else {
+            i18n.buildTo(sb, formatter, locales);
+        }
+    }
+
+    /**
+     * Renders a range of chunks of the managed elements, splitting it in halves until one chunk is left.
+     * Every chunk is written to its own slot, so the chunks can be joined in order afterward.
+     */
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        String[] chunks;
+        int from;
+        int to;
+        String concat;
+        String before;
+        String after;
+        II18nFormatter formatter;
+        II18nLang[] locales;
+        boolean required;
+
+        private ChunkTask(@NotNull final String[] chunks, final int from, final int to,
+                          @NotNull final String concat, @NotNull final String before, @NotNull final String after,
+                          @NotNull final II18nFormatter formatter, @NotNull final II18nLang[] locales,
+                          final boolean required) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.concat = concat;
+            this.before = before;
+            this.after = after;
+            this.formatter = formatter;
+            this.locales = locales;
+            this.required = required;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > 1) {
+                final int mid = (this.from + this.to) >>> 1;
+                invokeAll(
+                        new ChunkTask(this.chunks, this.from, mid,
+                                this.concat, this.before, this.after, this.formatter, this.locales, this.required),
+                        new ChunkTask(this.chunks, mid, this.to,
+                                this.concat, this.before, this.after, this.formatter, this.locales, this.required));
+                return;
+            }
+
+            final II18nObject[] i18ns = I18nHolder.this.i18ns;
+            final int start = this.from * CHUNK_SIZE;
+            final int end = Math.min(start + CHUNK_SIZE, i18ns.length);
+            final StringBuilder sb = new StringBuilder((end - start) * ESTIMATED_ELEMENT_LENGTH);
+            for (int i = start; i < end; i++) {
+                if (i > 0) {
+                    sb.append(this.concat);
+                }
+                sb.append(this.before);
+                appendPart(sb, null, i18ns[i], this.formatter, this.locales, this.required);
+                sb.append(this.after);
+            }
+            this.chunks[this.from] = sb.toString();
+        }
     }
 }
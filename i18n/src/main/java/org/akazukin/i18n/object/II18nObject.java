@@ -2,7 +2,9 @@
 
 import org.akazukin.i18n.exception.I18nLocaleNotFoundException;
 import org.akazukin.i18n.manager.II18nFormatter;
+import org.akazukin.i18n.manager.I18nUtf8Output;
 import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.LangChain;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -133,4 +135,251 @@ default String buildRequiredByFallback(@NotNull final II18nFormatter formatter)
 
         return this.buildRequired(formatter, newLocales);
     }
+
+    /**
+     * Builds a localized string for the specified locales and appends it to the specified buffer.
+     * <p>
+     * This method behaves like {@link #build(II18nFormatter, II18nLang...)},
+     * but writes the result straight into the buffer instead of returning a new string.
+     * If none of the locales can provide a result, nothing is appended.
+     *
+     * @param sb        the buffer to append the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param locales   the array of locales to attempt, in order of preference.
+     *                  Must not be {@code null}.
+     * @return {@code true} if the localized string was appended, {@code false} if none can be resolved
+     */
+    default boolean buildTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+            @NotNull final II18nLang... locales) {
+        final String result = this.build(formatter, locales);
+        if (result == null) {
+            return false;
+        }
+        sb.append(result);
+        return true;
+    }
+
+    /**
+     * Builds a localized string for the specified locales and appends it to the specified buffer,
+     * throwing an exception if unsuccessful.
+     * <p>
+     * This method behaves like {@link #buildRequired(II18nFormatter, II18nLang...)},
+     * but writes the result straight into the buffer instead of returning a new string.
+     * If an exception is thrown, the buffer may already contain a part of the result.
+     *
+     * @param sb        the buffer to append the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param locales   the array of locales to attempt, in order of preference.
+     *                  Must not be {@code null}.
+     * @throws I18nLocaleNotFoundException if the message cannot be resolved for any locale
+     */
+    default void buildRequiredTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+            @NotNull final II18nLang... locales)
+            throws I18nLocaleNotFoundException {
+        sb.append(this.buildRequired(formatter, locales));
+    }
+
+    /**
+     * Builds a localized string for the specified language chain.
+     * <p>
+     * This method behaves like {@link #build(II18nFormatter, II18nLang...)},
+     * but lets the formatter use the fallback resolution cached in the chain.
+     *
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param chain     the chain of locales to attempt.
+     *                  Must not be {@code null}.
+     * @return the localized string for the first available locale, or {@code null} if none can be resolved
+     */
+    default @Nullable String build(@NotNull final II18nFormatter formatter, @NotNull final LangChain chain) {
+        return this.build(formatter, chain.toArray());
+    }
+
+    /**
+     * Builds a localized string for the specified language chain with the fallback locale appended.
+     * <p>
+     * Unlike {@link #buildWithFallback(II18nFormatter, II18nLang...)}, no array is copied,
+     * since the chain with the fallback locale is derived once and cached in the chain.
+     *
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param chain     the chain of preferred locales, to which the fallback locale will be appended.
+     *                  Must not be {@code null}.
+     * @return the localized string for the first available locale with fallback, or {@code null} if none can be resolved
+     */
+    default @Nullable String buildWithFallback(
+            @NotNull final II18nFormatter formatter, @NotNull final LangChain chain) {
+        return this.build(formatter, chain.withFallback());
+    }
+
+    /**
+     * Builds a localized string for the specified language chain, throwing an exception if unsuccessful.
+     * <p>
+     * This method behaves like {@link #buildRequired(II18nFormatter, II18nLang...)},
+     * but lets the formatter use the fallback resolution cached in the chain.
+     *
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param chain     the chain of locales to attempt.
+     *                  Must not be {@code null}.
+     * @return the localized string for the first available locale. Must not be {@code null}.
+     * @throws I18nLocaleNotFoundException if the message cannot be resolved for any locale
+     */
+    default @NotNull String buildRequired(@NotNull final II18nFormatter formatter, @NotNull final LangChain chain)
+            throws I18nLocaleNotFoundException {
+        return this.buildRequired(formatter, chain.toArray());
+    }
+
+    /**
+     * Builds a localized string for the specified language chain with the fallback locale appended,
+     * throwing an exception if unsuccessful.
+     *
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param chain     the chain of preferred locales, to which the fallback locale will be appended.
+     *                  Must not be {@code null}.
+     * @return the localized string for the first available locale with fallback. Must not be {@code null}.
+     * @throws I18nLocaleNotFoundException if the message cannot be resolved for any locale with fallback
+     * @see #buildWithFallback(II18nFormatter, LangChain)
+     */
+    default @NotNull String buildRequiredWithFallback(
+            @NotNull final II18nFormatter formatter, @NotNull final LangChain chain)
+            throws I18nLocaleNotFoundException {
+        return this.buildRequired(formatter, chain.withFallback());
+    }
+
+    /**
+     * Builds a localized string for the specified language chain and appends it to the specified buffer.
+     *
+     * @param sb        the buffer to append the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param chain     the chain of locales to attempt.
+     *                  Must not be {@code null}.
+     * @return {@code true} if the localized string was appended, {@code false} if none can be resolved
+     * @see #buildTo(StringBuilder, II18nFormatter, II18nLang...)
+     */
+    default boolean buildTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+            @NotNull final LangChain chain) {
+        return this.buildTo(sb, formatter, chain.toArray());
+    }
+
+    /**
+     * Builds a localized string for the specified language chain and appends it to the specified buffer,
+     * throwing an exception if unsuccessful.
+     *
+     * @param sb        the buffer to append the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param chain     the chain of locales to attempt.
+     *                  Must not be {@code null}.
+     * @throws I18nLocaleNotFoundException if the message cannot be resolved for any locale
+     * @see #buildRequiredTo(StringBuilder, II18nFormatter, II18nLang...)
+     */
+    default void buildRequiredTo(
+            @NotNull final StringBuilder sb, @NotNull final II18nFormatter formatter,
+            @NotNull final LangChain chain)
+            throws I18nLocaleNotFoundException {
+        this.buildRequiredTo(sb, formatter, chain.toArray());
+    }
+
+    /**
+     * Builds a localized string for the specified locales and writes it to the specified output in UTF-8.
+     * <p>
+     * This method behaves like {@link #buildTo(StringBuilder, II18nFormatter, II18nLang...)},
+     * but writes bytes instead of chars.
+     * The default implementation encodes the built string,
+     * and implementations may let the formatter write the pre-encoded literals instead.
+     *
+     * @param out       the output to write the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param locales   the array of locales to attempt, in order of preference.
+     *                  Must not be {@code null}.
+     * @return {@code true} if the localized string was written, {@code false} if none can be resolved
+     */
+    default boolean buildTo(
+            @NotNull final I18nUtf8Output out, @NotNull final II18nFormatter formatter,
+            @NotNull final II18nLang... locales) {
+        final String result = this.build(formatter, locales);
+        if (result == null) {
+            return false;
+        }
+        out.write(result);
+        return true;
+    }
+
+    /**
+     * Builds a localized string for the specified locales and writes it to the specified output in UTF-8,
+     * throwing an exception if unsuccessful.
+     * If an exception is thrown, the output may already contain a part of the result.
+     *
+     * @param out       the output to write the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param locales   the array of locales to attempt, in order of preference.
+     *                  Must not be {@code null}.
+     * @throws I18nLocaleNotFoundException if the message cannot be resolved for any locale
+     * @see #buildTo(I18nUtf8Output, II18nFormatter, II18nLang...)
+     */
+    default void buildRequiredTo(
+            @NotNull final I18nUtf8Output out, @NotNull final II18nFormatter formatter,
+            @NotNull final II18nLang... locales)
+            throws I18nLocaleNotFoundException {
+        out.write(this.buildRequired(formatter, locales));
+    }
+
+    /**
+     * Builds a localized string for the specified language chain and writes it to the specified output in UTF-8.
+     *
+     * @param out       the output to write the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param chain     the chain of locales to attempt.
+     *                  Must not be {@code null}.
+     * @return {@code true} if the localized string was written, {@code false} if none can be resolved
+     * @see #buildTo(I18nUtf8Output, II18nFormatter, II18nLang...)
+     */
+    default boolean buildTo(
+            @NotNull final I18nUtf8Output out, @NotNull final II18nFormatter formatter,
+            @NotNull final LangChain chain) {
+        final String result = this.build(formatter, chain);
+        if (result == null) {
+            return false;
+        }
+        out.write(result);
+        return true;
+    }
+
+    /**
+     * Builds a localized string for the specified language chain and writes it to the specified output in UTF-8,
+     * throwing an exception if unsuccessful.
+     *
+     * @param out       the output to write the localized string to.
+     *                  Must not be {@code null}.
+     * @param formatter the formatter to use for building the localized string.
+     *                  Must not be {@code null}.
+     * @param chain     the chain of locales to attempt.
+     *                  Must not be {@code null}.
+     * @throws I18nLocaleNotFoundException if the message cannot be resolved for any locale
+     * @see #buildRequiredTo(I18nUtf8Output, II18nFormatter, II18nLang...)
+     */
+    default void buildRequiredTo(
+            @NotNull final I18nUtf8Output out, @NotNull final II18nFormatter formatter,
+            @NotNull final LangChain chain)
+            throws I18nLocaleNotFoundException {
+        out.write(this.buildRequired(formatter, chain));
+    }
 }
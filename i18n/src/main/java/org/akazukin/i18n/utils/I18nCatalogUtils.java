@@ -0,0 +1,275 @@
+package org.akazukin.i18n.utils;
+
+import lombok.experimental.UtilityClass;
+import org.akazukin.i18n.manager.data.I18nTemplate;
+import org.akazukin.i18n.manager.data.II18nTemplate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes compiled binary catalogs.
+ * <p>
+ * A compiled catalog holds the messages of one language file with their templates already compiled,
+ * so loading it needs neither parsing nor template compilation.
+ * All numbers are big-endian, and the layout is:
+ * <pre>
+ * int    magic          0x4931384E ("I18N")
+ * short  version        2
+ * long   source CRC     the CRC-32 of the language file it was compiled from, or -1 if unknown
+ * int    string count
+ * string table          for each string: int UTF-8 byte length, UTF-8 bytes
+ * int    entry count
+ * entries               sorted by id, for each entry:
+ *   int  id string index
+ *   int  source string index
+ *   int  segment count
+ *   segments            for each segment: byte type, int text string index, int argument index
+ * </pre>
+ * Every distinct string is stored once in the string table and shared by all entries that use it.
+ * <p>
+ * The entries are written in id order so the output is reproducible, but the format has no offset index,
+ * so a message cannot be looked up in place.
+ * Reading a catalog decodes the whole string table and builds every template on the heap,
+ * whether the catalog comes from a stream, an array or a mapped file.
+ * What a catalog saves is the parsing and compilation of the messages, not their heap memory.
+ * <p>
+ * The source CRC tells whether a catalog is still current with the language file next to it,
+ * see {@link #isCompiledFrom(ByteBuffer, byte[])}.
+ */
+@UtilityClass
+public class I18nCatalogUtils {
+    /**
+     * The file extension of compiled catalogs, which replaces the {@code .lang} extension of the source file.
+     */
+    public final String EXTENSION = ".langc";
+
+    /**
+     * The source CRC of a catalog that was not compiled from a language file.
+     */
+    public final long NO_SOURCE = -1L;
+
+    private final int MAGIC = 0x4931384E;
+    private final short VERSION = 2;
+
+    /**
+     * Writes the compiled catalog of the specified messages, without tying it to a language file.
+     *
+     * @param entries the messages by id. Must not be {@code null}.
+     * @param os      the stream to write to. It is not closed by this method.
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(@NotNull final Map<String, String> entries, @NotNull final OutputStream os)
+            throws IOException {
+        write(entries, NO_SOURCE, os);
+    }
+
+    /**
+     * Writes the compiled catalog of the specified messages parsed from a language file.
+     *
+     * @param entries        the messages by id. Must not be {@code null}.
+     * @param sourceChecksum the {@link #checksum(byte[]) checksum} of the language file,
+     *                       or {@link #NO_SOURCE} if the messages were not parsed from one
+     * @param os             the stream to write to. It is not closed by this method.
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(@NotNull final Map<String, String> entries, final long sourceChecksum,
+                      @NotNull final OutputStream os)
+            throws IOException {
+        final Map<String, II18nTemplate> templates = new TreeMap<>();
+        for (final Map.Entry<String, String> e : entries.entrySet()) {
+            templates.put(e.getKey(), I18nTemplateUtils.compile(e.getValue()));
+        }
+
+        final Map<String, Integer> indexes = new HashMap<>();
+        final List<String> strings = new ArrayList<>();
+        for (final Map.Entry<String, II18nTemplate> e : templates.entrySet()) {
+            addString(indexes, strings, e.getKey());
+            final II18nTemplate template = e.getValue();
+            addString(indexes, strings, template.getSource());
+            for (int i = 0; i < template.getSegmentCount(); i++) {
+                addString(indexes, strings, template.getSegmentText(i));
+            }
+        }
+
+        final DataOutputStream dos = new DataOutputStream(os);
+        dos.writeInt(MAGIC);
+        dos.writeShort(VERSION);
+        dos.writeLong(sourceChecksum);
+
+        dos.writeInt(strings.size());
+        for (final String str : strings) {
+            final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            dos.writeInt(bytes.length);
+            dos.write(bytes);
+        }
+
+        dos.writeInt(templates.size());
+        for (final Map.Entry<String, II18nTemplate> e : templates.entrySet()) {
+            final II18nTemplate template = e.getValue();
+            dos.writeInt(indexes.get(e.getKey()));
+            dos.writeInt(indexes.get(template.getSource()));
+            dos.writeInt(template.getSegmentCount());
+            for (int i = 0; i < template.getSegmentCount(); i++) {
+                dos.writeByte(template.getSegmentType(i));
+                dos.writeInt(indexes.get(template.getSegmentText(i)));
+                dos.writeInt(template.getArgIndex(i));
+            }
+        }
+        dos.flush();
+    }
+
+    /**
+     * Reads a compiled catalog from a stream.
+     *
+     * @param is the stream to read. It is not closed by this method.
+     * @return the compiled templates of the catalog by id
+     * @throws IOException if the stream cannot be read or does not hold a valid catalog
+     */
+    public @NotNull Map<String, II18nTemplate> read(@NotNull final InputStream is) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final byte[] buf = new byte[8192];
+        int len;
+        while ((len = is.read(buf)) != -1) {
+            baos.write(buf, 0, len);
+        }
+        return read(ByteBuffer.wrap(baos.toByteArray()));
+    }
+
+    /**
+     * Reads a compiled catalog from a file by mapping it into memory.
+     * The mapping is only read once while the templates are built on the heap, and is not kept.
+     *
+     * @param file the file to read. Must not be {@code null}.
+     * @return the compiled templates of the catalog by id
+     * @throws IOException if the file cannot be read or does not hold a valid catalog
+     */
+    public @NotNull Map<String, II18nTemplate> read(@NotNull final Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (final IOException e) {
+            throw new IOException(e.getMessage() + " | " + file, e);
+        }
+    }
+
+    /**
+     * Reads a compiled catalog from a buffer, starting at its current position.
+     *
+     * @param buf the buffer to read. Must not be {@code null}.
+     * @return the compiled templates of the catalog by id
+     * @throws IOException if the buffer does not hold a valid catalog
+     */
+    public @NotNull Map<String, II18nTemplate> read(@NotNull final ByteBuffer buf) throws IOException {
+        try {
+            if (buf.getInt() != MAGIC) {
+                throw new IOException("The catalog has an unknown format.");
+            }
+            final short version = buf.getShort();
+            if (version != VERSION) {
+                throw new IOException("The catalog version is not supported. | Version: " + version);
+            }
+            buf.getLong();
+
+            final String[] strings = new String[checkCount(buf.getInt(), buf)];
+            byte[] scratch = new byte[64];
+            for (int i = 0; i < strings.length; i++) {
+                final int length = checkCount(buf.getInt(), buf);
+                if (scratch.length < length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                buf.get(scratch, 0, length);
+                strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+
+            final int entryCount = checkCount(buf.getInt(), buf);
+            final Map<String, II18nTemplate> templates = new HashMap<>((int) (entryCount / 0.75f) + 1);
+            for (int i = 0; i < entryCount; i++) {
+                final String id = strings[buf.getInt()];
+                final String source = strings[buf.getInt()];
+                final int segmentCount = checkCount(buf.getInt(), buf);
+                final byte[] types = new byte[segmentCount];
+                final String[] texts = new String[segmentCount];
+                final int[] argIndexes = new int[segmentCount];
+                for (int j = 0; j < segmentCount; j++) {
+                    types[j] = buf.get();
+                    if (types[j] != II18nTemplate.LITERAL && types[j] != II18nTemplate.ARG
+                            && types[j] != II18nTemplate.REF) {
+                        throw new IOException("The catalog has an unknown segment type. | Type: " + types[j]);
+                    }
+                    texts[j] = strings[buf.getInt()];
+                    argIndexes[j] = buf.getInt();
+                }
+                templates.put(id, new I18nTemplate(source, types, texts, argIndexes));
+            }
+            return templates;
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("The catalog is truncated or corrupted.", e);
+        }
+    }
+
+    /**
+     * Computes the checksum of a language file that is stored in the catalogs compiled from it.
+     *
+     * @param source the content of the language file. Must not be {@code null}.
+     * @return the CRC-32 of the content
+     */
+    public long checksum(@NotNull final byte[] source) {
+        final CRC32 crc = new CRC32();
+        crc.update(source, 0, source.length);
+        return crc.getValue();
+    }
+
+    /**
+     * Checks whether a compiled catalog was compiled from the specified content of a language file.
+     * A catalog that was not compiled from a language file never matches one.
+     * The position of the buffer is not changed.
+     *
+     * @param buf    the buffer that holds the catalog, starting at its current position. Must not be {@code null}.
+     * @param source the content of the language file. Must not be {@code null}.
+     * @return {@code true} if the catalog was compiled from the content, {@code false} otherwise
+     * @throws IOException if the buffer does not hold a valid catalog
+     */
+    public boolean isCompiledFrom(@NotNull final ByteBuffer buf, @NotNull final byte[] source) throws IOException {
+        final int pos = buf.position();
+        if (buf.remaining() < 14 || buf.getInt(pos) != MAGIC) {
+            throw new IOException("The catalog has an unknown format.");
+        }
+        final short version = buf.getShort(pos + 4);
+        if (version != VERSION) {
+            throw new IOException("The catalog version is not supported. | Version: " + version);
+        }
+        final long sourceChecksum = buf.getLong(pos + 6);
+        return sourceChecksum != NO_SOURCE && sourceChecksum == checksum(source);
+    }
+
+    private int checkCount(final int count, @NotNull final ByteBuffer buf) {
+        if (count < 0 || count > buf.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return count;
+    }
+
+    private void addString(@NotNull final Map<String, Integer> indexes, @NotNull final List<String> strings,
+                           @NotNull final String str) {
+        if (!indexes.containsKey(str)) {
+            indexes.put(str, strings.size());
+            strings.add(str);
+        }
+    }
+}
@@ -5,8 +5,11 @@
 import org.akazukin.i18n.manager.data.II18nEntry;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @UtilityClass
@@ -19,4 +22,18 @@ public class I18nEntryUtils {
                 .distinct()
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Parses a UTF-8 encoded language file.
+     * The stream is not closed by this method.
+     * The keys are not validated. Use {@link I18nLangParser} to learn which keys are invalid.
+     *
+     * @param is the stream of the language file
+     * @return the messages by id
+     * @throws org.akazukin.i18n.exception.I18nLangSyntaxException if the file contains a malformed escape
+     * @throws IOException                                         if the stream cannot be read
+     */
+    public @NotNull Map<String, String> parse(@NotNull final InputStream is) throws IOException {
+        return I18nLangParser.parse(is).getEntries();
+    }
 }
@@ -0,0 +1,335 @@
+package org.akazukin.i18n.utils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.akazukin.i18n.exception.I18nLangSyntaxException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parses UTF-8 encoded language files in a single streaming pass.
+ * <p>
+ * The format is that of {@link java.util.Properties#load(java.io.Reader)}:
+ * comments start with {@code #} or {@code !}, a key ends at an unescaped {@code =}, {@code :} or whitespace,
+ * a line ending with an odd number of backslashes continues on the next line,
+ * and {@code \t}, {@code \n}, {@code \r}, {@code \f} and {@code \}{@code uXXXX} are unescaped.
+ * Unlike {@link java.util.Properties}, the bytes are decoded straight from the channel
+ * into the key and value being read, without a synchronized table or a second copy of the entries,
+ * and every key is checked by {@link I18nValidatorUtils#isValidId(String)} as soon as it is read,
+ * so the line of every invalid key is known.
+ * <p>
+ * Malformed UTF-8 is replaced by {@code U+FFFD}, as an {@link java.io.InputStreamReader} does.
+ * This class is not thread-safe, and an instance parses exactly one file.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public final class I18nLangParser {
+    private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+    private static final int CHAR_BUFFER_SIZE = 8192;
+    /**
+     * Returned by {@link #next()} at an unescaped line terminator.
+     */
+    private static final int EOL = -2;
+    /**
+     * Set by {@link #next()} on an escaped char, so it is never taken for a separator or whitespace.
+     */
+    private static final int ESCAPED = 0x10000;
+
+    /**
+     * The messages by id, in no particular order.
+     */
+    @Getter
+    Map<String, String> entries = new HashMap<>();
+    @Nullable
+    ReadableByteChannel channel;
+    ByteBuffer bytes;
+    CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    StringBuilder key = new StringBuilder();
+    StringBuilder value = new StringBuilder();
+    @Nullable
+    @NonFinal
+    Map<String, Integer> invalidKeys;
+    @NonFinal
+    boolean endOfInput;
+    @NonFinal
+    boolean flushed;
+    @NonFinal
+    int line = 1;
+
+    private I18nLangParser(@Nullable final ReadableByteChannel channel, @NotNull final ByteBuffer bytes) {
+        this.channel = channel;
+        this.bytes = bytes;
+        this.endOfInput = channel == null;
+        this.chars.flip();
+    }
+
+    /**
+     * Parses a language file read through the channel.
+     * The channel is not closed by this method.
+     *
+     * @param channel the channel of the language file. Must not be {@code null}.
+     * @return the parser holding the messages of the file. Never {@code null}.
+     * @throws I18nLangSyntaxException if the file contains a malformed escape
+     * @throws IOException             if the channel cannot be read
+     */
+    public static @NotNull I18nLangParser parse(@NotNull final ReadableByteChannel channel) throws IOException {
+        final ByteBuffer bytes = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+        bytes.flip();
+        return new I18nLangParser(channel, bytes).parse();
+    }
+
+    /**
+     * Parses a language file read from the stream.
+     * The stream is not closed by this method.
+     *
+     * @param is the stream of the language file. Must not be {@code null}.
+     * @return the parser holding the messages of the file. Never {@code null}.
+     * @throws I18nLangSyntaxException if the file contains a malformed escape
+     * @throws IOException             if the stream cannot be read
+     */
+    public static @NotNull I18nLangParser parse(@NotNull final InputStream is) throws IOException {
+        // The channel of a stream holds no resources of its own, so it is left open along with the stream
+        return parse(Channels.newChannel(is));
+    }
+
+    /**
+     * Parses a language file already read into memory.
+     * The bytes are decoded in place and are not modified.
+     *
+     * @param bytes the bytes of the language file. Must not be {@code null}.
+     * @return the parser holding the messages of the file. Never {@code null}.
+     * @throws I18nLangSyntaxException if the file contains a malformed escape
+     */
+    public static @NotNull I18nLangParser parse(@NotNull final byte[] bytes) throws I18nLangSyntaxException {
+        try {
+            return new I18nLangParser(null, ByteBuffer.wrap(bytes)).parse();
+        } catch (final I18nLangSyntaxException e) {
+            throw e;
+        } catch (final IOException e) {
+            // Nothing is read from a channel, so only a syntax error can be thrown
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isWhitespace(final int c) {
+        return c == ' ' || c == '\t' || c == '\f';
+    }
+
+    private static int hex(final int c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the keys that are not valid ids, with the line each was found on.
+     * The entries of these keys are kept in {@link #getEntries()}.
+     *
+     * @return an unmodifiable map of the lines by invalid key, in the order of the file
+     */
+    public @NotNull Map<String, Integer> getInvalidKeys() {
+        return this.invalidKeys == null ? Collections.emptyMap() : Collections.unmodifiableMap(this.invalidKeys);
+    }
+
+    private @NotNull I18nLangParser parse() throws IOException {
+        int c;
+        while ((c = this.skipBlank()) >= 0) {
+            if (c == '#' || c == '!') {
+                this.skipLine();
+                continue;
+            }
+
+            final int keyLine = this.line;
+            this.key.setLength(0);
+            boolean hasSep = false;
+            while (c >= 0 && c != EOL) {
+                if (c == '=' || c == ':') {
+                    hasSep = true;
+                    c = this.next();
+                    break;
+                }
+                if (isWhitespace(c)) {
+                    c = this.next();
+                    break;
+                }
+                this.key.append((char) c);
+                c = this.next();
+            }
+
+            while (isWhitespace(c) || !hasSep && (c == '=' || c == ':')) {
+                if (c == '=' || c == ':') {
+                    hasSep = true;
+                }
+                c = this.next();
+            }
+
+            this.value.setLength(0);
+            while (c >= 0 && c != EOL) {
+                this.value.append((char) c);
+                c = this.next();
+            }
+
+            final String id = this.key.toString();
+            if (!I18nValidatorUtils.isValidId(id)) {
+                if (this.invalidKeys == null) {
+                    this.invalidKeys = new LinkedHashMap<>();
+                }
+                this.invalidKeys.put(id, keyLine);
+            }
+            this.entries.put(id, this.value.toString());
+        }
+        return this;
+    }
+
+    /**
+     * Skips whitespace and empty lines, and returns the first char of the next logical line.
+     *
+     * @return the first char, or {@code -1} at the end of the file
+     */
+    private int skipBlank() throws IOException {
+        int c;
+        do {
+            c = this.next();
+        } while (c == EOL || isWhitespace(c));
+        return c;
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = this.read()) >= 0) {
+            if (c == '\n' || c == '\r') {
+                this.endLine(c);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the next char of the logical line, joining continued lines and unescaping escapes.
+     *
+     * @return the char, which has {@link #ESCAPED} set if it was escaped,
+     * {@link #EOL} at the end of the logical line, or {@code -1} at the end of the file
+     */
+    private int next() throws IOException {
+        while (true) {
+            final int c = this.read();
+            if (c == '\n' || c == '\r') {
+                this.endLine(c);
+                return EOL;
+            }
+            if (c != '\\') {
+                return c;
+            }
+
+            final int escaped = this.read();
+            switch (escaped) {
+                case -1:
+                    // A backslash at the end of the file continues onto nothing and is dropped
+                    return -1;
+                case '\n':
+                case '\r': {
+                    this.endLine(escaped);
+                    // The leading whitespace of a continuation line is not part of the logical line
+                    while (this.fill() && isWhitespace(this.chars.get(this.chars.position()))) {
+                        this.chars.get();
+                    }
+                    continue;
+                }
+                case 't':
+                    return '\t' | ESCAPED;
+                case 'n':
+                    return '\n' | ESCAPED;
+                case 'r':
+                    return '\r' | ESCAPED;
+                case 'f':
+                    return '\f' | ESCAPED;
+                case 'u':
+                    return this.readUnicode() | ESCAPED;
+                default:
+                    return escaped | ESCAPED;
+            }
+        }
+    }
+
+    private int readUnicode() throws IOException {
+        int cp = 0;
+        for (int i = 0; i < 4; i++) {
+            final int digit = hex(this.read());
+            if (digit < 0) {
+                throw new I18nLangSyntaxException(this.line, "Malformed \\uxxxx encoding.");
+            }
+            cp = cp << 4 | digit;
+        }
+        return cp;
+    }
+
+    /**
+     * Counts the line ended by the terminator, consuming the {@code \n} of a {@code \r\n}.
+     */
+    private void endLine(final int terminator) throws IOException {
+        this.line++;
+        if (terminator == '\r' && this.fill() && this.chars.get(this.chars.position()) == '\n') {
+            this.chars.get();
+        }
+    }
+
+    private int read() throws IOException {
+        return this.fill() ? this.chars.get() : -1;
+    }
+
+    /**
+     * Decodes more chars if every decoded char has been read.
+     *
+     * @return {@code true} if a char can be read, {@code false} at the end of the file
+     */
+    private boolean fill() throws IOException {
+        if (this.chars.hasRemaining()) {
+            return true;
+        }
+
+        this.chars.clear();
+        while (this.chars.position() == 0 && !this.flushed) {
+            if (!this.endOfInput) {
+                this.bytes.compact();
+                final int n = this.channel.read(this.bytes);
+                this.bytes.flip();
+                if (n < 0) {
+                    this.endOfInput = true;
+                }
+            }
+            final CoderResult result = this.decoder.decode(this.bytes, this.chars, this.endOfInput);
+            if (this.endOfInput && result.isUnderflow()) {
+                this.decoder.flush(this.chars);
+                this.flushed = true;
+            }
+        }
+        this.chars.flip();
+        return this.chars.hasRemaining();
+    }
+}
@@ -0,0 +1,116 @@
+package org.akazukin.i18n.utils;
+
+import lombok.experimental.UtilityClass;
+import org.akazukin.i18n.metrics.I18nMetrics;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+@UtilityClass
+public class I18nMetricsUtils {
+    /**
+     * Writes the recorded values of the metrics in the Prometheus text format.
+     * <p>
+     * Every line is one sample, such as {@code i18n_lookup_hits{lang="en_us"} 42}.
+     * The render time histogram is written as cumulative {@code le} buckets in nanoseconds,
+     * from the first non-empty bucket up to the last one.
+     * Labels are sorted, so two dumps of the same values are identical.
+     * Only the number of distinct missing messages is written.
+     * See {@link org.akazukin.i18n.metrics.I18nMissingKeyRecorder#report()} for the messages themselves.
+     *
+     * @param metrics the metrics to dump
+     * @param out     the destination to write to
+     * @throws IOException if the destination cannot be written to
+     */
+    public void export(@NotNull final I18nMetrics metrics, @NotNull final Appendable out) throws IOException {
+        for (final Map.Entry<String, I18nMetrics.LangStats> e : new TreeMap<>(metrics.getLangStats()).entrySet()) {
+            sample(out, "i18n_lookup_hits", "lang", e.getKey(), e.getValue().getHitCount());
+            sample(out, "i18n_lookup_misses", "lang", e.getKey(), e.getValue().getMissCount());
+        }
+
+        final long[] depths = metrics.getResolutionDepths();
+        for (int i = 0; i < depths.length; i++) {
+            sample(out, "i18n_resolution_depth", "depth", String.valueOf(i), depths[i]);
+        }
+        sample(out, "i18n_resolution_unresolved", metrics.getUnresolvedCount());
+        sample(out, "i18n_missing_keys", metrics.getMissingKeys().report().size());
+        sample(out, "i18n_missing_untracked", metrics.getMissingKeys().getOverflowCount());
+        sample(out, "i18n_reference_cycles", metrics.getReferenceCycleCount());
+
+        final long[] histogram = metrics.getRenderHistogram();
+        int first = 0;
+        while (first < histogram.length && histogram[first] == 0) {
+            first++;
+        }
+        int last = histogram.length - 1;
+        while (last >= first && histogram[last] == 0) {
+            last--;
+        }
+        long cumulative = 0;
+        for (int i = first; i <= last; i++) {
+            cumulative += histogram[i];
+            final String bound = i >= 62 ? "+Inf" : String.valueOf(1L << (i + 1));
+            sample(out, "i18n_render_nanos_bucket", "le", bound, cumulative);
+        }
+        sample(out, "i18n_render_nanos_count", metrics.getRenderCount());
+        sample(out, "i18n_render_nanos_sum", metrics.getRenderTotalNanos());
+        sample(out, "i18n_render_nanos_max", metrics.getRenderMaxNanos());
+
+        for (final Map.Entry<String, I18nMetrics.LoadStats> e : new TreeMap<>(metrics.getLoadStats()).entrySet()) {
+            sample(out, "i18n_load_count", "resource", e.getKey(), e.getValue().getLoadCount());
+            sample(out, "i18n_reload_count", "resource", e.getKey(), e.getValue().getReloadCount());
+            sample(out, "i18n_load_nanos_sum", "resource", e.getKey(), e.getValue().getTotalNanos());
+            sample(out, "i18n_load_nanos_last", "resource", e.getKey(), e.getValue().getLastNanos());
+        }
+
+        for (final Map.Entry<String, Integer> e : new TreeMap<>(metrics.getEntryCounts()).entrySet()) {
+            sample(out, "i18n_catalog_entries", "lang", e.getKey(), e.getValue());
+        }
+        for (final Map.Entry<String, Integer> e : new TreeMap<>(metrics.getMessageCounts()).entrySet()) {
+            sample(out, "i18n_catalog_messages", "lang", e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * Dumps the recorded values of the metrics in the Prometheus text format.
+     *
+     * @param metrics the metrics to dump
+     * @return the dump
+     * @see #export(I18nMetrics, Appendable)
+     */
+    public @NotNull String toText(@NotNull final I18nMetrics metrics) {
+        final StringBuilder sb = new StringBuilder();
+        try {
+            export(metrics, sb);
+        } catch (final IOException e) {
+            // A StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    private void sample(@NotNull final Appendable out, @NotNull final String name, final long value)
+            throws IOException {
+        out.append(name).append(' ').append(String.valueOf(value)).append('\n');
+    }
+
+    private void sample(@NotNull final Appendable out, @NotNull final String name,
+                        @NotNull final String label, @NotNull final String labelValue, final long value)
+            throws IOException {
+        out.append(name).append('{').append(label).append("=\"");
+        for (int i = 0; i < labelValue.length(); i++) {
+            final char c = labelValue.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+        out.append("\"} ").append(String.valueOf(value)).append('\n');
+    }
+}
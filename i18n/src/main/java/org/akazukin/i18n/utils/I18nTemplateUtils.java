@@ -0,0 +1,268 @@
+package org.akazukin.i18n.utils;
+
+import lombok.experimental.UtilityClass;
+import org.akazukin.i18n.Constants;
+import org.akazukin.i18n.exception.I18nReferenceCycleException;
+import org.akazukin.i18n.manager.data.I18nTemplate;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.II18nTemplate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+@UtilityClass
+public class I18nTemplateUtils {
+    private final String ARGS_PREFIX = "<args[";
+    private final String REF_PREFIX = "<$";
+    private final byte UNVISITED = 0;
+    private final byte VISITING = 1;
+    private final byte LINKED = 2;
+
+    /**
+     * Compiles a raw localized value into a template.
+     * <p>
+     * The escaped line break {@code \n} is converted to an actual line break,
+     * {@code <args[n]>} is compiled into an argument slot
+     * and {@code <$id>} is compiled into a reference to another message.
+     * Any other text is kept as a literal.
+     *
+     * @param source the raw localized value
+     * @return the compiled template
+     */
+    public @NotNull II18nTemplate compile(@NotNull final String source) {
+        final String value = source.replace("\\n", "\n");
+
+        final List<String> texts = new ArrayList<>();
+        final List<Integer> argIndexes = new ArrayList<>();
+        final List<Byte> types = new ArrayList<>();
+
+        final int len = value.length();
+        int literalStart = 0;
+        int i = value.indexOf('<');
+        while (i >= 0 && i < len) {
+            byte type = II18nTemplate.LITERAL;
+            int end = -1;
+            int argIndex = -1;
+
+            if (value.startsWith(REF_PREFIX, i)) {
+                final int idEnd = I18nValidatorUtils.scanId(value, i + REF_PREFIX.length());
+                if (idEnd > 0 && idEnd < len && value.charAt(idEnd) == '>') {
+                    type = II18nTemplate.REF;
+                    end = idEnd + 1;
+                }
+            } else if (value.startsWith(ARGS_PREFIX, i)) {
+                final int numStart = i + ARGS_PREFIX.length();
+                int numEnd = numStart;
+                while (numEnd < len && value.charAt(numEnd) >= '0' && value.charAt(numEnd) <= '9') {
+                    numEnd++;
+                }
+                final int digits = numEnd - numStart;
+                if (digits > 0 && digits <= 9
+                        && (digits == 1 || value.charAt(numStart) != '0')
+                        && value.startsWith("]>", numEnd)) {
+                    type = II18nTemplate.ARG;
+                    argIndex = Integer.parseInt(value.substring(numStart, numEnd));
+                    end = numEnd + 2;
+                }
+            }
+
+            if (type == II18nTemplate.LITERAL) {
+                i = value.indexOf('<', i + 1);
+                continue;
+            }
+
+            if (literalStart < i) {
+                types.add(II18nTemplate.LITERAL);
+                texts.add(value.substring(literalStart, i));
+                argIndexes.add(-1);
+            }
+            types.add(type);
+            texts.add(type == II18nTemplate.REF
+                    ? value.substring(i + REF_PREFIX.length(), end - 1)
+                    : value.substring(i, end));
+            argIndexes.add(argIndex);
+
+            literalStart = end;
+            i = value.indexOf('<', end);
+        }
+        if (literalStart < len) {
+            types.add(II18nTemplate.LITERAL);
+            texts.add(value.substring(literalStart));
+            argIndexes.add(-1);
+        }
+
+        final int size = types.size();
+        final byte[] typeArr = new byte[size];
+        final int[] argIndexArr = new int[size];
+        for (int j = 0; j < size; j++) {
+            typeArr[j] = types.get(j);
+            argIndexArr[j] = argIndexes.get(j);
+        }
+
+        return new I18nTemplate(source, typeArr, texts.toArray(Constants.EMPTY_STR_ARR), argIndexArr);
+    }
+
+    /**
+     * Inlines the references between the templates of one language.
+     * <p>
+     * A reference to a message of the same language that renders to a constant text,
+     * after its own references are inlined, is replaced by that text.
+     * A reference to a message with argument slots is kept, since it renders with the arguments of the caller,
+     * and so is a reference to a message the language does not define, since it is resolved through the chain.
+     * Every inlined template keeps the template it was compiled as, see {@link II18nTemplate#getUnlinked()}.
+     *
+     * @param lang      the language of the templates, used to report a cycle
+     * @param templates the templates of the language indexed by slot.
+     *                  The linked templates are written back into the array.
+     * @param slots     resolves an id to its slot in the array, or to {@code -1} if it has none
+     * @throws I18nReferenceCycleException if the templates reference each other in a cycle
+     */
+    public void link(@NotNull final II18nLang lang, @NotNull final II18nTemplate[] templates,
+                     @NotNull final ToIntFunction<String> slots)
+            throws I18nReferenceCycleException {
+        final byte[] states = new byte[templates.length];
+        final List<String> path = new ArrayList<>();
+        for (int slot = 0; slot < templates.length; slot++) {
+            if (templates[slot] != null && states[slot] == UNVISITED) {
+                link(lang, templates, slots, states, path, slot, null);
+            }
+        }
+    }
+
+    private void link(@NotNull final II18nLang lang, @NotNull final II18nTemplate[] templates,
+                      @NotNull final ToIntFunction<String> slots, @NotNull final byte[] states, @NotNull final List<String> path,
+                      final int slot, @Nullable final String id)
+            throws I18nReferenceCycleException {
+        final II18nTemplate template = templates[slot];
+        if (!hasSegment(template, II18nTemplate.REF)) {
+            states[slot] = LINKED;
+            return;
+        }
+
+        states[slot] = VISITING;
+        if (id != null) {
+            path.add(id);
+        }
+        final int count = template.getSegmentCount();
+        boolean inlined = false;
+        for (int i = 0; i < count; i++) {
+            if (template.getSegmentType(i) != II18nTemplate.REF) {
+                continue;
+            }
+
+            final String refId = template.getSegmentText(i);
+            final int refSlot = slots.applyAsInt(refId);
+            if (refSlot < 0 || refSlot >= templates.length || templates[refSlot] == null) {
+                continue;
+            }
+
+            if (states[refSlot] == VISITING) {
+                throw new I18nReferenceCycleException(lang, cycle(path, refId));
+            }
+            if (states[refSlot] == UNVISITED) {
+                link(lang, templates, slots, states, path, refSlot, refId);
+            }
+            inlined |= isConstant(templates[refSlot]);
+        }
+        if (id != null) {
+            path.remove(path.size() - 1);
+        }
+        states[slot] = LINKED;
+
+        if (inlined) {
+            templates[slot] = inline(template, templates, slots);
+        }
+    }
+
+    private @NotNull II18nTemplate inline(@NotNull final II18nTemplate template,
+                                          @NotNull final II18nTemplate[] templates,
+                                          @NotNull final ToIntFunction<String> slots) {
+        final List<String> texts = new ArrayList<>();
+        final List<Integer> argIndexes = new ArrayList<>();
+        final List<Byte> types = new ArrayList<>();
+
+        // Adjacent literals, including the inlined texts, are merged into one segment
+        final StringBuilder literal = new StringBuilder();
+        final int count = template.getSegmentCount();
+        for (int i = 0; i < count; i++) {
+            final byte type = template.getSegmentType(i);
+            final String text = template.getSegmentText(i);
+            if (type == II18nTemplate.LITERAL) {
+                literal.append(text);
+                continue;
+            }
+            if (type == II18nTemplate.REF) {
+                final int refSlot = slots.applyAsInt(text);
+                final String constant = refSlot >= 0 && refSlot < templates.length && templates[refSlot] != null
+                        && isConstant(templates[refSlot])
+                        ? templates[refSlot].getConstant()
+                        : null;
+                if (constant != null) {
+                    literal.append(constant);
+                    continue;
+                }
+            }
+
+            if (literal.length() > 0) {
+                types.add(II18nTemplate.LITERAL);
+                texts.add(literal.toString());
+                argIndexes.add(-1);
+                literal.setLength(0);
+            }
+            types.add(type);
+            texts.add(text);
+            argIndexes.add(template.getArgIndex(i));
+        }
+        if (literal.length() > 0 || types.isEmpty()) {
+            types.add(II18nTemplate.LITERAL);
+            texts.add(literal.toString());
+            argIndexes.add(-1);
+        }
+
+        final int size = types.size();
+        final byte[] typeArr = new byte[size];
+        final int[] argIndexArr = new int[size];
+        for (int j = 0; j < size; j++) {
+            typeArr[j] = types.get(j);
+            argIndexArr[j] = argIndexes.get(j);
+        }
+        return new I18nTemplate(template.getSource(), typeArr, texts.toArray(Constants.EMPTY_STR_ARR), argIndexArr,
+                template.getUnlinked());
+    }
+
+    /**
+     * Checks the segment types instead of {@link II18nTemplate#getConstant()},
+     * which may build the text of templates that are not stored as strings.
+     */
+    private boolean isConstant(@NotNull final II18nTemplate template) {
+        return !hasSegment(template, II18nTemplate.ARG) && !hasSegment(template, II18nTemplate.REF);
+    }
+
+    private boolean hasSegment(@NotNull final II18nTemplate template, final byte type) {
+        final int count = template.getSegmentCount();
+        for (int i = 0; i < count; i++) {
+            if (template.getSegmentType(i) == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cuts the cycle closed by the reference out of the path of references being linked.
+     * The path holds every id but the first one, whose id is not known by slot,
+     * so a cycle that runs back to the first template spans the whole path.
+     */
+    private @NotNull String[] cycle(@NotNull final List<String> path, @NotNull final String refId) {
+        final List<String> cycle = new ArrayList<>();
+        cycle.add(refId);
+        for (int i = path.size() - 1; i >= 0 && !refId.equals(path.get(i)); i--) {
+            cycle.add(0, path.get(i));
+        }
+        cycle.add(0, refId);
+        return cycle.toArray(Constants.EMPTY_STR_ARR);
+    }
+}
@@ -6,13 +6,11 @@
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.regex.Pattern;
 
 @UtilityClass
 public class I18nValidatorUtils {
     private final String KEY_REGEX = "[a-z0-9][a-zA-Z0-9_-]*";
     public final String ID_REGEX = KEY_REGEX + "(\\." + KEY_REGEX + ")*";
-    private final Pattern ID_PATTERN = Pattern.compile(ID_REGEX);
 
     public boolean isValid(@NotNull final II18nEntry entry) {
         return entry.getEntries()
@@ -21,8 +19,58 @@ public boolean isValid(@NotNull final II18nEntry entry) {
                 .allMatch(I18nValidatorUtils::isValidId);
     }
 
+    /**
+     * Checks whether the id follows the grammar of {@link #ID_REGEX}.
+     * The id is scanned by hand, since this is called for every key of every language file loaded.
+     *
+     * @param id the id to check
+     * @return {@code true} if the whole id is valid
+     */
     public boolean isValidId(@NotNull final String id) {
-        return ID_PATTERN.matcher(id).matches();
+        return scanId(id, 0) == id.length();
+    }
+
+    /**
+     * Scans an id starting at the specified position, following the same grammar as {@link #ID_REGEX}.
+     * The longest id that can be read from the position is consumed.
+     *
+     * @param s    the text to scan
+     * @param from the position to start scanning from
+     * @return the position just after the scanned id, or {@code -1} if no id starts at the position
+     */
+    public int scanId(@NotNull final CharSequence s, final int from) {
+        final int len = s.length();
+        int i = scanKey(s, from, len);
+        if (i < 0) {
+            return -1;
+        }
+        while (i + 1 < len && s.charAt(i) == '.') {
+            final int next = scanKey(s, i + 1, len);
+            if (next < 0) {
+                break;
+            }
+            i = next;
+        }
+        return i;
+    }
+
+    private int scanKey(@NotNull final CharSequence s, final int from, final int len) {
+        if (from >= len) {
+            return -1;
+        }
+        final char first = s.charAt(from);
+        if (!(first >= 'a' && first <= 'z' || first >= '0' && first <= '9')) {
+            return -1;
+        }
+        int i = from + 1;
+        while (i < len) {
+            final char c = s.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '-')) {
+                break;
+            }
+            i++;
+        }
+        return i;
     }
 
     public boolean isValidIds(@NotNull final String... ids) {
@@ -0,0 +1,189 @@
+package org.akazukin.i18n.manager;
+
+import org.akazukin.i18n.manager.data.FrozenI18nEntry;
+import org.akazukin.i18n.manager.data.I18nLang;
+import org.akazukin.i18n.manager.data.II18nEntry;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.II18nTemplate;
+import org.akazukin.i18n.utils.I18nTemplateUtils;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachingI18nFormatterTest {
+    private static final II18nLang EN = new I18nLang("en_us");
+    private static final II18nLang[] LANGS = {EN};
+    private static final IResourceIdentifier BUNDLE = proxy(IResourceIdentifier.class, "bundle");
+
+    /**
+     * Creates a proxy that answers only equals, hashCode, toString and {@link IEntryManager#getVersion()}.
+     */
+    private static <T> T proxy(final Class<T> type, final String name) {
+        return type.cast(Proxy.newProxyInstance(
+                CachingI18nFormatterTest.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return name;
+                        case "getVersion":
+                            return IEntryManager.UNVERSIONED;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }));
+    }
+
+    private static II18nEntry entry(final String id, final String value) {
+        final Map<String, II18nTemplate> templates =
+                Collections.singletonMap(id, I18nTemplateUtils.compile(value));
+        return new FrozenI18nEntry(EN, BUNDLE, templates);
+    }
+
+    @Test
+    void servesRepeatedRenderFromCache() {
+        final EntryManager entryMgr = new EntryManager();
+        entryMgr.putEntry(entry("test.a", "Hello, <args[0]>!"));
+        final CountingFormatter delegate = new CountingFormatter(new I18nFormatter(entryMgr));
+        final CachingI18nFormatter formatter = new CachingI18nFormatter(delegate, entryMgr, 16);
+
+        assertEquals("Hello, World!", formatter.formatMessage("test.a", LANGS, "World"));
+        assertEquals("Hello, World!", formatter.formatMessage("test.a", LANGS, "World"));
+        assertEquals("Hello, Moon!", formatter.formatMessage("test.a", LANGS, "Moon"));
+
+        assertEquals(2, delegate.renders);
+        assertEquals(1, formatter.getHitCount());
+        assertEquals(2, formatter.getMissCount());
+    }
+
+    @Test
+    void clearsWhenCatalogIsPublished() {
+        final EntryManager entryMgr = new EntryManager();
+        entryMgr.putEntry(entry("test.a", "Old"));
+        final CountingFormatter delegate = new CountingFormatter(new I18nFormatter(entryMgr));
+        final CachingI18nFormatter formatter = new CachingI18nFormatter(delegate, entryMgr, 16);
+
+        assertEquals("Old", formatter.formatMessage("test.a", LANGS));
+        entryMgr.putEntry(entry("test.a", "New"));
+
+        assertEquals("New", formatter.formatMessage("test.a", LANGS));
+        assertEquals(2, delegate.renders);
+    }
+
+    @Test
+    void skipsRenderOverlappingPublish() {
+        final EntryManager entryMgr = new EntryManager();
+        entryMgr.putEntry(entry("test.a", "Old"));
+        final CountingFormatter delegate = new CountingFormatter(new I18nFormatter(entryMgr));
+        final CachingI18nFormatter formatter = new CachingI18nFormatter(delegate, entryMgr, 16);
+
+        // The catalog is replaced after the delegate rendered the old message, but before it is cached
+        delegate.afterRender = () -> entryMgr.putEntry(entry("test.a", "New"));
+        assertEquals("Old", formatter.formatMessage("test.a", LANGS));
+        delegate.afterRender = null;
+
+        assertEquals("New", formatter.formatMessage("test.a", LANGS));
+        assertEquals("New", formatter.formatMessage("test.a", LANGS));
+        assertEquals(2, delegate.renders);
+    }
+
+    @Test
+    void clearsWhenFallbackLanguageChanges() {
+        final EntryManager entryMgr = new EntryManager();
+        entryMgr.putEntry(entry("test.a", "Hello"));
+        final CountingFormatter delegate = new CountingFormatter(new I18nFormatter(entryMgr));
+        final CachingI18nFormatter formatter = new CachingI18nFormatter(delegate, entryMgr, 16);
+
+        formatter.formatMessage("test.a", LANGS);
+        formatter.setFallbackLang(EN);
+        formatter.formatMessage("test.a", LANGS);
+
+        assertEquals(2, delegate.renders);
+    }
+
+    @Test
+    void neverExceedsMaximumSize() {
+        final EntryManager entryMgr = new EntryManager();
+        entryMgr.putEntry(entry("test.a", "<args[0]>"));
+        final CachingI18nFormatter formatter =
+                new CachingI18nFormatter(new I18nFormatter(entryMgr), entryMgr, 1);
+
+        for (int i = 0; i < 100; i++) {
+            formatter.formatMessage("test.a", LANGS, i);
+        }
+
+        assertEquals(1, formatter.getSize());
+        assertEquals(99, formatter.getEvictionCount());
+    }
+
+    @Test
+    void passesThroughUnversionedManager() {
+        final IEntryManager entryMgr = proxy(IEntryManager.class, "entries");
+        final CountingFormatter delegate = new CountingFormatter(null);
+        final CachingI18nFormatter formatter = new CachingI18nFormatter(delegate, entryMgr, 16);
+
+        assertEquals("test.a", formatter.formatMessage("test.a", LANGS));
+        assertEquals("test.a", formatter.formatMessage("test.a", LANGS));
+
+        assertEquals(2, delegate.renders);
+        assertEquals(0, formatter.getSize());
+        assertEquals(0, formatter.getMissCount());
+    }
+
+    /**
+     * Counts the renders of the formatter it wraps, or renders every message as its id if it wraps none.
+     */
+    private static final class CountingFormatter implements II18nFormatter {
+        private final II18nFormatter delegate;
+        private II18nLang fallbackLang;
+        private int renders;
+        private Runnable afterRender;
+
+        private CountingFormatter(@Nullable final II18nFormatter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public @Nullable II18nLang getFallbackLang() {
+            return this.delegate != null ? this.delegate.getFallbackLang() : this.fallbackLang;
+        }
+
+        @Override
+        public void setFallbackLang(@Nullable final II18nLang lang) {
+            if (this.delegate != null) {
+                this.delegate.setFallbackLang(lang);
+            } else {
+                this.fallbackLang = lang;
+            }
+        }
+
+        @Override
+        public @Nullable String formatMessage(
+                @NotNull final String id, @NotNull final II18nLang[] langs, final Object... args) {
+            this.renders++;
+            final String result = this.delegate != null ? this.delegate.formatMessage(id, langs, args) : id;
+            if (this.afterRender != null) {
+                this.afterRender.run();
+            }
+            return result;
+        }
+
+        @Override
+        public @NotNull String formatMessageThrown(
+                @NotNull final String id, @NotNull final II18nLang[] langs, final Object... args) {
+            this.renders++;
+            return this.delegate != null ? this.delegate.formatMessageThrown(id, langs, args) : id;
+        }
+    }
+}
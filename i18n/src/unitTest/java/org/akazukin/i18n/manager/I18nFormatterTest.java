@@ -0,0 +1,88 @@
+package org.akazukin.i18n.manager;
+
+import org.akazukin.i18n.exception.I18nReferenceCycleException;
+import org.akazukin.i18n.manager.data.FrozenI18nEntry;
+import org.akazukin.i18n.manager.data.I18nLang;
+import org.akazukin.i18n.manager.data.II18nEntry;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.II18nTemplate;
+import org.akazukin.i18n.metrics.I18nMetrics;
+import org.akazukin.i18n.utils.I18nTemplateUtils;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class I18nFormatterTest {
+    private static final II18nLang EN = new I18nLang("en_us");
+    private static final II18nLang JA = new I18nLang("ja_jp");
+    private static final II18nLang[] LANGS = {EN, JA};
+    private static final IResourceIdentifier BUNDLE = (IResourceIdentifier) Proxy.newProxyInstance(
+            I18nFormatterTest.class.getClassLoader(),
+            new Class<?>[]{IResourceIdentifier.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "bundle";
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    /**
+     * Creates an entry of the messages given as alternating ids and values.
+     */
+    private static II18nEntry entry(final II18nLang lang, final String... idsAndValues) {
+        final Map<String, II18nTemplate> templates = new LinkedHashMap<>();
+        for (int i = 0; i < idsAndValues.length; i += 2) {
+            templates.put(idsAndValues[i], I18nTemplateUtils.compile(idsAndValues[i + 1]));
+        }
+        return new FrozenI18nEntry(lang, BUNDLE, templates);
+    }
+
+    /**
+     * Creates a manager whose languages reference each other's messages in a cycle, which neither has on its own.
+     */
+    private static EntryManager crossLanguageCycle() {
+        final EntryManager entryMgr = new EntryManager();
+        entryMgr.putEntry(entry(EN, "test.a", "A<$test.b>"));
+        entryMgr.putEntry(entry(JA, "test.b", "B<$test.a>"));
+        return entryMgr;
+    }
+
+    @Test
+    void leavesCrossLanguageCycleAsWritten() {
+        final I18nMetrics metrics = new I18nMetrics();
+        final I18nFormatter formatter = new I18nFormatter(crossLanguageCycle(), metrics);
+
+        final String message = formatter.formatMessage("test.a", LANGS);
+        assertTrue(message.startsWith("ABABAB"), message);
+        assertTrue(message.endsWith("<$test.a>") || message.endsWith("<$test.b>"), message);
+        assertEquals(1, metrics.getReferenceCycleCount());
+
+        final ByteBuffer buf = ByteBuffer.allocate(256);
+        assertTrue(formatter.formatTo(I18nUtf8Output.of(buf), "test.a", LANGS));
+        assertEquals(message, new String(Arrays.copyOf(buf.array(), buf.position()), StandardCharsets.UTF_8));
+        assertEquals(2, metrics.getReferenceCycleCount());
+    }
+
+    @Test
+    void throwsCrossLanguageCycleWhenRequired() {
+        final I18nFormatter formatter = new I18nFormatter(crossLanguageCycle());
+
+        assertThrows(I18nReferenceCycleException.class, () -> formatter.formatMessageThrown("test.a", LANGS));
+    }
+}
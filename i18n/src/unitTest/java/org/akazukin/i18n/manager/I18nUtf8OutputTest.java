@@ -0,0 +1,195 @@
+package org.akazukin.i18n.manager;
+
+import org.akazukin.i18n.manager.data.FrozenI18nEntry;
+import org.akazukin.i18n.manager.data.I18nLang;
+import org.akazukin.i18n.manager.data.II18nEntry;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.II18nTemplate;
+import org.akazukin.i18n.manager.data.OffHeapI18nEntry;
+import org.akazukin.i18n.utils.I18nTemplateUtils;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class I18nUtf8OutputTest {
+    private static final II18nLang EN = new I18nLang("en_us");
+    private static final II18nLang[] LANGS = {EN};
+    private static final IResourceIdentifier BUNDLE = (IResourceIdentifier) Proxy.newProxyInstance(
+            I18nUtf8OutputTest.class.getClassLoader(),
+            new Class<?>[]{IResourceIdentifier.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "bundle";
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    /**
+     * Text of every UTF-8 length: one, two, three and four bytes per code point.
+     */
+    private static final String MIXED = "a\u00e9\u3042\ud83d\ude00";
+
+    /**
+     * Creates a formatter of the messages given as alternating ids and values.
+     */
+    private static I18nFormatter formatter(final boolean offHeap, final String... idsAndValues) {
+        final Map<String, II18nTemplate> templates = new LinkedHashMap<>();
+        for (int i = 0; i < idsAndValues.length; i += 2) {
+            templates.put(idsAndValues[i], I18nTemplateUtils.compile(idsAndValues[i + 1]));
+        }
+        final II18nEntry entry = offHeap
+                ? new OffHeapI18nEntry(EN, BUNDLE, templates)
+                : new FrozenI18nEntry(EN, BUNDLE, templates);
+
+        final EntryManager entryMgr = new EntryManager();
+        entryMgr.putEntry(entry);
+        return new I18nFormatter(entryMgr);
+    }
+
+    private static String repeat(final String str, final int count) {
+        final StringBuilder sb = new StringBuilder(str.length() * count);
+        for (int i = 0; i < count; i++) {
+            sb.append(str);
+        }
+        return sb.toString();
+    }
+
+    private static byte[] formatToStream(final I18nFormatter formatter, final String id, final Object... args) {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        final I18nUtf8Output out = I18nUtf8Output.of(os);
+        assertTrue(formatter.formatTo(out, id, LANGS, args));
+        out.flush();
+        return os.toByteArray();
+    }
+
+    private static byte[] expected(final I18nFormatter formatter, final String id, final Object... args) {
+        return formatter.formatMessage(id, LANGS, args).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks that the bytes are the start of the expected bytes and end between two chars.
+     */
+    private static void assertCharPrefix(final byte[] expected, final byte[] written) {
+        assertTrue(written.length < expected.length);
+        assertArrayEquals(Arrays.copyOf(expected, written.length), written);
+        assertArrayEquals(written, new String(written, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesSameBytesAsString() {
+        for (final boolean offHeap : new boolean[]{false, true}) {
+            final I18nFormatter formatter = formatter(offHeap,
+                    "test.name", MIXED,
+                    "test.a", MIXED + " <args[0]>, <args[1]> <$test.name> <args[2]>");
+
+            assertArrayEquals(expected(formatter, "test.a", MIXED, 42, null),
+                    formatToStream(formatter, "test.a", MIXED, 42, null));
+
+            final ByteBuffer buf = ByteBuffer.allocate(256);
+            assertTrue(formatter.formatTo(I18nUtf8Output.of(buf), "test.a", LANGS, MIXED, 42, null));
+            assertArrayEquals(expected(formatter, "test.a", MIXED, 42, null),
+                    Arrays.copyOf(buf.array(), buf.position()));
+        }
+    }
+
+    @Test
+    void writesUnpairedSurrogatesAsQuestionMarks() {
+        final I18nFormatter formatter = formatter(false, "test.a", "<args[0]>|\ud800|<args[1]>");
+        final String arg0 = "\udc00a\ud800";
+        final String arg1 = "\ud83d\ud83d\ude00\ude00";
+
+        final byte[] written = formatToStream(formatter, "test.a", arg0, arg1);
+        assertArrayEquals(expected(formatter, "test.a", arg0, arg1), written);
+        assertEquals("?a?|?|?\ud83d\ude00?", new String(written, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void neverSplitsCharOnOverflow() {
+        for (final boolean offHeap : new boolean[]{false, true}) {
+            final I18nFormatter formatter = formatter(offHeap, "test.a", MIXED + " <args[0]> " + MIXED);
+            final String arg = repeat(MIXED, 3);
+            final byte[] expected = expected(formatter, "test.a", arg);
+
+            for (int capacity = 0; capacity < expected.length; capacity++) {
+                final ByteBuffer buf = ByteBuffer.allocate(capacity);
+                boolean overflow = false;
+                try {
+                    formatter.formatTo(I18nUtf8Output.of(buf), "test.a", LANGS, arg);
+                } catch (final BufferOverflowException e) {
+                    overflow = true;
+                }
+
+                assertTrue(overflow, "Capacity: " + capacity);
+                assertCharPrefix(expected, Arrays.copyOf(buf.array(), buf.position()));
+            }
+
+            final ByteBuffer buf = ByteBuffer.allocate(expected.length);
+            assertTrue(formatter.formatTo(I18nUtf8Output.of(buf), "test.a", LANGS, arg));
+            assertFalse(buf.hasRemaining());
+        }
+    }
+
+    @Test
+    void writesAcrossStreamBuffer() {
+        for (final boolean offHeap : new boolean[]{false, true}) {
+            // Literals and arguments both larger and smaller than the 8 KiB buffer of the stream output,
+            // with chars of every length, so the buffer fills up at every position of a char
+            final String longLiteral = repeat(MIXED, 1000);
+            final I18nFormatter formatter = formatter(offHeap,
+                    "test.a", "x" + longLiteral + "<args[0]>" + MIXED + "<args[1]>" + longLiteral);
+
+            for (int pad = 0; pad < 10; pad++) {
+                final String arg0 = repeat("b", pad) + repeat(MIXED, 2000);
+                final String arg1 = repeat(MIXED, pad);
+                assertArrayEquals(expected(formatter, "test.a", arg0, arg1),
+                        formatToStream(formatter, "test.a", arg0, arg1));
+            }
+        }
+    }
+
+    @Test
+    void writesCharSequenceAsString() {
+        final String text = repeat(MIXED + "\ud800z\udc00", 1000);
+        final byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        final I18nUtf8Output stream = I18nUtf8Output.of(os);
+        stream.write(new StringBuilder(text));
+        stream.flush();
+        assertArrayEquals(expected, os.toByteArray());
+
+        final ByteBuffer buf = ByteBuffer.allocate(expected.length);
+        final I18nUtf8Output buffer = I18nUtf8Output.of(buf);
+        buffer.write(text);
+        buffer.flush();
+        assertArrayEquals(expected, buf.array());
+    }
+
+    @Test
+    void writesNothingForMissingMessage() {
+        final I18nFormatter formatter = formatter(false, "test.a", "A");
+        final ByteBuffer buf = ByteBuffer.allocate(16);
+
+        assertFalse(formatter.formatTo(I18nUtf8Output.of(buf), "test.missing", LANGS));
+        assertEquals(0, buf.position());
+    }
+}
@@ -0,0 +1,129 @@
+package org.akazukin.i18n.manager.data;
+
+import org.akazukin.i18n.exception.I18nReferenceCycleException;
+import org.akazukin.i18n.utils.I18nTemplateUtils;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class I18nCatalogTest {
+    private static final II18nLang EN = new I18nLang("en_us");
+    private static final II18nLang JA = new I18nLang("ja_jp");
+    private static final IResourceIdentifier BUNDLE = identifier("bundle");
+
+    private static IResourceIdentifier identifier(final String name) {
+        return (IResourceIdentifier) Proxy.newProxyInstance(
+                I18nCatalogTest.class.getClassLoader(),
+                new Class<?>[]{IResourceIdentifier.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return name;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Creates an entry of the messages given as alternating ids and values.
+     */
+    private static II18nEntry entry(final II18nLang lang, final String... idsAndValues) {
+        final Map<String, II18nTemplate> templates = new LinkedHashMap<>();
+        for (int i = 0; i < idsAndValues.length; i += 2) {
+            templates.put(idsAndValues[i], I18nTemplateUtils.compile(idsAndValues[i + 1]));
+        }
+        return new FrozenI18nEntry(lang, BUNDLE, templates);
+    }
+
+    @Test
+    void linksReferencesWhenBuilt() {
+        final I18nCatalog catalog = I18nCatalog.EMPTY.toBuilder()
+                .put(entry(EN, "test.name", "World", "test.greeting", "Hello, <$test.name>!"))
+                .build();
+
+        assertEquals("Hello, World!", catalog.getTemplate(EN, "test.greeting").getConstant());
+    }
+
+    @Test
+    void publishesCleanLanguagesWhenOneHasCycle() {
+        final I18nCatalog base = I18nCatalog.EMPTY.toBuilder()
+                .put(entry(EN, "test.a", "Old"))
+                .put(entry(JA, "test.a", "Furui"))
+                .build();
+
+        final I18nCatalog.Builder builder = base.toBuilder()
+                .put(entry(EN, "test.a", "<$test.b>", "test.b", "<$test.a>"))
+                .put(entry(JA, "test.a", "Atarashii"));
+        final I18nCatalog catalog = builder.build();
+
+        assertEquals("Old", catalog.getTemplate(EN, "test.a").getConstant());
+        assertNull(catalog.getTemplate(EN, "test.b"));
+        assertEquals("Atarashii", catalog.getTemplate(JA, "test.a").getConstant());
+
+        final List<I18nReferenceCycleException> cycles = builder.getCycles();
+        assertEquals(1, cycles.size());
+        assertEquals(EN, cycles.get(0).getLangs()[0]);
+    }
+
+    @Test
+    void keepsBaseWhenEveryChangedLanguageHasCycle() {
+        final I18nCatalog base = I18nCatalog.EMPTY.toBuilder()
+                .put(entry(EN, "test.a", "Old"))
+                .build();
+
+        final I18nCatalog.Builder builder = base.toBuilder()
+                .put(entry(EN, "test.a", "<$test.a>"));
+
+        assertSame(base, builder.build());
+        assertEquals(1, builder.getCycles().size());
+    }
+
+    @Test
+    void resolvesKeyInEveryCatalog() {
+        final I18nKey key = I18nKey.of("test.b");
+        final I18nCatalog first = I18nCatalog.EMPTY.toBuilder()
+                .put(entry(EN, "test.a", "A", "test.b", "B"))
+                .build();
+        final I18nCatalog second = I18nCatalog.EMPTY.toBuilder()
+                .put(entry(EN, "test.b", "Other"))
+                .build();
+
+        assertEquals("B", first.getTemplate(EN, key).getConstant());
+        assertEquals("Other", second.getTemplate(EN, key).getConstant());
+        assertEquals("B", first.getTemplate(EN, key).getConstant());
+        assertNull(first.getTemplate(JA, key));
+        assertNull(first.getTemplate(EN, I18nKey.of("test.missing")));
+    }
+
+    @Test
+    void keepsOtherLanguagesWhenSlotsAreCompacted() {
+        final I18nKey kept = I18nKey.of("test.kept");
+        I18nCatalog catalog = I18nCatalog.EMPTY.toBuilder()
+                .put(entry(JA, "test.kept", "Nokotta"))
+                .build();
+        for (int i = 0; i < 200; i++) {
+            catalog = catalog.toBuilder()
+                    .put(entry(EN, "test.kept", "Kept", "test.gone" + i, "Gone " + i))
+                    .build();
+            assertEquals("Kept", catalog.getTemplate(EN, kept).getConstant());
+        }
+
+        assertEquals("Nokotta", catalog.getTemplate(JA, kept).getConstant());
+        assertEquals("Gone 199", catalog.getTemplate(EN, "test.gone199").getConstant());
+        assertNull(catalog.getTemplate(EN, "test.gone0"));
+        assertNull(catalog.getTemplate(JA, "test.gone199"));
+    }
+}
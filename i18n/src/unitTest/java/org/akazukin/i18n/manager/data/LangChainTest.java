@@ -0,0 +1,94 @@
+package org.akazukin.i18n.manager.data;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LangChainTest {
+    private static final II18nLang EN = new I18nLang("en_us");
+    private static final II18nLang JA = new I18nLang("ja_jp");
+    private static final String FALLBACK = II18nLang.FALLBACK.getId();
+
+    private static String[] ids(final LangChain chain) {
+        final String[] ids = new String[chain.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = chain.get(i).getId();
+        }
+        return ids;
+    }
+
+    @Test
+    void derivesChainOfTag() {
+        assertArrayEquals(new String[]{"ja_jp", "ja", FALLBACK}, ids(LangChain.forTag("ja-JP")));
+        assertArrayEquals(new String[]{"zh_hant_tw", "zh_hant", "zh", FALLBACK}, ids(LangChain.forTag("zh-Hant-TW")));
+        assertArrayEquals(new String[]{"en_us", "en", FALLBACK}, ids(LangChain.forTag("en_US")));
+    }
+
+    @Test
+    void ignoresExtensionAndPrivateUseSubtags() {
+        assertArrayEquals(new String[]{"en", FALLBACK}, ids(LangChain.forTag("en-x-foo")));
+        assertArrayEquals(new String[]{"de_de", "de", FALLBACK}, ids(LangChain.forTag("de-DE-u-co-phonebk")));
+        assertArrayEquals(new String[]{FALLBACK}, ids(LangChain.forTag("x-private")));
+    }
+
+    @Test
+    void derivesFallbackOfEmptyTag() {
+        assertArrayEquals(new String[]{FALLBACK}, ids(LangChain.forTag("")));
+        assertSame(LangChain.FALLBACK, LangChain.forTag(""));
+    }
+
+    @Test
+    void replacesFallbackLanguage() {
+        final LangChain chain = LangChain.of(JA, II18nLang.FALLBACK);
+        assertFalse(chain.isResolved());
+
+        final LangChain resolved = chain.resolve(EN);
+        assertTrue(resolved.isResolved());
+        assertArrayEquals(new String[]{"ja_jp", "en_us"}, ids(resolved));
+        assertSame(resolved, chain.resolve(EN));
+        assertSame(resolved, resolved.resolve(JA));
+    }
+
+    @Test
+    void keepsFallbackLanguageOnceWhenInChain() {
+        assertArrayEquals(new String[]{"en_us"}, ids(LangChain.of(EN, II18nLang.FALLBACK).resolve(EN)));
+        assertArrayEquals(new String[]{"en_us", "ja_jp"},
+                ids(LangChain.of(EN, II18nLang.FALLBACK, JA).resolve(JA)));
+        assertArrayEquals(new String[]{"en_us"},
+                ids(LangChain.of(EN, II18nLang.FALLBACK).resolve(new I18nLang("en_us", "English"))));
+    }
+
+    @Test
+    void removesFallbackLanguageWhenNone() {
+        final LangChain chain = LangChain.forTag("ja-JP");
+
+        assertArrayEquals(new String[]{"ja_jp", "ja"}, ids(chain.resolve(null)));
+        assertSame(chain.resolve(null), chain.resolve(null));
+        assertArrayEquals(new String[0], ids(LangChain.FALLBACK.resolve(null)));
+    }
+
+    @Test
+    void internsEqualChains() {
+        final LangChain chain = LangChain.of(new I18nLang("ja_jp"), new I18nLang("ja"), II18nLang.FALLBACK);
+
+        assertSame(chain, LangChain.forTag("ja-JP"));
+        assertSame(chain, LangChain.forTag("ja_jp"));
+        assertSame(chain.resolve(EN), LangChain.of(new I18nLang("ja_jp"), new I18nLang("ja"), EN));
+        assertSame(LangChain.of(EN), chain.resolve(EN).getStep(2));
+    }
+
+    @Test
+    void derivesChainsOnce() {
+        final LangChain chain = LangChain.of(EN, JA);
+
+        assertArrayEquals(new String[]{"en_us", "ja_jp", FALLBACK}, ids(chain.withFallback()));
+        assertSame(chain.withFallback(), chain.withFallback());
+        assertSame(chain.withFallback(), chain.withFallback().withFallback());
+        assertSame(chain, chain.resolve(EN));
+        assertSame(chain.getStep(1), chain.getStep(1));
+        assertArrayEquals(new String[]{"ja_jp"}, ids(chain.getStep(1)));
+    }
+}
@@ -0,0 +1,213 @@
+package org.akazukin.i18n.manager.data;
+
+import org.akazukin.i18n.manager.I18nUtf8Output;
+import org.akazukin.i18n.utils.I18nTemplateUtils;
+import org.akazukin.resource.identifier.IResourceIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapI18nEntryTest {
+    private static final II18nLang EN = new I18nLang("en_us");
+    private static final IResourceIdentifier BUNDLE = (IResourceIdentifier) Proxy.newProxyInstance(
+            OffHeapI18nEntryTest.class.getClassLoader(),
+            new Class<?>[]{IResourceIdentifier.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "bundle";
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    /**
+     * Collects the messages given as alternating ids and values, in order.
+     */
+    private static Map<String, String> messages(final String... idsAndValues) {
+        final Map<String, String> messages = new LinkedHashMap<>();
+        for (int i = 0; i < idsAndValues.length; i += 2) {
+            messages.put(idsAndValues[i], idsAndValues[i + 1]);
+        }
+        return messages;
+    }
+
+    private static OffHeapI18nEntry entry(final Map<String, String> messages) {
+        final Map<String, II18nTemplate> templates = new LinkedHashMap<>();
+        for (final Map.Entry<String, String> e : messages.entrySet()) {
+            templates.put(e.getKey(), I18nTemplateUtils.compile(e.getValue()));
+        }
+        return new OffHeapI18nEntry(EN, BUNDLE, templates);
+    }
+
+    /**
+     * Finds ids whose hashes all start probing at the last slot of a table of the capacity.
+     */
+    private static List<String> idsInLastSlot(final int count, final int capacity) {
+        final List<String> ids = new ArrayList<>();
+        for (int i = 0; ids.size() < count; i++) {
+            final String id = "test.id" + i;
+            final int h = id.hashCode();
+            if (((h ^ h >>> 16) & capacity - 1) == capacity - 1) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    @Test
+    void findsBmpIds() {
+        final OffHeapI18nEntry entry = entry(messages(
+                "test.ascii", "a",
+                "test.latin.\u00e9", "b",
+                "test.kana.\u3042\u3044", "c"));
+
+        assertEquals("a", entry.getEntry("test.ascii"));
+        assertEquals("b", entry.getEntry("test.latin.\u00e9"));
+        assertEquals("c", entry.getEntry("test.kana.\u3042\u3044"));
+        assertNull(entry.getEntry("test.latin.e"));
+        assertNull(entry.getEntry("test.kana.\u3042"));
+        assertNull(entry.getEntry("test.asci"));
+        assertNull(entry.getEntry("test.asciii"));
+    }
+
+    @Test
+    void findsSupplementaryIds() {
+        final OffHeapI18nEntry entry = entry(messages(
+                "test.\ud83d\ude00", "smile",
+                "test.\ud83d\ude00.\u00e9", "accent"));
+
+        assertEquals("smile", entry.getEntry("test.\ud83d\ude00"));
+        assertEquals("accent", entry.getEntry("test.\ud83d\ude00.\u00e9"));
+        assertNull(entry.getEntry("test.\ud83d\ude01"));
+        assertNull(entry.getEntry("test.\ud83d"));
+        assertNull(entry.getEntry("test.\ud83d\ude00\ud83d\ude00"));
+    }
+
+    @Test
+    void findsIdsWithSameHash() {
+        // "Aa" and "BB" have the same hash code, so they probe the same slots
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        final OffHeapI18nEntry entry = entry(messages("Aa", "first", "BB", "second"));
+
+        assertEquals("first", entry.getEntry("Aa"));
+        assertEquals("second", entry.getEntry("BB"));
+        assertNull(entry.getEntry("C#"));
+    }
+
+    @Test
+    void wrapsProbesAroundTable() {
+        // Three entries take a table of eight slots, so these probes run from the last slot to the first ones
+        final List<String> ids = idsInLastSlot(4, 8);
+        final OffHeapI18nEntry entry = entry(messages(
+                ids.get(0), "0",
+                ids.get(1), "1",
+                ids.get(2), "2"));
+
+        assertEquals("0", entry.getEntry(ids.get(0)));
+        assertEquals("1", entry.getEntry(ids.get(1)));
+        assertEquals("2", entry.getEntry(ids.get(2)));
+        assertNull(entry.getEntry(ids.get(3)));
+    }
+
+    @Test
+    void readsNoEntries() {
+        final OffHeapI18nEntry entry = entry(messages());
+
+        assertEquals(0, entry.getSize());
+        assertEquals(0, entry.getEntryIds().length);
+        assertTrue(entry.getEntries().isEmpty());
+        assertNull(entry.getEntry("test.a"));
+    }
+
+    @Test
+    void readsEmptyValue() {
+        final OffHeapI18nEntry entry = entry(messages("test.empty", "", "test.a", "A"));
+
+        assertEquals("", entry.getEntry("test.empty"));
+        assertTrue(entry.hasEntryId("test.empty"));
+        assertFalse(entry.hasEntryId("test.missing"));
+    }
+
+    @Test
+    void matchesSourceMap() {
+        final Map<String, String> messages = messages(
+                "test.a", "Hello, <args[0]>!",
+                "test.b", "\u3053\u3093\u306b\u3061\u306f",
+                "test.c", "\ud83d\ude00 <$test.a>",
+                "test.d", "Hello, <args[0]>!");
+        for (int i = 0; i < 100; i++) {
+            messages.put("test.many" + i, "value " + i);
+        }
+        final OffHeapI18nEntry entry = entry(messages);
+
+        assertEquals(messages.size(), entry.getSize());
+        assertEquals(messages, entry.getEntries());
+        final String[] ids = entry.getEntryIds();
+        Arrays.sort(ids);
+        final String[] expected = messages.keySet().toArray(new String[0]);
+        Arrays.sort(expected);
+        assertArrayEquals(expected, ids);
+        for (final Map.Entry<String, String> e : messages.entrySet()) {
+            assertEquals(e.getValue(), entry.getEntry(e.getKey()));
+        }
+    }
+
+    @Test
+    void readsTemplateSegments() {
+        final String value = "\u00e9 <args[0]> \ud83d\ude00 <$test.ref>";
+        final II18nTemplate expected = I18nTemplateUtils.compile(value);
+        final II18nTemplate template = entry(messages("test.a", value)).getTemplate("test.a");
+
+        assertEquals(value, template.getSource());
+        assertEquals(expected.getSegmentCount(), template.getSegmentCount());
+        assertEquals(expected.getLiteralLength(), template.getLiteralLength());
+        assertNull(template.getConstant());
+        for (int i = 0; i < expected.getSegmentCount(); i++) {
+            assertEquals(expected.getSegmentType(i), template.getSegmentType(i));
+            assertEquals(expected.getSegmentText(i), template.getSegmentText(i));
+            assertEquals(expected.getArgIndex(i), template.getArgIndex(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> template.getSegmentText(expected.getSegmentCount()));
+    }
+
+    @Test
+    void writesSegmentsAsUtf8() {
+        final II18nTemplate template =
+                entry(messages("test.a", "\u00e9 <args[0]> \ud83d\ude00 \u3042")).getTemplate("test.a");
+
+        for (int i = 0; i < template.getSegmentCount(); i++) {
+            final ByteBuffer buf = ByteBuffer.allocate(64);
+            template.writeUtf8(i, I18nUtf8Output.of(buf));
+
+            final byte[] written = Arrays.copyOf(buf.array(), buf.position());
+            assertArrayEquals(template.getSegmentText(i).getBytes(StandardCharsets.UTF_8), written);
+        }
+    }
+
+    @Test
+    void rejectsSetEntries() {
+        final OffHeapI18nEntry entry = entry(messages("test.a", "A"));
+
+        assertThrows(UnsupportedOperationException.class, () -> entry.setEntries(messages("test.a", "B")));
+        assertEquals(messages("test.a", "A"), entry.mutableCopy().getEntries());
+    }
+}
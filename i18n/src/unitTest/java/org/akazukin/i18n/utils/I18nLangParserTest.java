@@ -0,0 +1,136 @@
+package org.akazukin.i18n.utils;
+
+import org.akazukin.i18n.exception.I18nLangSyntaxException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class I18nLangParserTest {
+    private static I18nLangParser parse(final String text) throws I18nLangSyntaxException {
+        return I18nLangParser.parse(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks that the text is parsed into the same entries as {@link Properties#load(java.io.Reader)} reads.
+     */
+    private static void assertSameAsProperties(final String text) throws IOException {
+        final Properties props = new Properties();
+        props.load(new StringReader(text));
+        final Map<String, String> expected = new HashMap<>();
+        for (final String name : props.stringPropertyNames()) {
+            expected.put(name, props.getProperty(name));
+        }
+
+        assertEquals(expected, parse(text).getEntries());
+    }
+
+    @Test
+    void readsSeparators() throws IOException {
+        assertSameAsProperties("test.a=1\ntest.b:2\ntest.c 3\ntest.d\t4\ntest.e\f5\n");
+        assertSameAsProperties("test.a = 1\ntest.b  :  2\ntest.c \t= 3\ntest.d = = 4\ntest.e : :5\n");
+        assertSameAsProperties("test.a\ntest.b=\ntest.c   \ntest.d =   \n");
+    }
+
+    @Test
+    void readsComments() throws IOException {
+        assertSameAsProperties("# test.a=1\n! test.b=2\n  # test.c=3\ntest.d=4 # not a comment\n");
+        // A comment is never continued, even if it ends with a backslash
+        assertSameAsProperties("# test.a=1 \\\ntest.b=2\n");
+    }
+
+    @Test
+    void readsBlankLines() throws IOException {
+        assertSameAsProperties("\n\n   \n\t\ntest.a=1\n\n\ntest.b=2");
+    }
+
+    @Test
+    void readsLineTerminators() throws IOException {
+        assertSameAsProperties("test.a=1\rtest.b=2\r\ntest.c=3\n\rtest.d=4");
+    }
+
+    @Test
+    void readsEscapes() throws IOException {
+        assertSameAsProperties("test.a=\\t\\n\\r\\f\ntest.b=\\u0041\\u00e9\\u3042\ntest.c=\\q\\\\\\#\n");
+        assertSameAsProperties("test\\=a=1\ntest\\:b:2\ntest\\ c 3\n\\#test.d=4\n");
+    }
+
+    @Test
+    void readsContinuations() throws IOException {
+        assertSameAsProperties("test.a=one \\\n    two \\\r\n\tthree\ntest.b=4\n");
+        assertSameAsProperties("test.\\\n  a=1\ntest.b=\\\n\ntest.c=3\n");
+        // An even number of backslashes is escaped backslashes, not a continuation
+        assertSameAsProperties("test.a=1\\\\\ntest.b=2\n");
+        assertSameAsProperties("test.a=1\\");
+    }
+
+    @Test
+    void keepsLastDuplicate() throws IOException {
+        assertSameAsProperties("test.a=1\ntest.a=2\n");
+    }
+
+    @Test
+    void readsUtf8() throws IOException {
+        assertSameAsProperties("test.a=\u3053\u3093\u306b\u3061\u306f\ntest.b=\ud83d\ude00\n");
+    }
+
+    @Test
+    void readsAcrossBuffers() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append("test.key").append(i).append('=').append("\u3042\u3044\u3046 ").append(i).append('\n');
+        }
+        final byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        final I18nLangParser parser = I18nLangParser.parse(new ByteArrayInputStream(bytes));
+        assertEquals(I18nLangParser.parse(bytes).getEntries(), parser.getEntries());
+        assertEquals(20000, parser.getEntries().size());
+        assertEquals("\u3042\u3044\u3046 19999", parser.getEntries().get("test.key19999"));
+    }
+
+    @Test
+    void reportsLinesOfInvalidKeys() throws IOException {
+        final I18nLangParser parser = parse("# comment\n"
+                + "\n"
+                + "test.a=one \\\n"
+                + "  two\n"
+                + "Test.B=2\r\n"
+                + "test.c=3\r"
+                + "test..d=4\n"
+                + "\\\n"
+                + "  test.e f=5\n");
+
+        final Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put("Test.B", 5);
+        expected.put("test..d", 7);
+        assertEquals(expected, parser.getInvalidKeys());
+        assertEquals("one two", parser.getEntries().get("test.a"));
+        assertEquals("2", parser.getEntries().get("Test.B"));
+        assertEquals("f=5", parser.getEntries().get("test.e"));
+    }
+
+    @Test
+    void reportsNoInvalidKeys() throws IOException {
+        assertTrue(parse("test.a=1\ntest.b=2\n").getInvalidKeys().isEmpty());
+    }
+
+    @Test
+    void rejectsMalformedUnicodeEscape() {
+        assertThrows(IllegalArgumentException.class, () -> new Properties().load(new StringReader("test.a=\\u00g0")));
+
+        final I18nLangSyntaxException e = assertThrows(I18nLangSyntaxException.class,
+                () -> parse("test.a=1\n\ntest.b=\\\n  \\u00g0\n"));
+        assertEquals(4, e.getLine());
+        assertThrows(I18nLangSyntaxException.class, () -> parse("test.a=\\u00"));
+    }
+}
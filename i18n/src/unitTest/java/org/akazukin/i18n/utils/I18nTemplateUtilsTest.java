@@ -0,0 +1,121 @@
+package org.akazukin.i18n.utils;
+
+import org.akazukin.i18n.exception.I18nReferenceCycleException;
+import org.akazukin.i18n.manager.data.I18nLang;
+import org.akazukin.i18n.manager.data.II18nLang;
+import org.akazukin.i18n.manager.data.II18nTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class I18nTemplateUtilsTest {
+    private static final II18nLang EN = new I18nLang("en_us");
+
+    /**
+     * Compiles the messages given as alternating ids and values into slots in order and links them.
+     */
+    private static II18nTemplate[] link(final String... idsAndValues) {
+        final Map<String, Integer> slots = new HashMap<>();
+        final II18nTemplate[] templates = new II18nTemplate[idsAndValues.length / 2];
+        for (int i = 0; i < templates.length; i++) {
+            slots.put(idsAndValues[i * 2], i);
+            templates[i] = I18nTemplateUtils.compile(idsAndValues[i * 2 + 1]);
+        }
+        I18nTemplateUtils.link(EN, templates, id -> slots.getOrDefault(id, -1));
+        return templates;
+    }
+
+    private static boolean hasReference(final II18nTemplate template) {
+        for (int i = 0; i < template.getSegmentCount(); i++) {
+            if (template.getSegmentType(i) == II18nTemplate.REF) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void inlinesConstantReference() {
+        final II18nTemplate[] templates = link(
+                "test.name", "World",
+                "test.greeting", "Hello, <$test.name>!");
+
+        assertEquals("Hello, World!", templates[1].getConstant());
+        assertTrue(hasReference(templates[1].getUnlinked()));
+    }
+
+    @Test
+    void inlinesNestedConstantReferences() {
+        final II18nTemplate[] templates = link(
+                "test.outer", "<$test.middle>C",
+                "test.middle", "<$test.inner>B",
+                "test.inner", "A");
+
+        assertEquals("ABC", templates[0].getConstant());
+        assertEquals("AB", templates[1].getConstant());
+    }
+
+    @Test
+    void keepsReferenceToMessageWithArguments() {
+        final II18nTemplate[] templates = link(
+                "test.args", "Hi <args[0]>",
+                "test.ref", "<$test.args>!");
+
+        assertNull(templates[1].getConstant());
+        assertTrue(hasReference(templates[1]));
+    }
+
+    @Test
+    void keepsReferenceToUndefinedMessage() {
+        final II18nTemplate[] templates = link("test.ref", "<$test.missing> text");
+
+        assertNull(templates[0].getConstant());
+        assertTrue(hasReference(templates[0]));
+    }
+
+    @Test
+    void keepsTemplateWithoutReferences() {
+        final II18nTemplate template = I18nTemplateUtils.compile("Plain <args[0]>");
+        final II18nTemplate[] templates = {template};
+        I18nTemplateUtils.link(EN, templates, id -> -1);
+
+        assertSame(template, templates[0]);
+    }
+
+    @Test
+    void rejectsCycle() {
+        final I18nReferenceCycleException e = assertThrows(I18nReferenceCycleException.class, () -> link(
+                "test.a", "<$test.b>",
+                "test.b", "<$test.c>",
+                "test.c", "<$test.a>"));
+
+        final String[] keys = e.getKeys();
+        assertEquals(keys[0], keys[keys.length - 1]);
+        assertTrue(Arrays.asList(keys).containsAll(Arrays.asList("test.a", "test.b", "test.c")));
+        assertEquals(EN, e.getLangs()[0]);
+    }
+
+    @Test
+    void rejectsSelfReference() {
+        final I18nReferenceCycleException e = assertThrows(I18nReferenceCycleException.class,
+                () -> link("test.self", "x<$test.self>"));
+
+        assertEquals(Arrays.asList("test.self", "test.self"), Arrays.asList(e.getKeys()));
+    }
+
+    @Test
+    void rejectsCycleBehindAcyclicMessage() {
+        assertThrows(I18nReferenceCycleException.class, () -> link(
+                "test.entry", "<$test.a>",
+                "test.a", "<$test.b>",
+                "test.b", "<$test.a>"));
+    }
+}